@@ -0,0 +1,112 @@
+/**
+ * BenchmarkChains.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.TableNumbers;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+/**
+ * Synthetic chains of a given size served by the SimulatedOptionSeriesGateway, shared by the benchmarks.
+ */
+final class BenchmarkChains {
+
+    static final String SYMBOL = "SPX";
+
+    private BenchmarkChains() {
+    }
+
+    /**
+     * Gateway serving SYMBOL with roughly the given number of contracts (expirations x strikes x call/put).
+     * 
+     * @param contracts contract count
+     * @return gateway
+     */
+    static SimulatedOptionSeriesGateway newGateway(int contracts) {
+        int expirationCount = contracts <= 1000 ? 5 : contracts <= 10000 ? 25 : 50;
+
+        SimulatedOptionSeriesGateway gateway = new SimulatedOptionSeriesGateway(42);
+        gateway.setUnderlyingPrice(SYMBOL, 4500.0);
+        gateway.setExpirationCount(expirationCount);
+        gateway.setStrikeCount(contracts / (2 * expirationCount));
+        return gateway;
+    }
+
+    // the FieldListValidator only needs the client for its metadata, it is never connected
+    static FieldListValidator newFieldListValidator() {
+        return new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+    }
+
+    // decoder of lazy OptionInfo instances, same unconnected client
+    static OptionInfoDecoder newOptionInfoDecoder() {
+        return new OptionInfoDecoder(new ContentGatewayClient(new Application(new Settings())));
+    }
+
+    // same field list as OptionSeries.runExample
+    static RequestBlock newOptionsRequestBlock() {
+        RequestBlock requestBlockOptions = new RequestBlock();
+
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_TRADE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_BID);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_ASK);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_CUMULATIVE_VOLUME);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPEN_INTEREST);
+
+        return requestBlockOptions;
+    }
+
+    // option root response block of SYMBOL
+    static ResponseBlock getRootResponseBlock(OptionSeriesGateway gateway) {
+        RequestBlock optionRootRequestBlock = new RequestBlock();
+        optionRootRequestBlock.relationshipId = RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT;
+        optionRootRequestBlock.fieldIdList.add(FieldIds.FID_STRIKE_PRICE_LIST);
+        optionRootRequestBlock.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE_LIST);
+
+        GetMatch.RequestParameters requestParameters = new GetMatch.RequestParameters();
+        GetMatch.ResponseParameters responseParameters = new GetMatch.ResponseParameters();
+        requestParameters.symbolIdList.add(new SymbolId(SYMBOL));
+        requestParameters.requestBlockList.add(optionRootRequestBlock);
+
+        check(gateway.getMatch(requestParameters, responseParameters));
+
+        return responseParameters.responseBlockList.get(0);
+    }
+
+    // every contract response block of SYMBOL
+    static List<ResponseBlock> getContractResponseBlocks(OptionSeriesGateway gateway, RequestBlock requestBlockOptions) {
+        getRootResponseBlock(gateway);
+
+        GetPattern.RequestParameters requestParameters = new GetPattern.RequestParameters();
+        GetPattern.ResponseParameters responseParameters = new GetPattern.ResponseParameters();
+        requestParameters.symbolPatternList.add(new SymbolId(TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS, SYMBOL + "/*"));
+        requestParameters.requestBlockList.add(requestBlockOptions);
+
+        check(gateway.getPattern(requestParameters, responseParameters));
+
+        return new ArrayList<ResponseBlock>(responseParameters.responseBlockList);
+    }
+
+    private static void check(StatusCode statusCode) {
+        if (statusCode != StatusCode.STATUS_CODE_SUCCESS)
+            throw new IllegalStateException("Simulated request failed, error - " + statusCode.toString());
+    }
+}
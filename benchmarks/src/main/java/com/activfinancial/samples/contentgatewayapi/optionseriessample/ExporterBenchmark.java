@@ -0,0 +1,84 @@
+/**
+ * ExporterBenchmark.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+
+/**
+ * OptionChainExporter writing a whole chain as CSV and binary records to a channel discarding the bytes, so
+ * only the encoding and buffering are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExporterBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int contracts;
+
+    @Param({ "CSV", "BINARY" })
+    public OptionChainExporter.Format format;
+
+    private OptionChain chain;
+
+    private final WritableByteChannel channel = new WritableByteChannel() {
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            return remaining;
+        }
+
+        public boolean isOpen() {
+            return true;
+        }
+
+        public void close() {
+        }
+    };
+
+    @Setup
+    public void setup() throws MiddlewareException {
+        SimulatedOptionSeriesGateway gateway = BenchmarkChains.newGateway(contracts);
+        FieldListValidator fieldListValidator = BenchmarkChains.newFieldListValidator();
+
+        chain = new OptionChain();
+        for (ResponseBlock responseBlock : BenchmarkChains.getContractResponseBlocks(gateway, BenchmarkChains.newOptionsRequestBlock())) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            chain.add(responseBlock.responseKey.symbol, fieldListValidator);
+        }
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        OptionChainExporter exporter = new OptionChainExporter(channel, format);
+
+        exporter.write(BenchmarkChains.SYMBOL, chain);
+        exporter.close();
+
+        return exporter.getBytesWritten();
+    }
+}
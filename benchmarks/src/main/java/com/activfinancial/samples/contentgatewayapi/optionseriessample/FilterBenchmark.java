@@ -0,0 +1,114 @@
+/**
+ * FilterBenchmark.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Date;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * OptionSeriesFilter.doFilterExpirationDate / doFilterStrikePrice over every expiration and strike of a root,
+ * with a window keeping the middle half and an at the money range around the last trade, against the binary
+ * searches of OptionSeriesFilter.selectExpirationDates / selectStrikePrices over the decoded OptionRootMetadata.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int contracts;
+
+    private List<Date> rootExpirationDates;
+    private List<Rational> rootStrikePrices;
+    private OptionSeriesFilter optionSeriesFilter;
+    private Rational lastTrade;
+
+    private List<Date> expirationDates;
+    private List<Rational> strikePrices;
+
+    private OptionRootMetadata optionRoot;
+
+    @Setup
+    public void setup() throws MiddlewareException {
+        SimulatedOptionSeriesGateway gateway = BenchmarkChains.newGateway(contracts);
+        FieldListValidator fieldListValidator = BenchmarkChains.newFieldListValidator();
+
+        ResponseBlock rootResponseBlock = BenchmarkChains.getRootResponseBlock(gateway);
+        fieldListValidator.initialize(rootResponseBlock.fieldData);
+
+        rootExpirationDates = new ArrayList<Date>();
+        rootStrikePrices = new ArrayList<Rational>();
+        OptionSeriesFilter.extractRootExpirationDates(fieldListValidator, rootExpirationDates);
+        OptionSeriesFilter.extractRootStrikePrices(fieldListValidator, rootStrikePrices);
+
+        // at the money around the middle strike, +/- a quarter of the strike range
+        lastTrade = rootStrikePrices.get(rootStrikePrices.size() / 2);
+
+        optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setStartDate(rootExpirationDates.get(rootExpirationDates.size() / 4));
+        optionSeriesFilter.setEndDate(rootExpirationDates.get(rootExpirationDates.size() * 3 / 4));
+        optionSeriesFilter.setLowStrike(rootStrikePrices.get(rootStrikePrices.size() / 4));
+        optionSeriesFilter.setHighStrike(rootStrikePrices.get(rootStrikePrices.size() * 3 / 4));
+        optionSeriesFilter.setAtTheMoney(true);
+        optionSeriesFilter.setAtTheMoneyRange(rootStrikePrices.get(rootStrikePrices.size() / 4));
+
+        expirationDates = new ArrayList<Date>(rootExpirationDates.size());
+        strikePrices = new ArrayList<Rational>(rootStrikePrices.size());
+
+        optionRoot = OptionRootMetadata.decode(rootResponseBlock.responseKey.symbol, fieldListValidator);
+    }
+
+    @Benchmark
+    public List<Date> doFilterExpirationDate() {
+        expirationDates.clear();
+
+        for (Date rootExpirationDate : rootExpirationDates)
+            OptionSeriesFilter.doFilterExpirationDate(rootExpirationDate, optionSeriesFilter, expirationDates);
+
+        return expirationDates;
+    }
+
+    @Benchmark
+    public List<Rational> doFilterStrikePrice() {
+        strikePrices.clear();
+
+        for (Rational rootStrikePrice : rootStrikePrices)
+            OptionSeriesFilter.doFilterStrikePrice(rootStrikePrice, optionSeriesFilter, strikePrices, lastTrade);
+
+        return strikePrices;
+    }
+
+    @Benchmark
+    public int[] selectExpirationDates() {
+        return OptionSeriesFilter.selectExpirationDates(optionRoot, optionSeriesFilter);
+    }
+
+    @Benchmark
+    public int[] selectStrikePrices() {
+        return OptionSeriesFilter.selectStrikePrices(optionRoot, optionSeriesFilter, lastTrade);
+    }
+}
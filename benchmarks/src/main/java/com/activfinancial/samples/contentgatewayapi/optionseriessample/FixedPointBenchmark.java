@@ -0,0 +1,104 @@
+/**
+ * FixedPointBenchmark.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * FixedPoint.fromRational over every strike of a root, and counting the strikes inside a filter window by
+ * Rational.compareTo against the same count over the fixed point strikes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedPointBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int contracts;
+
+    private List<Rational> rootStrikePrices;
+    private long[] rootStrikePricesFixed;
+
+    // middle half of the strikes
+    private Rational lowStrike;
+    private Rational highStrike;
+    private long lowStrikeFixed;
+    private long highStrikeFixed;
+
+    @Setup
+    public void setup() throws MiddlewareException {
+        SimulatedOptionSeriesGateway gateway = BenchmarkChains.newGateway(contracts);
+        FieldListValidator fieldListValidator = BenchmarkChains.newFieldListValidator();
+
+        fieldListValidator.initialize(BenchmarkChains.getRootResponseBlock(gateway).fieldData);
+
+        rootStrikePrices = new ArrayList<Rational>();
+        OptionSeriesFilter.extractRootStrikePrices(fieldListValidator, rootStrikePrices);
+
+        rootStrikePricesFixed = new long[rootStrikePrices.size()];
+        for (int i = 0; i < rootStrikePricesFixed.length; i++)
+            rootStrikePricesFixed[i] = FixedPoint.fromRational(rootStrikePrices.get(i));
+
+        lowStrike = rootStrikePrices.get(rootStrikePrices.size() / 4);
+        highStrike = rootStrikePrices.get(rootStrikePrices.size() * 3 / 4);
+        lowStrikeFixed = FixedPoint.fromRational(lowStrike);
+        highStrikeFixed = FixedPoint.fromRational(highStrike);
+    }
+
+    @Benchmark
+    public long fromRational() {
+        long sum = 0;
+
+        for (Rational rootStrikePrice : rootStrikePrices)
+            sum += FixedPoint.fromRational(rootStrikePrice);
+
+        return sum;
+    }
+
+    @Benchmark
+    public int compareRational() {
+        int count = 0;
+
+        for (Rational rootStrikePrice : rootStrikePrices) {
+            if (rootStrikePrice.compareTo(lowStrike) >= 0 && rootStrikePrice.compareTo(highStrike) <= 0)
+                count++;
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int compareFixedPoint() {
+        int count = 0;
+
+        for (long rootStrikePrice : rootStrikePricesFixed) {
+            if (rootStrikePrice >= lowStrikeFixed && rootStrikePrice <= highStrikeFixed)
+                count++;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * OptionInfoDecodeBenchmark.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * Decoding a whole chain of GetPattern response blocks into OptionInfo instances, the way
+ * GetOptionSeriesHelper.getOptionSeries does it (one FieldListValidator reused for every block), eagerly and
+ * lazily (OptionInfoDecoder), the lazy options either left undecoded or read for one quote field each, and into
+ * the columns of a reused OptionChain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionInfoDecodeBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int contracts;
+
+    private FieldListValidator fieldListValidator;
+    private List<ResponseBlock> responseBlockList;
+    private Rational lastTrade;
+    private OptionInfoDecoder optionInfoDecoder;
+    private OptionChain chain;
+
+    @Setup
+    public void setup() {
+        SimulatedOptionSeriesGateway gateway = BenchmarkChains.newGateway(contracts);
+
+        fieldListValidator = BenchmarkChains.newFieldListValidator();
+        responseBlockList = BenchmarkChains.getContractResponseBlocks(gateway, BenchmarkChains.newOptionsRequestBlock());
+        lastTrade = Rational.ZERO;
+        optionInfoDecoder = BenchmarkChains.newOptionInfoDecoder();
+        chain = new OptionChain(responseBlockList.size());
+    }
+
+    @Benchmark
+    public void newOptionInfo(Blackhole blackhole) throws MiddlewareException {
+        for (ResponseBlock responseBlock : responseBlockList) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            blackhole.consume(new OptionInfo(lastTrade, responseBlock.responseKey.symbol, fieldListValidator));
+        }
+    }
+
+    @Benchmark
+    public void newLazyOptionInfo(Blackhole blackhole) throws MiddlewareException {
+        for (ResponseBlock responseBlock : responseBlockList) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            blackhole.consume(new OptionInfo(lastTrade, responseBlock.responseKey.symbol, responseBlock.fieldData, fieldListValidator, optionInfoDecoder));
+        }
+    }
+
+    @Benchmark
+    public void newLazyOptionInfoGetField(Blackhole blackhole) throws MiddlewareException {
+        for (ResponseBlock responseBlock : responseBlockList) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            OptionInfo optionInfo = new OptionInfo(lastTrade, responseBlock.responseKey.symbol, responseBlock.fieldData, fieldListValidator, optionInfoDecoder);
+            blackhole.consume(optionInfo.getField(FieldIds.FID_BID));
+        }
+    }
+
+    @Benchmark
+    public OptionChain addToOptionChain() throws MiddlewareException {
+        chain.clear();
+
+        for (ResponseBlock responseBlock : responseBlockList) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            chain.add(responseBlock.responseKey.symbol, fieldListValidator);
+        }
+
+        return chain;
+    }
+}
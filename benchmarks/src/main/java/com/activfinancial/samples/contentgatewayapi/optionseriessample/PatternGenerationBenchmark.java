@@ -0,0 +1,140 @@
+/**
+ * PatternGenerationBenchmark.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Date;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * OptionSeriesFilter.calculateOptionPatterns for one root, unfiltered (root/* shortcut) and with an
+ * expiration / strike window covering the middle half of the chain (one pattern per contract), and the same
+ * filters planned by the OptionPatternPlanner from the decoded root (wildcards where the window allows) and by the
+ * AdaptiveOptionPatternPlanner. The narrow filter (one expiration, 5 strikes) is the one the adaptive planner
+ * enumerates, the window the one it fetches with wildcards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternGenerationBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int contracts;
+
+    @Param({ "none", "window", "narrow" })
+    public String filter;
+
+    private FieldListValidator fieldListValidator;
+    private ResponseBlock rootResponseBlock;
+    private OptionSeriesFilter optionSeriesFilter;
+    private List<SymbolId> patternList;
+
+    private OptionRootMetadata optionRoot;
+    private OptionPatternPlanner planner;
+    private AdaptiveOptionPatternPlanner adaptivePlanner;
+
+    @Setup
+    public void setup() throws MiddlewareException {
+        SimulatedOptionSeriesGateway gateway = BenchmarkChains.newGateway(contracts);
+
+        fieldListValidator = BenchmarkChains.newFieldListValidator();
+        rootResponseBlock = BenchmarkChains.getRootResponseBlock(gateway);
+
+        optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setExchangeList(Collections.<String>emptyList());
+
+        if ("window".equals(filter)) {
+            fieldListValidator.initialize(rootResponseBlock.fieldData);
+
+            List<Date> rootExpirationDates = new ArrayList<Date>();
+            List<Rational> rootStrikePrices = new ArrayList<Rational>();
+            OptionSeriesFilter.extractRootExpirationDates(fieldListValidator, rootExpirationDates);
+            OptionSeriesFilter.extractRootStrikePrices(fieldListValidator, rootStrikePrices);
+
+            optionSeriesFilter.setStartDate(rootExpirationDates.get(rootExpirationDates.size() / 4));
+            optionSeriesFilter.setEndDate(rootExpirationDates.get(rootExpirationDates.size() * 3 / 4));
+            optionSeriesFilter.setLowStrike(rootStrikePrices.get(rootStrikePrices.size() / 4));
+            optionSeriesFilter.setHighStrike(rootStrikePrices.get(rootStrikePrices.size() * 3 / 4));
+        }
+        else if ("narrow".equals(filter)) {
+            fieldListValidator.initialize(rootResponseBlock.fieldData);
+
+            List<Date> rootExpirationDates = new ArrayList<Date>();
+            List<Rational> rootStrikePrices = new ArrayList<Rational>();
+            OptionSeriesFilter.extractRootExpirationDates(fieldListValidator, rootExpirationDates);
+            OptionSeriesFilter.extractRootStrikePrices(fieldListValidator, rootStrikePrices);
+
+            int middleStrike = rootStrikePrices.size() / 2;
+            optionSeriesFilter.setStartDate(rootExpirationDates.get(rootExpirationDates.size() / 2));
+            optionSeriesFilter.setEndDate(rootExpirationDates.get(rootExpirationDates.size() / 2));
+            optionSeriesFilter.setLowStrike(rootStrikePrices.get(Math.max(0, middleStrike - 2)));
+            optionSeriesFilter.setHighStrike(rootStrikePrices.get(Math.min(rootStrikePrices.size() - 1, middleStrike + 2)));
+        }
+
+        patternList = new ArrayList<SymbolId>();
+
+        fieldListValidator.initialize(rootResponseBlock.fieldData);
+        optionRoot = OptionRootMetadata.decode(rootResponseBlock.responseKey.symbol, fieldListValidator);
+        planner = new OptionPatternPlanner();
+        adaptivePlanner = new AdaptiveOptionPatternPlanner();
+    }
+
+    @Benchmark
+    public List<SymbolId> calculateOptionPatterns() {
+        patternList.clear();
+
+        StatusCode statusCode = OptionSeriesFilter.calculateOptionPatterns(fieldListValidator, rootResponseBlock, optionSeriesFilter, patternList, Rational.ZERO);
+        if (statusCode != StatusCode.STATUS_CODE_SUCCESS)
+            throw new IllegalStateException(statusCode.toString());
+
+        return patternList;
+    }
+
+    @Benchmark
+    public List<SymbolId> planOptionPatterns() {
+        patternList.clear();
+
+        StatusCode statusCode = planner.calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, Rational.ZERO, true, new OptionPatternPlanner.Plan());
+        if (statusCode != StatusCode.STATUS_CODE_SUCCESS)
+            throw new IllegalStateException(statusCode.toString());
+
+        return patternList;
+    }
+
+    @Benchmark
+    public List<SymbolId> planAdaptiveOptionPatterns() {
+        patternList.clear();
+
+        StatusCode statusCode = adaptivePlanner.calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, Rational.ZERO, true, new OptionPatternPlanner.Plan());
+        if (statusCode != StatusCode.STATUS_CODE_SUCCESS)
+            throw new IllegalStateException(statusCode.toString());
+
+        return patternList;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * QuotePredicateBenchmark.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * QuotePredicate over a whole chain of GetPattern response blocks with a minimum bid, a maximum spread and a
+ * minimum volume: the test alone, and the OptionInfo instances constructed only for the options passing it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuotePredicateBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int contracts;
+
+    private FieldListValidator fieldListValidator;
+    private List<ResponseBlock> responseBlockList;
+    private QuotePredicate quotePredicate;
+    private Rational lastTrade;
+
+    @Setup
+    public void setup() {
+        SimulatedOptionSeriesGateway gateway = BenchmarkChains.newGateway(contracts);
+
+        fieldListValidator = BenchmarkChains.newFieldListValidator();
+        responseBlockList = BenchmarkChains.getContractResponseBlocks(gateway, BenchmarkChains.newOptionsRequestBlock());
+        lastTrade = Rational.ZERO;
+
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setBid(new Rational(100, Rational.DENOMINATOR_2DP));
+        optionSeriesFilter.setMaximumSpread(new Rational(500, Rational.DENOMINATOR_2DP));
+        optionSeriesFilter.setVolume(new Rational(1, Rational.DENOMINATOR_WHOLE));
+
+        quotePredicate = QuotePredicate.compile(optionSeriesFilter);
+    }
+
+    @Benchmark
+    public int test() throws MiddlewareException {
+        int count = 0;
+
+        for (ResponseBlock responseBlock : responseBlockList) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            if (quotePredicate.test(fieldListValidator))
+                count++;
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public void testThenNewOptionInfo(Blackhole blackhole) throws MiddlewareException {
+        for (ResponseBlock responseBlock : responseBlockList) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            if (quotePredicate.test(fieldListValidator))
+                blackhole.consume(new OptionInfo(lastTrade, responseBlock.responseKey.symbol, fieldListValidator));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * SymbolDictionaryBenchmark.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+
+/**
+ * SymbolDictionary over the option symbols of a chain: interning them into an empty dictionary (a chain being
+ * filled), interning and finding them again once known, and the exchange suffix interned as a range. The shared
+ * variant interns the known symbols from 4 threads into one dictionary, the lock free lookup path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolDictionaryBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int contracts;
+
+    private String[] symbols;
+    private SymbolDictionary dictionary;
+
+    @State(Scope.Benchmark)
+    public static class SharedDictionary {
+
+        @Param({ "1000", "10000", "100000" })
+        public int contracts;
+
+        private String[] symbols;
+        private SymbolDictionary dictionary;
+
+        @Setup
+        public void setup() {
+            symbols = getSymbols(contracts);
+            dictionary = new SymbolDictionary(symbols.length);
+            for (String symbol : symbols)
+                dictionary.intern(symbol);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        symbols = getSymbols(contracts);
+        dictionary = new SymbolDictionary(symbols.length);
+        for (String symbol : symbols)
+            dictionary.intern(symbol);
+    }
+
+    // option symbols of every contract of the benchmark chain
+    private static String[] getSymbols(int contracts) {
+        List<ResponseBlock> responseBlockList = BenchmarkChains.getContractResponseBlocks(BenchmarkChains.newGateway(contracts), BenchmarkChains.newOptionsRequestBlock());
+
+        String[] symbols = new String[responseBlockList.size()];
+        for (int i = 0; i < symbols.length; i++)
+            symbols[i] = responseBlockList.get(i).responseKey.symbol;
+        return symbols;
+    }
+
+    @Benchmark
+    public SymbolDictionary internNew() {
+        SymbolDictionary dictionary = new SymbolDictionary();
+
+        for (String symbol : symbols)
+            dictionary.intern(symbol);
+
+        return dictionary;
+    }
+
+    @Benchmark
+    public int internExisting() {
+        int sum = 0;
+
+        for (String symbol : symbols)
+            sum += dictionary.intern(symbol);
+
+        return sum;
+    }
+
+    @Benchmark
+    public int find() {
+        int sum = 0;
+
+        for (String symbol : symbols)
+            sum += dictionary.find(symbol);
+
+        return sum;
+    }
+
+    @Benchmark
+    public int internExchange() {
+        int sum = 0;
+
+        for (String symbol : symbols)
+            sum += SymbolDictionary.EXCHANGES.intern(symbol, symbol.lastIndexOf('.') + 1, symbol.length());
+
+        return sum;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int internExistingShared(SharedDictionary shared) {
+        int sum = 0;
+
+        for (String symbol : shared.symbols)
+            sum += shared.dictionary.intern(symbol);
+
+        return sum;
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * AdaptiveOptionPatternPlanner.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.TableNumbers;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * OptionPatternPlanner choosing, per root, the cheapest of three plans from the selectivity of the filter:
+ * <pre>
+ * ENUMERATE          one pattern per selected contract (wildcards only where they fetch nothing extra)
+ * EXPIRY_WILDCARDS   one wildcard per selected expiration and side, the other strikes trimmed on the client
+ * ROOT_WILDCARD      one wildcard for the whole root, everything the filter does not select trimmed
+ * </pre>
+ * The selectivity is estimated from the root's strike and expiration lists, as if every expiration had every
+ * strike. Each plan costs patternCost per pattern plus contractCost per contract fetched, so a wide filter
+ * keeping most of the chain fetches the root with one pattern, a narrow one enumerates.
+ *
+ * The wildcard plans need options that can be trimmed (strike, expiration and option type requested) and are not
+ * used with an at the money strike count, whose window is per root. The decisions are counted per plan, see
+ * getDecisionCount and toString.
+ */
+public class AdaptiveOptionPatternPlanner extends OptionPatternPlanner {
+
+    public enum Strategy {
+        ENUMERATE,
+        EXPIRY_WILDCARDS,
+        ROOT_WILDCARD
+    }
+
+    private static final double DEFAULT_PATTERN_COST = 1.0;
+    private static final double DEFAULT_CONTRACT_COST = 0.5;
+
+    // relative cost of a pattern matched by the gateway and of a contract returned, decoded and maybe trimmed
+    private final double patternCost;
+    private final double contractCost;
+
+    // decisions per Strategy ordinal
+    private final AtomicLong[] decisionCounts = new AtomicLong[Strategy.values().length];
+
+    public AdaptiveOptionPatternPlanner() {
+        this(DEFAULT_PATTERN_COST, DEFAULT_CONTRACT_COST);
+    }
+
+    /**
+     * @param patternCost cost of one pattern
+     * @param contractCost cost of one contract fetched
+     */
+    public AdaptiveOptionPatternPlanner(double patternCost, double contractCost) {
+        if (patternCost < 0 || contractCost < 0)
+            throw new IllegalArgumentException("Costs should not be negative.");
+
+        this.patternCost = patternCost;
+        this.contractCost = contractCost;
+
+        for (int i = 0; i < decisionCounts.length; i++)
+            decisionCounts[i] = new AtomicLong();
+    }
+
+    StatusCode calculateOptionPatterns(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, Rational lastTrade, boolean canTrim, Plan plan, StringBuilder sbPattern) {
+        // nothing to choose: one wildcard per exchange already, or the strikes can't be trimmed
+        if (OptionSeriesFilter.isUnfiltered(optionSeriesFilter) || !canTrim || optionSeriesFilter.getAtTheMoneyStrikeCount() > 0)
+            return super.calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, canTrim, plan, sbPattern);
+
+        int[] expirationWindow = OptionSeriesFilter.selectExpirationDates(optionRoot, optionSeriesFilter);
+        int[] strikeWindow = OptionSeriesFilter.selectStrikePrices(optionRoot, optionSeriesFilter, lastTrade);
+
+        long expirationCount = expirationWindow[1] - expirationWindow[0];
+        long strikeCount = strikeWindow[1] - strikeWindow[0];
+        if (expirationCount == 0 || strikeCount == 0)
+            return StatusCode.STATUS_CODE_FAILURE;
+
+        long rootExpirationCount = optionRoot.getExpirationDates().size();
+        long rootStrikeCount = optionRoot.getStrikePrices().size();
+        long sideCount = (OptionSeriesFilter.isCallPutSelected(true, optionSeriesFilter) ? 1 : 0) + (OptionSeriesFilter.isCallPutSelected(false, optionSeriesFilter) ? 1 : 0);
+
+        List<String> exchangeCodes = optionSeriesFilter.getExchangeList();
+        if (exchangeCodes == null || exchangeCodes.isEmpty())
+            exchangeCodes = Collections.singletonList("*");
+        long exchangeCount = exchangeCodes.size();
+
+        // patterns and contracts of each plan, per exchange
+        long selectedContracts = expirationCount * strikeCount * sideCount;
+        long rootContracts = rootExpirationCount * rootStrikeCount * 2;
+
+        double[] costs = new double[Strategy.values().length];
+        costs[Strategy.ENUMERATE.ordinal()] = cost(selectedContracts, selectedContracts, exchangeCount);
+        costs[Strategy.EXPIRY_WILDCARDS.ordinal()] = rootStrikeCount > 1 ? cost(expirationCount * sideCount, expirationCount * rootStrikeCount * sideCount, exchangeCount) : Double.POSITIVE_INFINITY;
+        costs[Strategy.ROOT_WILDCARD.ordinal()] = cost(1, rootContracts, exchangeCount);
+
+        // cheapest, the more exact plan on a tie
+        Strategy strategy = Strategy.ENUMERATE;
+        for (Strategy candidate : Strategy.values()) {
+            if (costs[candidate.ordinal()] < costs[strategy.ordinal()])
+                strategy = candidate;
+        }
+
+        decisionCounts[strategy.ordinal()].incrementAndGet();
+
+        switch (strategy) {
+            case ROOT_WILDCARD: {
+                final char tableNumber = TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS;
+
+                int patternListSize = patternList.size();
+                addWildcardPattern(patternList, tableNumber, sbPattern, optionRoot.getRootBase() + '/', exchangeCodes);
+
+                plan.enumeratedPatternCount += selectedContracts * exchangeCount;
+                plan.patternCount += patternList.size() - patternListSize;
+                plan.overFetchCount += (rootContracts - selectedContracts) * exchangeCount;
+                return StatusCode.STATUS_CODE_SUCCESS;
+            }
+
+            case EXPIRY_WILDCARDS:
+                // no limit on the over fetch, the planner still enumerates expirations whose prefixes collide
+                return calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, canTrim, plan, sbPattern, Double.POSITIVE_INFINITY);
+
+            default:
+                return calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, canTrim, plan, sbPattern, 0);
+        }
+    }
+
+    private double cost(long patterns, long contracts, long exchangeCount) {
+        return (patternCost * patterns + contractCost * contracts) * exchangeCount;
+    }
+
+    public double getPatternCost() {
+        return patternCost;
+    }
+
+    public double getContractCost() {
+        return contractCost;
+    }
+
+    /**
+     * @param strategy strategy
+     * @return number of roots planned with the strategy
+     */
+    public long getDecisionCount(Strategy strategy) {
+        return decisionCounts[strategy.ordinal()].get();
+    }
+
+    public String toString() {
+        return super.toString() + ", decisions: enumerate " + getDecisionCount(Strategy.ENUMERATE) + ", expiry wildcards " + getDecisionCount(Strategy.EXPIRY_WILDCARDS)
+            + ", root wildcard " + getDecisionCount(Strategy.ROOT_WILDCARD);
+    }
+}
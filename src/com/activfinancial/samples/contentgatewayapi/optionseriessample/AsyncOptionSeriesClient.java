@@ -0,0 +1,287 @@
+/**
+ * AsyncOptionSeriesClient.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * Non blocking front end of GetOptionSeriesHelper.getOptionSeries returning CompletableFutures.
+ *
+ * A request runs as two tasks on the executor, the option root GetMatch and then the options GetPattern; the
+ * second is submitted when the first completes, so no thread waits between the round trips and a small pool
+ * keeps many requests moving. The gateway calls themselves still block the task's thread, the ACTIV API has
+ * no asynchronous request. At most maximumOutstandingRequests requests are started, later ones queue.
+ *
+ * The future completes with an OptionSeriesResult (failed StatusCodes included), or exceptionally with a
+ * TimeoutException, a CancellationException or a RejectedExecutionException. Timing out or cancelling a
+ * request interrupts its running task; the settings need a workspace pool.
+ */
+public class AsyncOptionSeriesClient {
+
+    private final OptionSeriesGateway gateway;
+    private final OptionSeriesSettings settings;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final int maximumOutstandingRequests;
+
+    // guarded by this
+    private int outstandingRequests;
+    private final Queue<Request> pendingRequests = new ArrayDeque<Request>();
+
+    /**
+     * @param gateway gateway the requests are sent to
+     * @param settings settings, with a workspace pool
+     * @param executor executor the requests run on
+     * @param scheduler scheduler of the timeouts
+     * @param maximumOutstandingRequests requests started at once, later requests wait for one to finish
+     */
+    public AsyncOptionSeriesClient(OptionSeriesGateway gateway, OptionSeriesSettings settings, ExecutorService executor, ScheduledExecutorService scheduler, int maximumOutstandingRequests) {
+        if (settings.getWorkspacePool() == null)
+            throw new IllegalArgumentException("Settings should have a workspace pool.");
+        if (maximumOutstandingRequests <= 0)
+            throw new IllegalArgumentException("Maximum outstanding requests should be positive.");
+
+        this.gateway = gateway;
+        this.settings = settings;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.maximumOutstandingRequests = maximumOutstandingRequests;
+    }
+
+    /**
+     * Request the options of a symbol.
+     *
+     * @param symbol symbol
+     * @param optionSeriesFilter filter, not to be changed until the future completes
+     * @param requestBlockOptions request block for options
+     * @param timeout time from now (including the time queued) after which the future fails with a TimeoutException, 0 for none
+     * @param unit unit of timeout
+     * @return future of the result
+     */
+    public CompletableFuture<OptionSeriesResult> getOptionSeries(String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, long timeout, TimeUnit unit) {
+        if (optionSeriesFilter == null)
+            throw new IllegalArgumentException("Filter should not be null.");
+
+        final Request request = new Request(symbol, optionSeriesFilter, requestBlockOptions);
+
+        if (timeout > 0) {
+            request.timeout = scheduler.schedule(new Runnable() {
+                public void run() {
+                    request.future.completeExceptionally(new TimeoutException("getOptionSeries " + request.symbol + " timed out"));
+                }
+            }, timeout, unit);
+        }
+
+        // stop the running task and the timer however the future completes
+        request.future.whenComplete(new BiConsumer<OptionSeriesResult, Throwable>() {
+            public void accept(OptionSeriesResult result, Throwable throwable) {
+                request.onCompleted();
+            }
+        });
+
+        boolean start;
+        synchronized (this) {
+            start = outstandingRequests < maximumOutstandingRequests;
+            if (start)
+                outstandingRequests++;
+            else
+                pendingRequests.add(request);
+        }
+
+        if (start)
+            submit(request, request.rootsTask);
+
+        return request.future;
+    }
+
+    /**
+     * @return requests started and not finished
+     */
+    public synchronized int getOutstandingRequestCount() {
+        return outstandingRequests;
+    }
+
+    /**
+     * @return requests waiting to be started
+     */
+    public synchronized int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    private void submit(Request request, Runnable task) {
+        try {
+            executor.execute(task);
+        }
+        catch (RejectedExecutionException e) {
+            request.future.completeExceptionally(e);
+            request.finish();
+        }
+    }
+
+    // a request finished its tasks, start the next one queued
+    private void onFinished() {
+        Request next;
+        synchronized (this) {
+            next = pendingRequests.poll();
+            if (next == null)
+                outstandingRequests--;
+        }
+
+        if (next != null)
+            submit(next, next.rootsTask);
+    }
+
+    private class Request {
+        final String symbol;
+        final OptionSeriesFilter optionSeriesFilter;
+        final RequestBlock requestBlockOptions;
+        final CompletableFuture<OptionSeriesResult> future = new CompletableFuture<OptionSeriesResult>();
+
+        volatile ScheduledFuture<?> timeout;
+
+        // thread running a task of the request, guarded by this
+        private Thread thread;
+        private boolean finished;
+
+        // set by the roots task, used by the options task
+        OptionSeriesWorkspace workspace;
+        long start;
+
+        Request(String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions) {
+            this.symbol = symbol;
+            this.optionSeriesFilter = optionSeriesFilter;
+            this.requestBlockOptions = requestBlockOptions;
+        }
+
+        final Runnable rootsTask = new Runnable() {
+            public void run() {
+                if (!enter()) {
+                    // timed out or cancelled while queued
+                    finish();
+                    return;
+                }
+
+                StatusCode statusCode = StatusCode.STATUS_CODE_FAILURE;
+                try {
+                    start = System.nanoTime();
+                    workspace = settings.getWorkspacePool().acquire();
+                    statusCode = GetOptionSeriesHelper.requestOptionRoots(gateway, settings, workspace, symbol, optionSeriesFilter);
+                }
+                catch (Throwable e) {
+                    // errors too, so the request still finishes and frees its workspace and slot
+                    future.completeExceptionally(e);
+                }
+                finally {
+                    exit();
+                }
+
+                if (future.isDone())
+                    finish();
+                else if (statusCode == StatusCode.STATUS_CODE_SUCCESS)
+                    submit(Request.this, optionsTask);
+                else
+                    complete(statusCode, Collections.<OptionInfo>emptyList());
+            }
+        };
+
+        final Runnable optionsTask = new Runnable() {
+            public void run() {
+                if (!enter()) {
+                    finish();
+                    return;
+                }
+
+                List<OptionInfo> options = new ArrayList<OptionInfo>();
+                StatusCode statusCode = StatusCode.STATUS_CODE_FAILURE;
+                try {
+                    statusCode = GetOptionSeriesHelper.requestOptions(gateway, settings, workspace, optionSeriesFilter, requestBlockOptions, GetOptionSeriesHelper.newListSink(settings.getOptionInfoDecoder(), options));
+                }
+                catch (Throwable e) {
+                    // errors too, so the request still finishes and frees its workspace and slot
+                    future.completeExceptionally(e);
+                }
+                finally {
+                    exit();
+                }
+
+                complete(statusCode, statusCode == StatusCode.STATUS_CODE_SUCCESS ? options : Collections.<OptionInfo>emptyList());
+            }
+        };
+
+        // a task starts, false if the future is already done
+        private synchronized boolean enter() {
+            if (future.isDone())
+                return false;
+
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        // a task ends, clear an interrupt left by a timeout or cancellation before the pool thread runs something else
+        private void exit() {
+            synchronized (this) {
+                thread = null;
+            }
+            Thread.interrupted();
+        }
+
+        private void complete(StatusCode statusCode, List<OptionInfo> options) {
+            OptionSeriesMetrics metrics = settings.getMetrics();
+            if (metrics != null)
+                // the stages run on different threads, so the allocations of the call can't be measured
+                metrics.recordCall(start, -1, statusCode == StatusCode.STATUS_CODE_SUCCESS);
+
+            // no effect if the request timed out or was cancelled
+            future.complete(new OptionSeriesResult(symbol, statusCode, options));
+            finish();
+        }
+
+        // release the workspace and the outstanding slot, once
+        void finish() {
+            synchronized (this) {
+                if (finished)
+                    return;
+                finished = true;
+            }
+
+            if (workspace != null) {
+                settings.getWorkspacePool().release(workspace);
+                workspace = null;
+            }
+
+            onFinished();
+        }
+
+        // the future completed, normally, by timeout or by cancellation
+        void onCompleted() {
+            ScheduledFuture<?> timeout = this.timeout;
+            if (timeout != null)
+                timeout.cancel(false);
+
+            // interrupt the gateway call in progress, the task finishes the request when it returns
+            if (future.isCompletedExceptionally()) {
+                synchronized (this) {
+                    if (thread != null)
+                        thread.interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * CoalescingOptionSeriesFetcher.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * Single flight front end of GetOptionSeriesHelper.getOptionSeries: concurrent calls for the same symbol, an
+ * equal filter and the same requested fields share one fetch. The first caller fetches on its own thread, the
+ * others wait for it and all get the same StatusCode and options (the OptionInfo instances are shared, they
+ * are not changed after construction). Only calls that overlap are coalesced, nothing is cached once the
+ * fetch is done.
+ *
+ * The settings need a workspace pool, so the fetches of different keys can run concurrently.
+ */
+public class CoalescingOptionSeriesFetcher {
+
+    private final OptionSeriesGateway gateway;
+    private final OptionSeriesSettings settings;
+
+    private final ConcurrentMap<Key, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<Key, CompletableFuture<Result>>();
+
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * @param gateway gateway the requests are sent to
+     * @param settings settings, with a workspace pool
+     */
+    public CoalescingOptionSeriesFetcher(OptionSeriesGateway gateway, OptionSeriesSettings settings) {
+        if (settings.getWorkspacePool() == null)
+            throw new IllegalArgumentException("Settings should have a workspace pool.");
+
+        this.gateway = gateway;
+        this.settings = settings;
+    }
+
+    /**
+     * Fetch the options of a symbol, or wait for the fetch already in flight for the same request.
+     *
+     * @param symbol symbol
+     * @param optionSeriesFilter filter
+     * @param requestBlockOptions request block for options
+     * @param options list the options are added to
+     * @return StatusCode of the (shared) fetch, STATUS_CODE_FAILURE if interrupted while waiting
+     */
+    public StatusCode getOptionSeries(String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, List<OptionInfo> options) {
+        if (optionSeriesFilter == null)
+            throw new IllegalArgumentException("Filter should not be null.");
+
+        Key key = new Key(symbol, optionSeriesFilter, requestBlockOptions);
+
+        CompletableFuture<Result> flight = new CompletableFuture<Result>();
+        CompletableFuture<Result> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return await(existing, options);
+        }
+
+        fetchCount.incrementAndGet();
+        try {
+            List<OptionInfo> fetched = new ArrayList<OptionInfo>();
+            StatusCode statusCode = GetOptionSeriesHelper.getOptionSeries(gateway, settings, null, symbol, key.optionSeriesFilter, requestBlockOptions, fetched);
+
+            flight.complete(new Result(statusCode, Collections.unmodifiableList(fetched)));
+            options.addAll(fetched);
+            return statusCode;
+        }
+        catch (Throwable e) {
+            // errors too, or the waiters would block forever
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            // later calls fetch again
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static StatusCode await(CompletableFuture<Result> flight, List<OptionInfo> options) {
+        try {
+            Result result = flight.get();
+            options.addAll(result.options);
+            return result.statusCode;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return StatusCode.STATUS_CODE_FAILURE;
+        }
+        catch (ExecutionException e) {
+            // the fetching caller got the exception
+            return StatusCode.STATUS_CODE_FAILURE;
+        }
+    }
+
+    /**
+     * @return number of fetches sent
+     */
+    public long getFetchCount() {
+        return fetchCount.get();
+    }
+
+    /**
+     * @return number of calls that shared a fetch in flight
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return number of fetches in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public String toString() {
+        return "CoalescingOptionSeriesFetcher fetches: " + getFetchCount() + ", coalesced: " + getCoalescedCount() + ", in flight: " + getInFlightCount();
+    }
+
+    private static class Result {
+        final StatusCode statusCode;
+        final List<OptionInfo> options;
+
+        Result(StatusCode statusCode, List<OptionInfo> options) {
+            this.statusCode = statusCode;
+            this.options = options;
+        }
+    }
+
+    // symbol, a copy of the filter and the sorted field ids of the request block
+    static final class Key {
+        final String symbol;
+        final OptionSeriesFilter optionSeriesFilter;
+        final int relationshipId;
+        final int[] fieldIds;
+        private final int hash;
+
+        Key(String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlock) {
+            this.symbol = symbol;
+            // copied with its values, so changes the caller makes to its filter or its Rationals later don't change
+            // the key or the fetch
+            this.optionSeriesFilter = new OptionSeriesFilter(optionSeriesFilter);
+            this.relationshipId = requestBlock.relationshipId;
+
+            // the order of the fields doesn't change the options returned
+            int[] fieldIds = new int[requestBlock.fieldIdList.size()];
+            for (int i = 0; i < fieldIds.length; i++)
+                fieldIds[i] = requestBlock.fieldIdList.get(i);
+            Arrays.sort(fieldIds);
+            this.fieldIds = fieldIds;
+
+            int hash = symbol.hashCode();
+            hash = 31 * hash + this.optionSeriesFilter.hashCode();
+            hash = 31 * hash + relationshipId;
+            hash = 31 * hash + Arrays.hashCode(fieldIds);
+            this.hash = hash;
+        }
+
+        public boolean equals(Object object) {
+            if (this == object)
+                return true;
+            if (!(object instanceof Key))
+                return false;
+
+            Key other = (Key) object;
+            return hash == other.hash && symbol.equals(other.symbol) && relationshipId == other.relationshipId &&
+                Arrays.equals(fieldIds, other.fieldIds) && optionSeriesFilter.equals(other.optionSeriesFilter);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
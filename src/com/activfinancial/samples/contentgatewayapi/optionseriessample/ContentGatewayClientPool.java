@@ -0,0 +1,346 @@
+/**
+ * ContentGatewayClientPool.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient.ConnectParameters;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.service.ServiceInstance;
+
+/**
+ * OptionSeriesGateway over several ContentGatewayClient connections, spread across the service instances
+ * (and their access points) found in ServiceLocation.xml. Each request goes to the connected client with the
+ * fewest requests outstanding. A request failing with STATUS_CODE_NOT_CONNECTED marks its connection down and
+ * is sent again on another one, so a dropped connection costs a retry rather than a failed request.
+ *
+ * A dropped socket may instead be reported as STATUS_CODE_TIMEOUT, which a slow server reports too. A timed out
+ * request is not sent again (its time is spent), but a connection with timeoutsBeforeDown timeouts in a row is
+ * marked down, so the requests after it go to the other connections until it is reconnected.
+ *
+ * Down connections are reconnected by reconnect(), to be called periodically (e.g. from a
+ * ScheduledExecutorService), and by a request finding no connection up.
+ */
+public class ContentGatewayClientPool implements OptionSeriesGateway {
+
+    private final Application application;
+    private final int connectionCount;
+
+    // replaced as a whole by connect, read without locking by the request threads
+    private volatile List<Connection> connections = Collections.emptyList();
+
+    // rotates the first connection looked at, so ties don't all go to the first connection
+    private final AtomicInteger nextConnection = new AtomicInteger();
+
+    private final AtomicLong failoverCount = new AtomicLong();
+    private final AtomicLong reconnectCount = new AtomicLong();
+
+    private long connectTimeout = ContentGatewayClient.DEFAULT_TIMEOUT;
+    private volatile int timeoutsBeforeDown = DEFAULT_TIMEOUTS_BEFORE_DOWN;
+
+    static public final int DEFAULT_TIMEOUTS_BEFORE_DOWN = 3;
+
+    /**
+     * @param application application the clients are created with
+     * @param connectionCount number of clients to open
+     */
+    public ContentGatewayClientPool(Application application, int connectionCount) {
+        if (connectionCount <= 0)
+            throw new IllegalArgumentException("Connection count should be positive.");
+
+        this.application = application;
+        this.connectionCount = connectionCount;
+    }
+
+    /**
+     * Open the clients, round robin over the service instances and then over the access points of each.
+     *
+     * @param serviceInstanceList service instances, from ServiceApi.findServices()
+     * @param userId user id
+     * @param password password
+     * @param timeout connect timeout of each client
+     * @return STATUS_CODE_SUCCESS if at least one client connected, else the StatusCode of the last connect
+     */
+    public StatusCode connect(List<ServiceInstance> serviceInstanceList, String userId, String password, long timeout) {
+        if (serviceInstanceList.isEmpty())
+            return StatusCode.STATUS_CODE_INVALID_PARAMETER;
+
+        this.connectTimeout = timeout;
+
+        List<Connection> connections = new ArrayList<Connection>(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            ServiceInstance serviceInstance = serviceInstanceList.get(i % serviceInstanceList.size());
+            int accessPoint = (i / serviceInstanceList.size()) % serviceInstance.serviceAccessPointList.size();
+
+            ConnectParameters connectParameters = new ConnectParameters();
+            connectParameters.serviceId = serviceInstance.serviceId;
+            connectParameters.url = serviceInstance.serviceAccessPointList.get(accessPoint).url;
+            connectParameters.userId = userId;
+            connectParameters.password = password;
+
+            ContentGatewayClient client = new ContentGatewayClient(application);
+            connections.add(new Connection(client, new LiveOptionSeriesGateway(client), connectParameters));
+        }
+        this.connections = Collections.unmodifiableList(connections);
+
+        StatusCode statusCode = StatusCode.STATUS_CODE_FAILURE;
+        boolean connected = false;
+        for (Connection connection : connections) {
+            statusCode = connection.connect();
+            connected |= statusCode == StatusCode.STATUS_CODE_SUCCESS;
+        }
+
+        return connected ? StatusCode.STATUS_CODE_SUCCESS : statusCode;
+    }
+
+    // use the gateways as connections, up, e.g. simulated ones for tests. They are reconnected with client, which has
+    // no connect parameters
+    void connect(List<? extends OptionSeriesGateway> gatewayList, ContentGatewayClient client) {
+        List<Connection> connections = new ArrayList<Connection>(gatewayList.size());
+        for (OptionSeriesGateway gateway : gatewayList) {
+            Connection connection = new Connection(client, gateway, new ConnectParameters());
+            connection.connected = true;
+            connections.add(connection);
+        }
+        this.connections = Collections.unmodifiableList(connections);
+    }
+
+    /**
+     * Disconnect every client.
+     */
+    public void disconnect() {
+        for (Connection connection : connections) {
+            connection.connected = false;
+            connection.client.disconnect();
+        }
+    }
+
+    /**
+     * Reconnect the clients that are down.
+     * @return number of clients reconnected
+     */
+    public int reconnect() {
+        int reconnected = 0;
+        for (Connection connection : connections) {
+            if (!connection.connected && connection.reconnect())
+                reconnected++;
+        }
+        return reconnected;
+    }
+
+    public StatusCode getMatch(final GetMatch.RequestParameters requestParameters, final GetMatch.ResponseParameters responseParameters) {
+        return send(new Request() {
+            public StatusCode send(Connection connection, boolean retry) {
+                if (retry)
+                    responseParameters.responseBlockList.clear();
+                return connection.gateway.getMatch(requestParameters, responseParameters);
+            }
+        });
+    }
+
+    public StatusCode getPattern(final GetPattern.RequestParameters requestParameters, final GetPattern.ResponseParameters responseParameters) {
+        return send(new Request() {
+            public StatusCode send(Connection connection, boolean retry) {
+                if (retry)
+                    responseParameters.responseBlockList.clear();
+                return connection.gateway.getPattern(requestParameters, responseParameters);
+            }
+        });
+    }
+
+    private StatusCode send(Request request) {
+        StatusCode statusCode = StatusCode.STATUS_CODE_NOT_CONNECTED;
+
+        // each connection is tried at most once
+        int connectionCount = connections.size();
+        for (int attempt = 0; attempt < connectionCount; attempt++) {
+            Connection connection = select();
+            if (connection == null)
+                return StatusCode.STATUS_CODE_NOT_CONNECTED;
+
+            connection.outstandingRequests.incrementAndGet();
+            try {
+                statusCode = request.send(connection, attempt > 0);
+            }
+            finally {
+                connection.outstandingRequests.decrementAndGet();
+            }
+
+            if (statusCode == StatusCode.STATUS_CODE_TIMEOUT) {
+                // maybe dropped, maybe slow: down only after several in a row
+                if (connection.timeouts.incrementAndGet() >= timeoutsBeforeDown)
+                    connection.connected = false;
+                return statusCode;
+            }
+
+            connection.timeouts.set(0);
+            if (statusCode != StatusCode.STATUS_CODE_NOT_CONNECTED)
+                return statusCode;
+
+            // dropped, send it again elsewhere
+            connection.connected = false;
+            failoverCount.incrementAndGet();
+        }
+
+        return statusCode;
+    }
+
+    // connected client with the fewest outstanding requests, null if none after trying to reconnect
+    private Connection select() {
+        Connection connection = leastOutstanding();
+        if (connection == null && reconnect() > 0)
+            connection = leastOutstanding();
+        return connection;
+    }
+
+    private Connection leastOutstanding() {
+        int size = connections.size();
+        if (size == 0)
+            return null;
+
+        int first = (nextConnection.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+        Connection result = null;
+        int resultOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Connection connection = connections.get((first + i) % size);
+            if (!connection.connected)
+                continue;
+
+            int outstanding = connection.outstandingRequests.get();
+            if (outstanding < resultOutstanding) {
+                result = connection;
+                resultOutstanding = outstanding;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a connected client, e.g. for a FieldListValidator, null if none is connected
+     */
+    public ContentGatewayClient getClient() {
+        Connection connection = leastOutstanding();
+        return connection != null ? connection.client : null;
+    }
+
+    public Application getApplication() {
+        return application;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * @return number of clients connected
+     */
+    public int getConnectedCount() {
+        int count = 0;
+        for (Connection connection : connections) {
+            if (connection.connected)
+                count++;
+        }
+        return count;
+    }
+
+    public int getTimeoutsBeforeDown() {
+        return timeoutsBeforeDown;
+    }
+
+    /**
+     * @param timeoutsBeforeDown number of timeouts in a row after which a connection is marked down, at least 1
+     */
+    public void setTimeoutsBeforeDown(int timeoutsBeforeDown) {
+        if (timeoutsBeforeDown < 1)
+            throw new IllegalArgumentException("Timeouts before down should be at least 1.");
+
+        this.timeoutsBeforeDown = timeoutsBeforeDown;
+    }
+
+    /**
+     * @return number of requests sent again after their connection dropped
+     */
+    public long getFailoverCount() {
+        return failoverCount.get();
+    }
+
+    /**
+     * @return number of reconnects that succeeded
+     */
+    public long getReconnectCount() {
+        return reconnectCount.get();
+    }
+
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ContentGatewayClientPool");
+        for (Connection connection : connections) {
+            builder.append(" [").append(connection.connectParameters.url).append(connection.connected ? " up, " : " down, ")
+                .append(connection.outstandingRequests.get()).append(" outstanding]");
+        }
+        return builder.append(", failovers: ").append(getFailoverCount()).append(", reconnects: ").append(getReconnectCount()).toString();
+    }
+
+    private interface Request {
+        StatusCode send(Connection connection, boolean retry);
+    }
+
+    private class Connection {
+        final ContentGatewayClient client;
+        final OptionSeriesGateway gateway;
+        final ConnectParameters connectParameters;
+        final AtomicInteger outstandingRequests = new AtomicInteger();
+
+        // timeouts in a row
+        final AtomicInteger timeouts = new AtomicInteger();
+
+        volatile boolean connected;
+
+        // one thread reconnects at a time
+        private final AtomicBoolean connecting = new AtomicBoolean();
+
+        Connection(ContentGatewayClient client, OptionSeriesGateway gateway, ConnectParameters connectParameters) {
+            this.client = client;
+            this.gateway = gateway;
+            this.connectParameters = connectParameters;
+        }
+
+        StatusCode connect() {
+            StatusCode statusCode = client.connect(connectParameters, connectTimeout);
+            timeouts.set(0);
+            connected = statusCode == StatusCode.STATUS_CODE_SUCCESS;
+            return statusCode;
+        }
+
+        boolean reconnect() {
+            if (!connecting.compareAndSet(false, true))
+                return false;
+
+            try {
+                if (connected)
+                    return false;
+
+                client.disconnect();
+                if (connect() != StatusCode.STATUS_CODE_SUCCESS)
+                    return false;
+
+                reconnectCount.incrementAndGet();
+                return true;
+            }
+            finally {
+                connecting.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * DayNumber.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.time.LocalDate;
+
+import com.activfinancial.middleware.fieldtypes.Date;
+
+/**
+ * Dates as int day numbers (days since 1970-01-01), used by the primitive backed chain storage.
+ */
+public final class DayNumber {
+
+    // value of an undefined date
+    public static final int UNDEFINED = Integer.MIN_VALUE;
+
+    private DayNumber() {
+    }
+
+    /**
+     * Convert a Date to a day number.
+     * 
+     * @param date date, may be null
+     * @return day number or UNDEFINED if the date is null or not initialized
+     */
+    public static int fromDate(Date date) {
+        if (date == null || !date.isInitialized())
+            return UNDEFINED;
+
+        return (int) LocalDate.of(date.getYear(), date.getMonth(), date.getDay()).toEpochDay();
+    }
+
+    /**
+     * Convert a day number to a Date.
+     * 
+     * @param dayNumber day number
+     * @return date
+     */
+    public static Date toDate(int dayNumber) {
+        LocalDate localDate = LocalDate.ofEpochDay(dayNumber);
+        return new Date(localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth());
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * FieldValues.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.Enumerations;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldStatus;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Date;
+import com.activfinancial.middleware.fieldtypes.IFieldType;
+import com.activfinancial.middleware.fieldtypes.Rational;
+import com.activfinancial.middleware.fieldtypes.TRational;
+import com.activfinancial.middleware.fieldtypes.UInt;
+
+/**
+ * Reads fields of an initialized FieldListValidator straight into primitives, without cloning the field types.
+ */
+final class FieldValues {
+
+    private static final String OPTION_TYPE_CALL = "" + Enumerations.OPTION_TYPE_CALL;
+
+    private FieldValues() {
+    }
+
+    /**
+     * Get a Rational or TRational field as fixed point.
+     * 
+     * @param fieldListValidator initialized field list validator
+     * @param fieldId field id
+     * @return fixed point value or FixedPoint.UNDEFINED
+     */
+    static long getFixedPoint(FieldListValidator fieldListValidator, int fieldId) throws MiddlewareException {
+        FieldListValidator.Field field = fieldListValidator.getField(fieldId);
+        if (field == null || field.fieldStatus != FieldStatus.FIELD_STATUS_DEFINED)
+            return FixedPoint.UNDEFINED;
+
+        IFieldType fieldType = field.fieldType;
+        if (fieldType instanceof TRational)
+            return FixedPoint.fromRational(((TRational) fieldType).getRational());
+        if (fieldType instanceof Rational)
+            return FixedPoint.fromRational((Rational) fieldType);
+        if (fieldType instanceof UInt)
+            return ((UInt) fieldType).getValue() * FixedPoint.SCALE;
+
+        return FixedPoint.UNDEFINED;
+    }
+
+    /**
+     * Get an integral (UInt) field.
+     * 
+     * @param fieldListValidator initialized field list validator
+     * @param fieldId field id
+     * @param undefined value to return if the field is not defined
+     * @return value
+     */
+    static long getLong(FieldListValidator fieldListValidator, int fieldId, long undefined) throws MiddlewareException {
+        FieldListValidator.Field field = fieldListValidator.getField(fieldId);
+        if (field == null || field.fieldStatus != FieldStatus.FIELD_STATUS_DEFINED)
+            return undefined;
+
+        IFieldType fieldType = field.fieldType;
+        if (fieldType instanceof UInt)
+            return ((UInt) fieldType).getValue();
+        if (fieldType instanceof TRational)
+            return FixedPoint.fromRational(((TRational) fieldType).getRational()) / FixedPoint.SCALE;
+        if (fieldType instanceof Rational)
+            return FixedPoint.fromRational((Rational) fieldType) / FixedPoint.SCALE;
+
+        return undefined;
+    }
+
+    /**
+     * Get a Date field as a day number.
+     * 
+     * @param fieldListValidator initialized field list validator
+     * @param fieldId field id
+     * @return day number or DayNumber.UNDEFINED
+     */
+    static int getDayNumber(FieldListValidator fieldListValidator, int fieldId) throws MiddlewareException {
+        FieldListValidator.Field field = fieldListValidator.getField(fieldId);
+        if (field == null || field.fieldStatus != FieldStatus.FIELD_STATUS_DEFINED || !(field.fieldType instanceof Date))
+            return DayNumber.UNDEFINED;
+
+        return DayNumber.fromDate((Date) field.fieldType);
+    }
+
+    /**
+     * Is the option in the initialized field list validator a call. Same test as OptionInfo.
+     * 
+     * @param fieldListValidator initialized field list validator
+     * @return true if FID_OPTION_TYPE is call
+     */
+    static boolean isCall(FieldListValidator fieldListValidator) throws MiddlewareException {
+        FieldListValidator.Field optionType = fieldListValidator.getField(FieldIds.FID_OPTION_TYPE);
+        return optionType != null && optionType.fieldStatus == FieldStatus.FIELD_STATUS_DEFINED && optionType.fieldType.toString().equals(OPTION_TYPE_CALL);
+    }
+}
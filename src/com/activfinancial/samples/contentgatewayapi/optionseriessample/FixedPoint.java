@@ -0,0 +1,113 @@
+/**
+ * FixedPoint.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * Prices as scaled longs (6 decimal places), used by the primitive backed chain storage.
+ */
+public final class FixedPoint {
+
+    // number of fixed point units per 1.0
+    public static final long SCALE = 1000000L;
+
+    // value of an undefined price
+    public static final long UNDEFINED = Long.MIN_VALUE;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Convert a Rational to fixed point, exactly with integer arithmetic on its numerator. Denominators finer
+     * than 6 decimal places (7 to 9 decimal places, 128ths, 256ths) are rounded half away from zero.
+     * 
+     * @param rational rational, may be null
+     * @return fixed point value or UNDEFINED if the rational is null or not initialized
+     */
+    public static long fromRational(Rational rational) {
+        if (rational == null || !rational.isInitialized())
+            return UNDEFINED;
+
+        long numerator = rational.getNumerator();
+        switch (rational.getDenominator()) {
+            case Rational.DENOMINATOR_WHOLE:
+                return numerator * SCALE;
+            case Rational.DENOMINATOR_1DP:
+                return numerator * 100000L;
+            case Rational.DENOMINATOR_2DP:
+                return numerator * 10000L;
+            case Rational.DENOMINATOR_3DP:
+                return numerator * 1000L;
+            case Rational.DENOMINATOR_4DP:
+                return numerator * 100L;
+            case Rational.DENOMINATOR_5DP:
+                return numerator * 10L;
+            case Rational.DENOMINATOR_6DP:
+                return numerator;
+            case Rational.DENOMINATOR_7DP:
+                return divide(numerator, 10L);
+            case Rational.DENOMINATOR_8DP:
+                return divide(numerator, 100L);
+            case Rational.DENOMINATOR_9DP:
+                return divide(numerator, 1000L);
+            case Rational.DENOMINATOR_HALVES:
+                return numerator * (SCALE / 2);
+            case Rational.DENOMINATOR_QUARTERS:
+                return numerator * (SCALE / 4);
+            case Rational.DENOMINATOR_EIGHTHS:
+                return numerator * (SCALE / 8);
+            case Rational.DENOMINATOR_SIXTEENTHS:
+                return numerator * (SCALE / 16);
+            case Rational.DENOMINATOR_32NDS:
+                return numerator * (SCALE / 32);
+            case Rational.DENOMINATOR_64THS:
+                return numerator * (SCALE / 64);
+            case Rational.DENOMINATOR_128THS:
+                return divide(numerator * (SCALE / 64), 2L);
+            case Rational.DENOMINATOR_256THS:
+                return divide(numerator * (SCALE / 64), 4L);
+            default:
+                // not a denominator this class knows
+                return Math.round(rational.getDouble() * SCALE);
+        }
+    }
+
+    // numerator / divisor rounded half away from zero
+    private static long divide(long numerator, long divisor) {
+        long half = divisor / 2;
+        return numerator >= 0 ? (numerator + half) / divisor : -((-numerator + half) / divisor);
+    }
+
+    /**
+     * Convert a fixed point value to a Rational with 6 decimal places.
+     * 
+     * @param value fixed point value
+     * @return rational
+     */
+    public static Rational toRational(long value) {
+        return new Rational(value, Rational.DENOMINATOR_6DP);
+    }
+
+    /**
+     * Convert a fixed point value to a double.
+     * 
+     * @param value fixed point value
+     * @return double value, NaN if undefined
+     */
+    public static double toDouble(long value) {
+        return value == UNDEFINED ? Double.NaN : (double) value / SCALE;
+    }
+
+    /**
+     * Convert a double to fixed point.
+     * 
+     * @param value double value
+     * @return fixed point value, UNDEFINED for NaN
+     */
+    public static long fromDouble(double value) {
+        return Double.isNaN(value) ? UNDEFINED : Math.round(value * SCALE);
+    }
+}
@@ -7,7 +7,12 @@
 
 package com.activfinancial.samples.contentgatewayapi.optionseriessample;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
 import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
@@ -21,7 +26,6 @@ import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldStatus;
 import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
 import com.activfinancial.middleware.StatusCode;
 import com.activfinancial.middleware.activbase.MiddlewareException;
-import com.activfinancial.middleware.fieldtypes.FieldTypeFactory;
 import com.activfinancial.middleware.fieldtypes.Rational;
 import com.activfinancial.middleware.fieldtypes.TRational;
 
@@ -58,116 +62,698 @@ public class GetOptionSeriesHelper {
      * @return StatusCode
      */
     static public StatusCode getOptionSeries(ContentGatewayClient client, FieldListValidator fieldListValidator, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, List<OptionInfo> options) {
+        return getOptionSeries(new LiveOptionSeriesGateway(client), fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, options);
+    }
+
+    /**
+     * Same as getOptionSeries above, with the requests going through an OptionSeriesGateway
+     * (live ContentGatewayClient or in process simulation).
+     * 
+     * @param gateway gateway the GetMatch and GetPattern requests are sent to
+     * @param fieldListValidator field list validator
+     * @param symbol symbol
+     * @param optionSeriesFilter filter
+     * @param requestBlockOptions request block for options
+     * @param options list of options returned from the call 
+     * @return StatusCode
+     */
+    static public StatusCode getOptionSeries(OptionSeriesGateway gateway, FieldListValidator fieldListValidator, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, List<OptionInfo> options) {
+        return getOptionSeries(gateway, new OptionSeriesSettings(), fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, options);
+    }
+
+    /**
+     * Same as getOptionSeries above, with optional behaviour (root caching etc.) set in settings.
+     * With a workspace pool set in settings the call is thread safe and fieldListValidator may be null.
+     * 
+     * @param gateway gateway the GetMatch and GetPattern requests are sent to
+     * @param settings settings
+     * @param fieldListValidator field list validator, not used with a workspace pool
+     * @param symbol symbol
+     * @param optionSeriesFilter filter
+     * @param requestBlockOptions request block for options
+     * @param options list of options returned from the call 
+     * @return StatusCode
+     */
+    static public StatusCode getOptionSeries(OptionSeriesGateway gateway, OptionSeriesSettings settings, FieldListValidator fieldListValidator, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, List<OptionInfo> options) {
+        return getOptionSeries(gateway, settings, fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, newListSink(settings.getOptionInfoDecoder(), options));
+    }
+
+    /**
+     * Fetches Options the same way as getOptionSeries above, but hands each option to the handler as soon as its
+     * response block is decoded instead of collecting them in a list. With chunked pattern requests (see
+     * OptionSeriesSettings) the handler runs while the rest of the chain is still being fetched. Returning false
+     * from the handler stops the call; the options already handled are kept and STATUS_CODE_SUCCESS is returned.
+     * 
+     * @param gateway gateway the GetMatch and GetPattern requests are sent to
+     * @param settings settings
+     * @param fieldListValidator field list validator
+     * @param symbol symbol
+     * @param optionSeriesFilter filter
+     * @param requestBlockOptions request block for options
+     * @param handler handler of the options
+     * @return StatusCode
+     */
+    static public StatusCode getOptionSeries(OptionSeriesGateway gateway, OptionSeriesSettings settings, FieldListValidator fieldListValidator, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, final OptionInfoHandler handler) {
+        final OptionInfoDecoder decoder = settings.getOptionInfoDecoder();
+        return getOptionSeries(gateway, settings, fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, new OptionRecordSink() {
+            public boolean onOption(String symbol, byte[] fieldData, FieldListValidator fieldListValidator, Rational lastTrade) throws MiddlewareException {
+                return handler.onOptionInfo(newOptionInfo(decoder, lastTrade, symbol, fieldData, fieldListValidator));
+            }
+        });
+    }
+
+    /**
+     * Fetches Options the same way as getOptionSeries above, but stores them column wise in an OptionChain
+     * read directly from the response blocks, without constructing OptionInfo instances.
+     * 
+     * @param gateway gateway the GetMatch and GetPattern requests are sent to
+     * @param settings settings
+     * @param fieldListValidator field list validator
+     * @param symbol symbol
+     * @param optionSeriesFilter filter
+     * @param requestBlockOptions request block for options
+     * @param chain chain the options are appended to
+     * @return StatusCode
+     */
+    static public StatusCode getOptionSeries(OptionSeriesGateway gateway, OptionSeriesSettings settings, FieldListValidator fieldListValidator, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, final OptionChain chain) {
+        return getOptionSeries(gateway, settings, fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, new OptionRecordSink() {
+            public boolean onOption(String symbol, byte[] fieldData, FieldListValidator fieldListValidator, Rational lastTrade) throws MiddlewareException {
+                if (chain.getLastTrade() == FixedPoint.UNDEFINED)
+                    chain.setLastTrade(FixedPoint.fromRational(lastTrade));
+
+                chain.add(symbol, fieldListValidator);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Fetches Options for many underlyings at once. The option roots (and last trades for at the money requests)
+     * of all symbols are fetched in one GetMatch request (or one per OptionSeriesSettings.getMaximumSymbolsPerRootRequest()
+     * symbols), each root is routed back to its underlying by the request key of its response block, and the options
+     * of all the roots are fetched with the same GetPattern request(s), chunked as set in settings.
+     * 
+     * @param gateway gateway the GetMatch and GetPattern requests are sent to
+     * @param settings settings
+     * @param fieldListValidator field list validator
+     * @param symbols symbols
+     * @param optionSeriesFilter filter, applied to every symbol
+     * @param requestBlockOptions request block for options
+     * @param options map of symbol to the list of its options returned from the call, every symbol gets an entry
+     * @return StatusCode
+     */
+    static public StatusCode getOptionSeries(OptionSeriesGateway gateway, OptionSeriesSettings settings, FieldListValidator fieldListValidator, List<String> symbols, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, Map<String, List<OptionInfo>> options) {
         if (optionSeriesFilter == null)
             throw new IllegalArgumentException("Filter should not be null.");
 
-        // these could be fetched from the thread local storage instead of constructing them each call
-        GetMatch.RequestParameters optionRootsRequestParameters = new GetMatch.RequestParameters();
-        GetMatch.ResponseParameters optionRootsResponseParameters = new GetMatch.ResponseParameters();
-        StatusCode statusCode;
+        OptionSeriesMetrics metrics = settings.getMetrics();
+        long start = metrics != null ? System.nanoTime() : 0;
+        long startAllocatedBytes = metrics != null ? metrics.getThreadAllocatedBytes() : 0;
+        StatusCode statusCode = null;
+
+        OptionSeriesWorkspacePool workspacePool = settings.getWorkspacePool();
+        OptionSeriesWorkspace workspace = workspacePool != null ? workspacePool.acquire() : new OptionSeriesWorkspace(fieldListValidator);
+        try {
+            statusCode = getOptionSeries(gateway, settings, workspace, symbols, optionSeriesFilter, requestBlockOptions, options);
+            return statusCode;
+        }
+        finally {
+            if (workspacePool != null)
+                workspacePool.release(workspace);
+            if (metrics != null)
+                metrics.recordCall(start, startAllocatedBytes, statusCode == StatusCode.STATUS_CODE_SUCCESS);
+        }
+    }
+
+    static private StatusCode getOptionSeries(OptionSeriesGateway gateway, OptionSeriesSettings settings, OptionSeriesWorkspace workspace, List<String> symbols, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, Map<String, List<OptionInfo>> options) {
+        RootMetadataCache rootMetadataCache = settings.getRootMetadataCache();
+
+        // decoded option roots and last trades by underlying
+        Map<String, List<OptionRootMetadata>> optionRootsBySymbol = new HashMap<String, List<OptionRootMetadata>>();
+        Map<String, LastTrade> lastTradeBySymbol = new HashMap<String, LastTrade>();
+
+        List<String> uncachedSymbols = new ArrayList<String>();
+        List<String> cachedSymbols = new ArrayList<String>();
+
+        for (String symbol : symbols) {
+            if (!options.containsKey(symbol))
+                options.put(symbol, new ArrayList<OptionInfo>());
+
+            List<OptionRootMetadata> optionRoots = rootMetadataCache != null ? rootMetadataCache.get(symbol) : null;
+            if (optionRoots == null) {
+                uncachedSymbols.add(symbol);
+            }
+            else {
+                optionRootsBySymbol.put(symbol, optionRoots);
+                cachedSymbols.add(symbol);
+            }
+        }
+
+        boolean isAtTheMoney = optionSeriesFilter.isAtTheMoney();
+
+        // roots (and last trades) of the symbols not cached
+        StatusCode statusCode = getOptionRoots(gateway, settings, workspace, uncachedSymbols, true, isAtTheMoney, optionRootsBySymbol, lastTradeBySymbol);
+
+        // last trades only of the cached symbols
+        if (StatusCode.STATUS_CODE_SUCCESS == statusCode && isAtTheMoney)
+            statusCode = getOptionRoots(gateway, settings, workspace, cachedSymbols, false, true, optionRootsBySymbol, lastTradeBySymbol);
+
+        if (StatusCode.STATUS_CODE_SUCCESS != statusCode)
+            return statusCode;
+
+        GetPattern.RequestParameters optionsRequestParameters = workspace.optionsRequestParameters;
+
+        // quote thresholds, tested before the options are constructed
+        QuotePredicate quotePredicate = QuotePredicate.compile(optionSeriesFilter);
+
+        optionsRequestParameters.requestBlockList.add(quotePredicate != null ? quotePredicate.withFieldIds(requestBlockOptions) : requestBlockOptions);
+
+        // the patterns of every root go into the same request, options are routed back by their root
+        Map<String, String> symbolByRootBase = new HashMap<String, String>();
+
+        OptionPatternPlanner patternPlanner = settings.getPatternPlanner();
+        OptionPatternPlanner.Plan plan = new OptionPatternPlanner.Plan();
+        boolean canTrim = canTrim(optionsRequestParameters.requestBlockList);
+
+        OptionSeriesMetrics metrics = settings.getMetrics();
+        long patternStart = metrics != null ? System.nanoTime() : 0;
+
+        for (Map.Entry<String, List<OptionRootMetadata>> entry : optionRootsBySymbol.entrySet()) {
+            Rational lastTrade = getLastTrade(lastTradeBySymbol, entry.getKey()).rational;
+
+            for (OptionRootMetadata optionRoot : entry.getValue()) {
+                symbolByRootBase.put(optionRoot.getRootBase(), entry.getKey());
+
+                // append new entries to the requestParameters.SymbolPatternList in each call
+                if (patternPlanner != null)
+                    patternPlanner.calculateOptionPatterns(optionRoot, optionSeriesFilter, optionsRequestParameters.symbolPatternList, lastTrade, canTrim, plan, workspace.sbPattern);
+                else
+                    OptionSeriesFilter.calculateOptionPatterns(optionRoot, optionSeriesFilter, optionsRequestParameters.symbolPatternList, lastTrade, workspace.sbPattern);
+            }
+        }
+
+        if (patternPlanner != null)
+            patternPlanner.record(plan);
+
+        if (metrics != null)
+            metrics.record(OptionSeriesMetrics.Stage.PATTERN_CALCULATION, patternStart);
+
+        if (optionsRequestParameters.symbolPatternList.isEmpty())
+            return StatusCode.STATUS_CODE_SUCCESS;
+
+        // get options now, in one request or in pipelined chunks
+        return PipelinedPatternRequest.sendRequest(gateway, settings, optionsRequestParameters, workspace.optionsResponseParameters,
+                new BulkOptionsResponseHandler(workspace.fieldListValidator, symbolByRootBase, lastTradeBySymbol, plan.isTrimRequired() ? optionSeriesFilter : null, quotePredicate, settings.getOptionInfoDecoder(), options));
+    }
+
+    static private StatusCode getOptionSeries(OptionSeriesGateway gateway, OptionSeriesSettings settings, FieldListValidator fieldListValidator, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, OptionRecordSink sink) {
+        if (optionSeriesFilter == null)
+            throw new IllegalArgumentException("Filter should not be null.");
+
+        OptionSeriesMetrics metrics = settings.getMetrics();
+        long start = metrics != null ? System.nanoTime() : 0;
+        long startAllocatedBytes = metrics != null ? metrics.getThreadAllocatedBytes() : 0;
+        StatusCode statusCode = null;
+
+        OptionSeriesWorkspacePool workspacePool = settings.getWorkspacePool();
+        OptionSeriesWorkspace workspace = workspacePool != null ? workspacePool.acquire() : new OptionSeriesWorkspace(fieldListValidator);
+        try {
+            statusCode = getOptionSeries(gateway, settings, workspace, symbol, optionSeriesFilter, requestBlockOptions, sink);
+            return statusCode;
+        }
+        finally {
+            if (workspacePool != null)
+                workspacePool.release(workspace);
+            if (metrics != null)
+                metrics.recordCall(start, startAllocatedBytes, statusCode == StatusCode.STATUS_CODE_SUCCESS);
+        }
+    }
+
+    static private StatusCode getOptionSeries(OptionSeriesGateway gateway, OptionSeriesSettings settings, OptionSeriesWorkspace workspace, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, OptionRecordSink sink) {
+        StatusCode statusCode = requestOptionRoots(gateway, settings, workspace, symbol, optionSeriesFilter);
+
+        if (StatusCode.STATUS_CODE_SUCCESS == statusCode)
+            statusCode = requestOptions(gateway, settings, workspace, optionSeriesFilter, requestBlockOptions, sink);
+
+        return statusCode;
+    }
+
+    /**
+     * First round trip of a call: GetMatch the option roots (unless cached) and the last trade into the workspace.
+     * 
+     * @return StatusCode of the GetMatch request
+     */
+    static StatusCode requestOptionRoots(OptionSeriesGateway gateway, OptionSeriesSettings settings, OptionSeriesWorkspace workspace, String symbol, OptionSeriesFilter optionSeriesFilter) {
+        // decoded option roots, when cached the option root request is skipped
+        RootMetadataCache rootMetadataCache = settings.getRootMetadataCache();
+        List<OptionRootMetadata> optionRoots = rootMetadataCache != null ? rootMetadataCache.get(symbol) : null;
+
+        GetMatch.RequestParameters optionRootsRequestParameters = workspace.optionRootsRequestParameters;
+        GetMatch.ResponseParameters optionRootsResponseParameters = workspace.optionRootsResponseParameters;
+        StatusCode statusCode = StatusCode.STATUS_CODE_SUCCESS;
 
         optionRootsRequestParameters.symbolIdList.add(new SymbolId(symbol));
 
         // from the listing symbol, first we need to get all the option roots. This is done using the navigation model:
-        optionRootsRequestParameters.requestBlockList.add(optionRootRequestBlock);
+        if (optionRoots == null) {
+            optionRootsRequestParameters.requestBlockList.add(optionRootRequestBlock);
+        }
         // fetch symbol's last trade for at the money request
         if (optionSeriesFilter.isAtTheMoney()) {
             optionRootsRequestParameters.requestBlockList.add(lastTradeRequestBlock);
         }
 
-        // get option roots
-        statusCode = ContentGatewayClient.getMatch().sendRequest(client, optionRootsRequestParameters, optionRootsResponseParameters);
+        // get option roots (nothing to get if the roots are cached and the last trade is not needed)
+        if (!optionRootsRequestParameters.requestBlockList.isEmpty()) {
+            statusCode = getMatch(gateway, settings.getMetrics(), optionRootsRequestParameters, optionRootsResponseParameters);
+        }
 
         if (StatusCode.STATUS_CODE_SUCCESS == statusCode) {
-            // these could be fetched from the thread local storage instead of constructing them each call
-            GetPattern.RequestParameters optionsRequestParameters = new GetPattern.RequestParameters();
-            GetPattern.ResponseParameters optionsResponseParameters = new GetPattern.ResponseParameters();
-            
-            optionsRequestParameters.requestBlockList.add(requestBlockOptions);
-
-            optionsResponseParameters.responseBlockList.clear();
-
-            // need last trade for At the money
-            Rational []lastTrade = new Rational[1];
-            
-            // now retrieve all the options for all the option roots
-            statusCode = getOptionsFromRoots(client, fieldListValidator, optionsRequestParameters, optionsResponseParameters, optionRootsResponseParameters.responseBlockList, optionSeriesFilter, lastTrade);
-            
-            if (statusCode == StatusCode.STATUS_CODE_SUCCESS) {
-                List<ResponseBlock> optionsResponseBlockList = optionsResponseParameters.responseBlockList;
-
-                for (ResponseBlock responseBlock : optionsResponseBlockList) {
-                    if (responseBlock.isValidResponse()) {
-                        try {
-                            // keep reusing the same fieldListValidator
-                            fieldListValidator.initialize(responseBlock.fieldData);
-
-                            OptionInfo optionInfo = new OptionInfo(lastTrade[0], responseBlock.responseKey.symbol, fieldListValidator);
-
-                            options.add(optionInfo);
-                        }
-                        catch (MiddlewareException e) {
-                            e.printStackTrace();
-                        }
-                    }
+            if (optionRoots == null && (rootMetadataCache != null || settings.getPatternPlanner() != null)) {
+                try {
+                    optionRoots = decodeOptionRoots(workspace.fieldListValidator, optionRootsResponseParameters.responseBlockList);
+                    // roots of invalid blocks are missing from the list, only a complete list is cached
+                    if (rootMetadataCache != null && areOptionRootsValid(optionRootsResponseParameters.responseBlockList))
+                        rootMetadataCache.put(symbol, optionRoots);
+                }
+                catch (MiddlewareException e) {
+                    // not cached, the patterns are built from the response blocks
+                    e.printStackTrace();
                 }
             }
+
+            workspace.optionRoots = optionRoots;
         }
 
         return statusCode;
     }
 
-    static private StatusCode getOptionsFromRoots(ContentGatewayClient client, FieldListValidator fieldListValidator, GetPattern.RequestParameters optionsRequestParameters, GetPattern.ResponseParameters optionsResponseParameters, List<ResponseBlock> optionRootsResponseBlockList, OptionSeriesFilter optionSeriesFilter, Rational[] lastTrade) {
+    /**
+     * Second round trip of a call: GetPattern the options of the roots requested by requestOptionRoots into the sink.
+     * 
+     * @return StatusCode of the GetPattern request(s)
+     */
+    static StatusCode requestOptions(OptionSeriesGateway gateway, OptionSeriesSettings settings, OptionSeriesWorkspace workspace, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions, OptionRecordSink sink) {
+        // quote thresholds, tested before the options reach the sink
+        QuotePredicate quotePredicate = QuotePredicate.compile(optionSeriesFilter);
+
+        workspace.optionsRequestParameters.requestBlockList.add(quotePredicate != null ? quotePredicate.withFieldIds(requestBlockOptions) : requestBlockOptions);
+
+        // pattern counts when the planner is used
+        OptionPatternPlanner.Plan plan = new OptionPatternPlanner.Plan();
+
+        // now retrieve all the options for all the option roots, the options are passed to the sink as their responses arrive
+        return getOptionsFromRoots(gateway, settings, workspace, workspace.optionRoots, optionSeriesFilter, settings.getPatternPlanner(), plan, quotePredicate, sink);
+    }
+
+    static private StatusCode getOptionsFromRoots(OptionSeriesGateway gateway, OptionSeriesSettings settings, OptionSeriesWorkspace workspace, List<OptionRootMetadata> optionRoots, OptionSeriesFilter optionSeriesFilter, OptionPatternPlanner patternPlanner, OptionPatternPlanner.Plan plan, QuotePredicate quotePredicate, OptionRecordSink sink) {
+        FieldListValidator fieldListValidator = workspace.fieldListValidator;
+        GetPattern.RequestParameters optionsRequestParameters = workspace.optionsRequestParameters;
+        List<ResponseBlock> optionRootsResponseBlockList = workspace.optionRootsResponseParameters.responseBlockList;
+        OptionSeriesMetrics metrics = settings.getMetrics();
+
     	// if it was at the money request, find out the last sale
-    	lastTrade[0] = Rational.ZERO;
+    	LastTrade lastTrade = LastTrade.NONE;
     	if (optionSeriesFilter.isAtTheMoney()) {
+    	    long start = metrics != null ? System.nanoTime() : 0;
             for (ResponseBlock responseBlock : optionRootsResponseBlockList) {
                 if (responseBlock.isValidResponse() && responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_NONE) {
-                	try {
-	                	fieldListValidator.initialize(responseBlock.fieldData);
-	                	FieldListValidator.Field fieldTrade = fieldListValidator.getField(FieldIds.FID_TRADE);
-	                	if (fieldTrade.fieldStatus == FieldStatus.FIELD_STATUS_DEFINED) {
-	                	    TRational trade = fieldTrade.getActivFieldType(TRational.FIELD_TYPE); 
-	                		lastTrade[0] = trade.getRational();
-	                	}
-	                	else {
-	                		// default to close if last sale is 0.
-		                	FieldListValidator.Field fieldClose = fieldListValidator.getField(FieldIds.FID_CLOSE);
-		                	if (fieldClose.fieldStatus == FieldStatus.FIELD_STATUS_DEFINED) {
-		                		lastTrade[0] = fieldClose.getActivFieldType(Rational.FIELD_TYPE);
-		                	}
-	                	}
-	                }
-	                catch (MiddlewareException e) {
-	                    e.printStackTrace();
-	                }
-	                break;
-                }
-            }
-            
-            // clone.
-            if (lastTrade[0].isInitialized()) {
-                try {
-                    lastTrade[0] = (Rational)FieldTypeFactory.getInstance().clone(lastTrade[0]);
-                } catch (MiddlewareException e) {
-                    e.printStackTrace();
+                    lastTrade = extractLastTrade(fieldListValidator, responseBlock);
+                    break;
                 }
             }
+            if (metrics != null)
+                metrics.record(OptionSeriesMetrics.Stage.LAST_TRADE, start);
     	}
     	
         // responseBlockList contains a list of option root symbols. To retrieve all options for these roots, we
         // make a GetPattern request, where the patterns to search for are mangled option root symbols
 
         // for each option root, form a pattern to search for
+        long patternStart = metrics != null ? System.nanoTime() : 0;
         optionsRequestParameters.symbolPatternList.clear();
+        if (optionRoots != null && patternPlanner != null) {
+            boolean canTrim = canTrim(optionsRequestParameters.requestBlockList);
+            for (OptionRootMetadata optionRoot : optionRoots) {
+                // append new entries to the requestParameters.SymbolPatternList in each call
+                patternPlanner.calculateOptionPatterns(optionRoot, optionSeriesFilter, optionsRequestParameters.symbolPatternList, lastTrade.rational, canTrim, plan, workspace.sbPattern);
+            }
+            patternPlanner.record(plan);
+        }
+        else if (optionRoots != null) {
+            for (OptionRootMetadata optionRoot : optionRoots) {
+                // append new entries to the requestParameters.SymbolPatternList in each call
+                OptionSeriesFilter.calculateOptionPatterns(optionRoot, optionSeriesFilter, optionsRequestParameters.symbolPatternList, lastTrade.rational, workspace.sbPattern);
+            }
+        }
+        else {
+            for (ResponseBlock responseBlock : optionRootsResponseBlockList) {
+                if (responseBlock.isValidResponse() && responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT) {
+                    // append new entries to the requestParameters.SymbolPatternList in each call
+                    OptionSeriesFilter.calculateOptionPatterns(fieldListValidator, responseBlock, optionSeriesFilter, optionsRequestParameters.symbolPatternList, lastTrade.rational);
+                }
+            }
+        }
+
+        if (metrics != null)
+            metrics.record(OptionSeriesMetrics.Stage.PATTERN_CALCULATION, patternStart);
+
+        // wildcard patterns fetched more than the filter selects, drop the extra options before they reach the sink
+        if (plan.isTrimRequired()) {
+            sink = new TrimmingOptionRecordSink(sink, optionSeriesFilter, lastTrade.fixedPoint);
+        }
+
+        // drop illiquid options first, before any other test or OptionInfo construction
+        if (quotePredicate != null) {
+            sink = new QuoteOptionRecordSink(sink, quotePredicate);
+        }
+
+        // get options now, in one request or in pipelined chunks
+        return PipelinedPatternRequest.sendRequest(gateway, settings, optionsRequestParameters, workspace.optionsResponseParameters, new OptionsResponseHandler(fieldListValidator, sink, lastTrade.rational));
+    }
+
+    // decodes option response blocks into the sink
+    static private class OptionsResponseHandler implements PipelinedPatternRequest.ResponseHandler {
+        private final FieldListValidator fieldListValidator;
+        private final OptionRecordSink sink;
+        private final Rational lastTrade;
+
+        OptionsResponseHandler(FieldListValidator fieldListValidator, OptionRecordSink sink, Rational lastTrade) {
+            this.fieldListValidator = fieldListValidator;
+            this.sink = sink;
+            this.lastTrade = lastTrade;
+        }
+
+        public boolean onResponseBlocks(List<ResponseBlock> optionsResponseBlockList) {
+            for (ResponseBlock responseBlock : optionsResponseBlockList) {
+                if (responseBlock.isValidResponse()) {
+                    try {
+                        // keep reusing the same fieldListValidator
+                        fieldListValidator.initialize(responseBlock.fieldData);
+
+                        if (!sink.onOption(responseBlock.responseKey.symbol, responseBlock.fieldData, fieldListValidator, lastTrade))
+                            return false;
+                    }
+                    catch (MiddlewareException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    // GetMatch the option roots and/or last trades of the symbols, in batches of symbols
+    static private StatusCode getOptionRoots(OptionSeriesGateway gateway, OptionSeriesSettings settings, OptionSeriesWorkspace workspace, List<String> symbols, boolean fetchRoots, boolean fetchLastTrade, Map<String, List<OptionRootMetadata>> optionRootsBySymbol, Map<String, LastTrade> lastTradeBySymbol) {
+        if (symbols.isEmpty() || (!fetchRoots && !fetchLastTrade))
+            return StatusCode.STATUS_CODE_SUCCESS;
+
+        FieldListValidator fieldListValidator = workspace.fieldListValidator;
+        GetMatch.RequestParameters optionRootsRequestParameters = workspace.optionRootsRequestParameters;
+        GetMatch.ResponseParameters optionRootsResponseParameters = workspace.optionRootsResponseParameters;
+
+        // called twice per bulk fetch, start from no request blocks
+        optionRootsRequestParameters.requestBlockList.clear();
+        if (fetchRoots)
+            optionRootsRequestParameters.requestBlockList.add(optionRootRequestBlock);
+        if (fetchLastTrade)
+            optionRootsRequestParameters.requestBlockList.add(lastTradeRequestBlock);
+
+        RootMetadataCache rootMetadataCache = settings.getRootMetadataCache();
+        OptionSeriesMetrics metrics = settings.getMetrics();
+        int batchSize = settings.getMaximumSymbolsPerRootRequest() > 0 ? settings.getMaximumSymbolsPerRootRequest() : symbols.size();
+
+        // symbols with a root that failed to decode, not cached
+        Set<String> failedSymbols = new HashSet<String>();
+
+        for (int from = 0; from < symbols.size(); from += batchSize) {
+            List<String> batch = symbols.subList(from, Math.min(symbols.size(), from + batchSize));
+
+            optionRootsRequestParameters.symbolIdList.clear();
+            for (String symbol : batch)
+                optionRootsRequestParameters.symbolIdList.add(new SymbolId(symbol));
+
+            optionRootsResponseParameters.responseBlockList.clear();
+
+            StatusCode statusCode = getMatch(gateway, metrics, optionRootsRequestParameters, optionRootsResponseParameters);
+            if (StatusCode.STATUS_CODE_SUCCESS != statusCode)
+                return statusCode;
+
+            for (ResponseBlock responseBlock : optionRootsResponseParameters.responseBlockList) {
+                // the request key is the underlying the block was requested for
+                String symbol = responseBlock.requestKey.symbol;
+
+                if (!responseBlock.isValidResponse()) {
+                    if (responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT)
+                        failedSymbols.add(symbol);
+                    continue;
+                }
+
+                if (responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT) {
+                    List<OptionRootMetadata> optionRoots = optionRootsBySymbol.get(symbol);
+                    if (optionRoots == null) {
+                        optionRoots = new ArrayList<OptionRootMetadata>();
+                        optionRootsBySymbol.put(symbol, optionRoots);
+                    }
+
+                    try {
+                        fieldListValidator.initialize(responseBlock.fieldData);
+                        optionRoots.add(OptionRootMetadata.decode(responseBlock.responseKey.symbol, fieldListValidator));
+                    }
+                    catch (MiddlewareException e) {
+                        e.printStackTrace();
+                        failedSymbols.add(symbol);
+                    }
+                }
+                else if (responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_NONE) {
+                    long start = metrics != null ? System.nanoTime() : 0;
+                    lastTradeBySymbol.put(symbol, extractLastTrade(fieldListValidator, responseBlock));
+                    if (metrics != null)
+                        metrics.record(OptionSeriesMetrics.Stage.LAST_TRADE, start);
+                }
+            }
+
+            if (fetchRoots && rootMetadataCache != null) {
+                for (String symbol : batch) {
+                    List<OptionRootMetadata> optionRoots = optionRootsBySymbol.get(symbol);
+                    if (optionRoots != null && !failedSymbols.contains(symbol))
+                        rootMetadataCache.put(symbol, optionRoots);
+                }
+            }
+        }
+
+        return StatusCode.STATUS_CODE_SUCCESS;
+    }
+
+    // GetMatch round trip, timed if there are metrics
+    static private StatusCode getMatch(OptionSeriesGateway gateway, OptionSeriesMetrics metrics, GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+        if (metrics == null)
+            return gateway.getMatch(requestParameters, responseParameters);
+
+        long start = System.nanoTime();
+        try {
+            return gateway.getMatch(requestParameters, responseParameters);
+        }
+        finally {
+            metrics.record(OptionSeriesMetrics.Stage.ROOT_REQUEST, start);
+        }
+    }
+
+    static private LastTrade getLastTrade(Map<String, LastTrade> lastTradeBySymbol, String symbol) {
+        LastTrade lastTrade = lastTradeBySymbol.get(symbol);
+        return lastTrade != null ? lastTrade : LastTrade.NONE;
+    }
+
+    // decodes option response blocks of many underlyings, routing each option by its root
+    static private class BulkOptionsResponseHandler implements PipelinedPatternRequest.ResponseHandler {
+        private final FieldListValidator fieldListValidator;
+        private final Map<String, String> symbolByRootBase;
+        private final Map<String, LastTrade> lastTradeBySymbol;
+        private final OptionSeriesFilter trimFilter;
+        private final QuotePredicate quotePredicate;
+        private final OptionInfoDecoder decoder;
+        private final Map<String, List<OptionInfo>> options;
+
+        BulkOptionsResponseHandler(FieldListValidator fieldListValidator, Map<String, String> symbolByRootBase, Map<String, LastTrade> lastTradeBySymbol, OptionSeriesFilter trimFilter, QuotePredicate quotePredicate, OptionInfoDecoder decoder, Map<String, List<OptionInfo>> options) {
+            this.fieldListValidator = fieldListValidator;
+            this.symbolByRootBase = symbolByRootBase;
+            this.lastTradeBySymbol = lastTradeBySymbol;
+            this.trimFilter = trimFilter;
+            this.quotePredicate = quotePredicate;
+            this.decoder = decoder;
+            this.options = options;
+        }
+
+        public boolean onResponseBlocks(List<ResponseBlock> optionsResponseBlockList) {
+            for (ResponseBlock responseBlock : optionsResponseBlockList) {
+                if (!responseBlock.isValidResponse())
+                    continue;
+
+                // alias symbols are root/expiration strike.exchange
+                String optionSymbol = responseBlock.responseKey.symbol;
+                int i = optionSymbol.indexOf('/');
+                int rootBaseId = i != -1 ? SymbolDictionary.ROOTS.find(optionSymbol, 0, i) : SymbolDictionary.NOT_FOUND;
+
+                // the roots were interned when decoded, the lookup uses the shared root string instead of a substring
+                String symbol = rootBaseId != SymbolDictionary.NOT_FOUND ? symbolByRootBase.get(SymbolDictionary.ROOTS.get(rootBaseId)) : null;
+                if (symbol == null)
+                    continue;
+
+                try {
+                    // keep reusing the same fieldListValidator
+                    fieldListValidator.initialize(responseBlock.fieldData);
+
+                    if (quotePredicate != null && !quotePredicate.test(fieldListValidator))
+                        continue;
+
+                    LastTrade lastTrade = getLastTrade(lastTradeBySymbol, symbol);
+                    if (trimFilter != null && !OptionSeriesFilter.isOptionSelected(fieldListValidator, trimFilter, lastTrade.fixedPoint))
+                        continue;
+
+                    options.get(symbol).add(newOptionInfo(decoder, lastTrade.rational, optionSymbol, responseBlock.fieldData, fieldListValidator));
+                }
+                catch (MiddlewareException e) {
+                    e.printStackTrace();
+                }
+            }
+            return true;
+        }
+    }
+
+    // options can be trimmed on the client if they come back with the fields the filter looks at
+    static private boolean canTrim(List<RequestBlock> requestBlockList) {
+        for (RequestBlock requestBlock : requestBlockList) {
+            if (requestBlock.fieldIdList.contains(FieldIds.FID_STRIKE_PRICE) &&
+                requestBlock.fieldIdList.contains(FieldIds.FID_EXPIRATION_DATE) &&
+                requestBlock.fieldIdList.contains(FieldIds.FID_OPTION_TYPE))
+                return true;
+        }
+        return false;
+    }
+
+    // passes on the options selected by the filter only
+    static private class TrimmingOptionRecordSink implements OptionRecordSink {
+        private final OptionRecordSink sink;
+        private final OptionSeriesFilter optionSeriesFilter;
+
+        // last trade of the call as FixedPoint
+        private final long lastTradeFixedPoint;
+
+        TrimmingOptionRecordSink(OptionRecordSink sink, OptionSeriesFilter optionSeriesFilter, long lastTradeFixedPoint) {
+            this.sink = sink;
+            this.optionSeriesFilter = optionSeriesFilter;
+            this.lastTradeFixedPoint = lastTradeFixedPoint;
+        }
+
+        public boolean onOption(String symbol, byte[] fieldData, FieldListValidator fieldListValidator, Rational lastTrade) throws MiddlewareException {
+            if (!OptionSeriesFilter.isOptionSelected(fieldListValidator, optionSeriesFilter, lastTradeFixedPoint))
+                return true;
+
+            return sink.onOption(symbol, fieldData, fieldListValidator, lastTrade);
+        }
+    }
+
+    // last trade of an underlying: the Rational OptionInfo, the sinks and the pattern calculations take, and its
+    // fixed point value for the comparisons
+    static private final class LastTrade {
+        static final LastTrade NONE = new LastTrade(Rational.ZERO, 0);
+
+        final Rational rational;
+        final long fixedPoint;
+
+        LastTrade(Rational rational, long fixedPoint) {
+            this.rational = rational;
+            this.fixedPoint = fixedPoint;
+        }
+    }
+
+    // last trade (close if there was no trade) of a RELATIONSHIP_ID_NONE response block
+    static private LastTrade extractLastTrade(FieldListValidator fieldListValidator, ResponseBlock responseBlock) {
+        try {
+            fieldListValidator.initialize(responseBlock.fieldData);
+
+            Rational lastTrade = null;
+            FieldListValidator.Field fieldTrade = fieldListValidator.getField(FieldIds.FID_TRADE);
+            if (fieldTrade.fieldStatus == FieldStatus.FIELD_STATUS_DEFINED) {
+                TRational trade = fieldTrade.getActivFieldType(TRational.FIELD_TYPE); 
+                lastTrade = trade.getRational();
+            }
+            else {
+                // default to close if last sale is 0.
+                FieldListValidator.Field fieldClose = fieldListValidator.getField(FieldIds.FID_CLOSE);
+                if (fieldClose.fieldStatus == FieldStatus.FIELD_STATUS_DEFINED) {
+                    lastTrade = fieldClose.getActivFieldType(Rational.FIELD_TYPE);
+                }
+            }
+
+            // the field belongs to the validator, which is initialized again for the next block: copy its value only
+            if (lastTrade != null && lastTrade.isInitialized())
+                return new LastTrade(new Rational(lastTrade.getNumerator(), lastTrade.getDenominator()), FixedPoint.fromRational(lastTrade));
+        }
+        catch (MiddlewareException e) {
+            e.printStackTrace();
+        }
+
+        return LastTrade.NONE;
+    }
+
+    // adds an OptionInfo per option to the list
+    static OptionRecordSink newListSink(final OptionInfoDecoder decoder, final List<OptionInfo> options) {
+        return new OptionRecordSink() {
+            public boolean onOption(String symbol, byte[] fieldData, FieldListValidator fieldListValidator, Rational lastTrade) throws MiddlewareException {
+                options.add(newOptionInfo(decoder, lastTrade, symbol, fieldData, fieldListValidator));
+                return true;
+            }
+        };
+    }
+
+    // lazy OptionInfo decoding its fields on access if there is a decoder, otherwise all fields cloned now
+    static private OptionInfo newOptionInfo(OptionInfoDecoder decoder, Rational lastTrade, String symbol, byte[] fieldData, FieldListValidator fieldListValidator) throws MiddlewareException {
+        if (decoder != null)
+            return new OptionInfo(lastTrade, symbol, fieldData, fieldListValidator, decoder);
+
+        return new OptionInfo(lastTrade, symbol, fieldListValidator);
+    }
+
+    // passes on the options meeting the quote thresholds only
+    static private class QuoteOptionRecordSink implements OptionRecordSink {
+        private final OptionRecordSink sink;
+        private final QuotePredicate quotePredicate;
+
+        QuoteOptionRecordSink(OptionRecordSink sink, QuotePredicate quotePredicate) {
+            this.sink = sink;
+            this.quotePredicate = quotePredicate;
+        }
+
+        public boolean onOption(String symbol, byte[] fieldData, FieldListValidator fieldListValidator, Rational lastTrade) throws MiddlewareException {
+            if (!quotePredicate.test(fieldListValidator))
+                return true;
+
+            return sink.onOption(symbol, fieldData, fieldListValidator, lastTrade);
+        }
+    }
+
+    // true if no option root response block is invalid
+    static private boolean areOptionRootsValid(List<ResponseBlock> optionRootsResponseBlockList) {
+        for (ResponseBlock responseBlock : optionRootsResponseBlockList) {
+            if (!responseBlock.isValidResponse() && responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT)
+                return false;
+        }
+
+        return true;
+    }
+
+    // decode the strike and expiration lists of every valid option root response block
+    static private List<OptionRootMetadata> decodeOptionRoots(FieldListValidator fieldListValidator, List<ResponseBlock> optionRootsResponseBlockList) throws MiddlewareException {
+        List<OptionRootMetadata> optionRoots = new ArrayList<OptionRootMetadata>();
+
         for (ResponseBlock responseBlock : optionRootsResponseBlockList) {
             if (responseBlock.isValidResponse() && responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT) {
-                // append new entries to the requestParameters.SymbolPatternList in each call
-                OptionSeriesFilter.calculateOptionPatterns(fieldListValidator, responseBlock, optionSeriesFilter, optionsRequestParameters.symbolPatternList, lastTrade[0]);
+                fieldListValidator.initialize(responseBlock.fieldData);
+                optionRoots.add(OptionRootMetadata.decode(responseBlock.responseKey.symbol, fieldListValidator));
             }
         }
 
-        // get options now
-        return ContentGatewayClient.getPattern().sendRequest(client, optionsRequestParameters, optionsResponseParameters);
+        return optionRoots;
     }
 }
@@ -0,0 +1,121 @@
+/**
+ * LatencyHistogram.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of durations in nanoseconds with log-linear buckets, in the style of HdrHistogram:
+ * values below 64 are exact, larger values fall into one of 32 buckets per power of two, so percentiles are
+ * within about 3% of the recorded values. Recording is one atomic increment and never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // values below are counted exactly
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+
+    // enough buckets for Long.MAX_VALUE
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximum = new AtomicLong();
+
+    /**
+     * Record a duration.
+     * @param nanos duration in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+
+        counts.incrementAndGet(indexOf(nanos));
+        count.incrementAndGet();
+        total.addAndGet(nanos);
+
+        long current;
+        while (nanos > (current = maximum.get()) && !maximum.compareAndSet(current, nanos)) {
+        }
+    }
+
+    /**
+     * Record the time since start.
+     * @param startNanos System.nanoTime() at the start
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaximum() {
+        return maximum.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) total.get() / n;
+    }
+
+    /**
+     * Get a percentile.
+     * @param percentile 0 to 100
+     * @return highest value of the bucket the percentile falls in, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return Math.min(highestValueOf(i), maximum.get());
+        }
+
+        return maximum.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            counts.set(i, 0);
+        count.set(0);
+        total.set(0);
+        maximum.set(0);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT)
+            return (int) value;
+
+        // keep the SUB_BUCKET_BITS + 1 most significant bits
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT)
+            return index;
+
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        long highest = ((subBucket + 1) << shift) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+    public String toString() {
+        return "count: " + getCount() + ", mean: " + (long) getMean() + "ns, p50: " + getPercentile(50) + "ns, p99: " + getPercentile(99)
+            + "ns, p99.9: " + getPercentile(99.9) + "ns, max: " + getMaximum() + "ns";
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * LiveOptionChain.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+
+/**
+ * Keeps an OptionChain snapshot (from GetOptionSeriesHelper.getOptionSeries(..., OptionChain)) up to date by
+ * applying field updates to the affected rows in place, instead of fetching the chain again.
+ *
+ * Feed it from the content gateway client's update handler (initialize a field list validator with the update's
+ * field data and call onUpdate) or from an OptionUpdateFeed. Updates of the underlying symbol set the chain's
+ * last trade. Listeners are told about rows that actually changed only. Updates must be applied on one thread
+ * at a time, and the chain read on that thread (e.g. from the listeners).
+ */
+public class LiveOptionChain implements OptionUpdateHandler {
+
+    private final String underlyingSymbol;
+    private final OptionChain chain;
+
+    // option symbol -> row
+    private final Map<String, Integer> rows;
+
+    private final List<OptionChainListener> listeners = new CopyOnWriteArrayList<OptionChainListener>();
+
+    private long updateCount;
+    private long changedRowCount;
+    private long unknownSymbolCount;
+
+    /**
+     * @param underlyingSymbol underlying symbol, updates for it carry the last trade
+     * @param chain snapshot of the chain, updated in place from now on
+     */
+    public LiveOptionChain(String underlyingSymbol, OptionChain chain) {
+        this.underlyingSymbol = underlyingSymbol;
+        this.chain = chain;
+
+        this.rows = new HashMap<String, Integer>(chain.size() * 4 / 3 + 1);
+        for (int row = 0; row < chain.size(); row++)
+            rows.put(chain.getSymbol(row), row);
+    }
+
+    public String getUnderlyingSymbol() {
+        return underlyingSymbol;
+    }
+
+    public OptionChain getChain() {
+        return chain;
+    }
+
+    /**
+     * Get the row of an option
+     * @param symbol option symbol
+     * @return row, -1 if the option is not in the chain
+     */
+    public int getRow(String symbol) {
+        Integer row = rows.get(symbol);
+        return row != null ? row : -1;
+    }
+
+    public void addListener(OptionChainListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(OptionChainListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void onUpdate(String symbol, FieldListValidator fieldListValidator) throws MiddlewareException {
+        updateCount++;
+
+        if (symbol.equals(underlyingSymbol)) {
+            long lastTrade = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_TRADE);
+            if (lastTrade != FixedPoint.UNDEFINED && lastTrade != chain.getLastTrade()) {
+                chain.setLastTrade(lastTrade);
+                for (OptionChainListener listener : listeners)
+                    listener.onLastTradeChanged(chain);
+            }
+            return;
+        }
+
+        Integer row = rows.get(symbol);
+        if (row == null) {
+            // not in the snapshot (listed since, or filtered out)
+            unknownSymbolCount++;
+            return;
+        }
+
+        if (chain.update(row, fieldListValidator)) {
+            changedRowCount++;
+            for (OptionChainListener listener : listeners)
+                listener.onRowChanged(chain, row);
+        }
+    }
+
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    public long getChangedRowCount() {
+        return changedRowCount;
+    }
+
+    public long getUnknownSymbolCount() {
+        return unknownSymbolCount;
+    }
+
+    public String toString() {
+        return "LiveOptionChain " + underlyingSymbol + ": " + chain.size() + " options, updates: " + updateCount
+            + ", changed rows: " + changedRowCount + ", unknown symbols: " + unknownSymbolCount;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * LiveOptionSeriesGateway.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * OptionSeriesGateway backed by a connected ContentGatewayClient.
+ */
+public class LiveOptionSeriesGateway implements OptionSeriesGateway {
+
+    private final ContentGatewayClient client;
+
+    public LiveOptionSeriesGateway(ContentGatewayClient client) {
+        if (client == null)
+            throw new IllegalArgumentException("Client should not be null.");
+
+        this.client = client;
+    }
+
+    public ContentGatewayClient getClient() {
+        return client;
+    }
+
+    public StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+        return ContentGatewayClient.getMatch().sendRequest(client, requestParameters, responseParameters);
+    }
+
+    public StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+        return ContentGatewayClient.getPattern().sendRequest(client, requestParameters, responseParameters);
+    }
+}
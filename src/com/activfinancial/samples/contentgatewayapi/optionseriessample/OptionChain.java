@@ -0,0 +1,363 @@
+/**
+ * OptionChain.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Arrays;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+
+/**
+ * Option chain stored column wise in primitive arrays, one row per option. Prices are FixedPoint longs,
+ * dates are DayNumber ints, undefined fields are FixedPoint.UNDEFINED / DayNumber.UNDEFINED / -1.
+ *
+ * Holds a whole chain in a dozen arrays instead of an OptionInfo, a HashMap and the cloned field
+ * types per option. Symbols and exchange codes are kept as SymbolDictionary ids: exchange codes in the shared
+ * SymbolDictionary.EXCHANGES, symbols in the chain's own dictionary, reset by clear(), so a chain holds
+ * the symbols of its options only. Use GetOptionSeriesHelper.getOptionSeries(..., OptionChain) to fill it.
+ * Not thread safe.
+ */
+public class OptionChain {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    // last trade of the underlying, fixed point
+    private long lastTrade = FixedPoint.UNDEFINED;
+
+    private int size;
+
+    // symbols of the rows
+    private SymbolDictionary symbols;
+
+    // ids in symbols and SymbolDictionary.EXCHANGES
+    private int[] symbolIds;
+    private int[] exchangeIds;
+    private long[] strikePrices;
+    private int[] expirationDates;
+    private boolean[] calls;
+    private long[] bids;
+    private long[] asks;
+    private long[] trades;
+    private long[] volumes;
+    private long[] openInterests;
+
+    public OptionChain() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OptionChain(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+        this.symbols = new SymbolDictionary(initialCapacity);
+    }
+
+    /**
+     * Append the option in an initialized field list validator.
+     *
+     * @param symbol option symbol
+     * @param fieldListValidator field list validator initialized with the option's field data
+     * @return row of the new option
+     */
+    public int add(String symbol, FieldListValidator fieldListValidator) throws MiddlewareException {
+        if (size == symbolIds.length)
+            grow();
+
+        int row = size;
+
+        setSymbol(row, symbol);
+        strikePrices[row] = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_STRIKE_PRICE);
+        expirationDates[row] = FieldValues.getDayNumber(fieldListValidator, FieldIds.FID_EXPIRATION_DATE);
+        calls[row] = FieldValues.isCall(fieldListValidator);
+        bids[row] = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_BID);
+        asks[row] = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_ASK);
+        trades[row] = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_TRADE);
+        volumes[row] = FieldValues.getLong(fieldListValidator, FieldIds.FID_CUMULATIVE_VOLUME, -1);
+        openInterests[row] = FieldValues.getLong(fieldListValidator, FieldIds.FID_OPEN_INTEREST, -1);
+
+        size++;
+
+        return row;
+    }
+
+    // append an already decoded option (snapshot reload)
+    int add(String symbol, long strikePrice, int expirationDate, boolean call, long bid, long ask, long trade, long volume, long openInterest) {
+        if (size == symbolIds.length)
+            grow();
+
+        int row = size;
+
+        setSymbol(row, symbol);
+        strikePrices[row] = strikePrice;
+        expirationDates[row] = expirationDate;
+        calls[row] = call;
+        bids[row] = bid;
+        asks[row] = ask;
+        trades[row] = trade;
+        volumes[row] = volume;
+        openInterests[row] = openInterest;
+
+        size++;
+
+        return row;
+    }
+
+    /**
+     * Apply an update to a row. The bid, ask, trade, volume and open interest defined in the update replace
+     * the row's values, the other values are kept.
+     *
+     * @param row row
+     * @param fieldListValidator field list validator initialized with the update's field data
+     * @return true if a value of the row changed
+     */
+    public boolean update(int row, FieldListValidator fieldListValidator) throws MiddlewareException {
+        checkRow(row);
+
+        boolean changed = false;
+
+        long bid = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_BID);
+        if (bid != FixedPoint.UNDEFINED && bid != bids[row]) {
+            bids[row] = bid;
+            changed = true;
+        }
+
+        long ask = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_ASK);
+        if (ask != FixedPoint.UNDEFINED && ask != asks[row]) {
+            asks[row] = ask;
+            changed = true;
+        }
+
+        long trade = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_TRADE);
+        if (trade != FixedPoint.UNDEFINED && trade != trades[row]) {
+            trades[row] = trade;
+            changed = true;
+        }
+
+        long volume = FieldValues.getLong(fieldListValidator, FieldIds.FID_CUMULATIVE_VOLUME, -1);
+        if (volume != -1 && volume != volumes[row]) {
+            volumes[row] = volume;
+            changed = true;
+        }
+
+        long openInterest = FieldValues.getLong(fieldListValidator, FieldIds.FID_OPEN_INTEREST, -1);
+        if (openInterest != -1 && openInterest != openInterests[row]) {
+            openInterests[row] = openInterest;
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Remove all options, keeping the allocated arrays. The symbols of the removed options are dropped, their
+     * ids are not valid any more.
+     */
+    public void clear() {
+        size = 0;
+        lastTrade = FixedPoint.UNDEFINED;
+        symbols = new SymbolDictionary(symbolIds.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get last trade for the underlying
+     * @return last trade, fixed point
+     */
+    public long getLastTrade() {
+        return lastTrade;
+    }
+
+    public void setLastTrade(long lastTrade) {
+        this.lastTrade = lastTrade;
+    }
+
+    public String getSymbol(int row) {
+        return symbols.get(symbolIds[checkRow(row)]);
+    }
+
+    /**
+     * @param row row
+     * @return id of the option symbol in getSymbols()
+     */
+    public int getSymbolId(int row) {
+        return symbolIds[checkRow(row)];
+    }
+
+    /**
+     * @param row row
+     * @return id of the exchange code (after the last '.' of the symbol, may be empty) in SymbolDictionary.EXCHANGES
+     */
+    public int getExchangeId(int row) {
+        return exchangeIds[checkRow(row)];
+    }
+
+    /**
+     * @return dictionary of the option symbols of the chain, until the next clear()
+     */
+    public SymbolDictionary getSymbols() {
+        return symbols;
+    }
+
+    public long getStrikePrice(int row) {
+        return strikePrices[checkRow(row)];
+    }
+
+    public int getExpirationDate(int row) {
+        return expirationDates[checkRow(row)];
+    }
+
+    public boolean isCall(int row) {
+        return calls[checkRow(row)];
+    }
+
+    public long getBid(int row) {
+        return bids[checkRow(row)];
+    }
+
+    public long getAsk(int row) {
+        return asks[checkRow(row)];
+    }
+
+    public long getTrade(int row) {
+        return trades[checkRow(row)];
+    }
+
+    public long getVolume(int row) {
+        return volumes[checkRow(row)];
+    }
+
+    public long getOpenInterest(int row) {
+        return openInterests[checkRow(row)];
+    }
+
+    /**
+     * Is the option in the money, same definition as OptionInfo.
+     * @param row row
+     * @return true if the option is in the money, false if it is not or the last trade is unknown
+     */
+    public boolean isInTheMoney(int row) {
+        long strikePrice = strikePrices[checkRow(row)];
+        if (lastTrade == FixedPoint.UNDEFINED || lastTrade == 0 || strikePrice == FixedPoint.UNDEFINED)
+            return false;
+
+        return calls[row] ? lastTrade > strikePrice : lastTrade < strikePrice;
+    }
+
+    /**
+     * Get a view of a row. The view can be moved to other rows, so one instance can walk the whole chain.
+     *
+     * @param row row
+     * @return view positioned on the row
+     */
+    public Row row(int row) {
+        return new Row().moveTo(row);
+    }
+
+    /**
+     * Lightweight view of one row of the chain.
+     */
+    public class Row {
+        private int row;
+
+        public Row moveTo(int row) {
+            this.row = checkRow(row);
+            return this;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getSymbol() {
+            return symbols.get(symbolIds[row]);
+        }
+
+        public int getSymbolId() {
+            return symbolIds[row];
+        }
+
+        public int getExchangeId() {
+            return exchangeIds[row];
+        }
+
+        public long getStrikePrice() {
+            return strikePrices[row];
+        }
+
+        public int getExpirationDate() {
+            return expirationDates[row];
+        }
+
+        public boolean isCall() {
+            return calls[row];
+        }
+
+        public long getBid() {
+            return bids[row];
+        }
+
+        public long getAsk() {
+            return asks[row];
+        }
+
+        public long getTrade() {
+            return trades[row];
+        }
+
+        public long getVolume() {
+            return volumes[row];
+        }
+
+        public long getOpenInterest() {
+            return openInterests[row];
+        }
+
+        public boolean isInTheMoney() {
+            return OptionChain.this.isInTheMoney(row);
+        }
+    }
+
+    // the row keeps ids, the exchange strings are shared by every chain
+    private void setSymbol(int row, String symbol) {
+        symbolIds[row] = symbols.intern(symbol);
+        exchangeIds[row] = SymbolDictionary.EXCHANGES.intern(symbol, symbol.lastIndexOf('.') + 1, symbol.length());
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row " + row + ", size " + size);
+        return row;
+    }
+
+    private void allocate(int capacity) {
+        symbolIds = new int[capacity];
+        exchangeIds = new int[capacity];
+        strikePrices = new long[capacity];
+        expirationDates = new int[capacity];
+        calls = new boolean[capacity];
+        bids = new long[capacity];
+        asks = new long[capacity];
+        trades = new long[capacity];
+        volumes = new long[capacity];
+        openInterests = new long[capacity];
+    }
+
+    private void grow() {
+        int capacity = symbolIds.length + (symbolIds.length >> 1) + 1;
+
+        symbolIds = Arrays.copyOf(symbolIds, capacity);
+        exchangeIds = Arrays.copyOf(exchangeIds, capacity);
+        strikePrices = Arrays.copyOf(strikePrices, capacity);
+        expirationDates = Arrays.copyOf(expirationDates, capacity);
+        calls = Arrays.copyOf(calls, capacity);
+        bids = Arrays.copyOf(bids, capacity);
+        asks = Arrays.copyOf(asks, capacity);
+        trades = Arrays.copyOf(trades, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+        openInterests = Arrays.copyOf(openInterests, capacity);
+    }
+}
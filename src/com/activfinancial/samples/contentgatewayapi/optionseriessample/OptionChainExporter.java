@@ -0,0 +1,396 @@
+/**
+ * OptionChainExporter.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams option chains to a channel as CSV or as binary rows, through one reused direct buffer.
+ *
+ * Values are encoded straight from the OptionChain columns into the buffer, so a row creates no objects:
+ * no OptionInfo, no StringBuilder, no field name lookups. The columns are always, in order:
+ * <pre>
+ * underlying, symbol, expiration date, strike price, call/put, bid, ask, trade, volume, open interest
+ * </pre>
+ * CSV has a header line; dates are yyyy-mm-dd, prices decimals, call/put C or P, undefined values empty.
+ *
+ * Binary, big endian like OptionChainSnapshot, strings as an unsigned short UTF-8 length and the bytes:
+ * <pre>
+ * header  magic, version
+ * chain   1, underlying symbol, last trade, row count, then row count rows
+ * row     symbol, strike price, expiration date, call (1) / put (0), bid, ask, trade, volume, open interest
+ * end     0
+ * </pre>
+ * Prices are FixedPoint longs, dates DayNumber ints, volume and open interest longs (-1 undefined).
+ * Not thread safe.
+ */
+public class OptionChainExporter implements Closeable {
+
+    public enum Format {
+        CSV,
+        BINARY
+    }
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4F434558; // "OCEX"
+
+    private static final byte RECORD_END = 0;
+    private static final byte RECORD_CHAIN = 1;
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // largest row apart from its strings: 10 fields of at most 21 characters and their separators
+    private static final int ROW_SIZE = 256;
+
+    private static final byte[] CSV_HEADER = "underlying,symbol,expiration_date,strike_price,call_put,bid,ask,trade,volume,open_interest\n".getBytes();
+
+    private final WritableByteChannel channel;
+    private final Format format;
+    private final ByteBuffer buffer;
+
+    // digits of a number, written from the end
+    private final byte[] digits = new byte[20];
+
+    private boolean headerWritten;
+    private long rowCount;
+    private long bytesWritten;
+
+    /**
+     * @param channel channel written to, closed by close()
+     * @param format format
+     */
+    public OptionChainExporter(WritableByteChannel channel, Format format) {
+        this(channel, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param channel channel written to, closed by close()
+     * @param format format
+     * @param bufferSize size of the buffer, at least 4KB
+     */
+    public OptionChainExporter(WritableByteChannel channel, Format format, int bufferSize) {
+        if (bufferSize < 4096)
+            throw new IllegalArgumentException("Buffer size should be at least 4096.");
+
+        this.channel = channel;
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Export to a file, replacing it.
+     *
+     * @param path file
+     * @param format format
+     * @return exporter
+     * @throws IOException opening the file failed
+     */
+    static public OptionChainExporter open(Path path, Format format) throws IOException {
+        return new OptionChainExporter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), format);
+    }
+
+    /**
+     * Write the rows of a chain.
+     *
+     * @param underlyingSymbol symbol of the underlying
+     * @param chain chain
+     * @throws IOException writing to the channel failed
+     */
+    public void write(String underlyingSymbol, OptionChain chain) throws IOException {
+        writeHeader();
+
+        int size = chain.size();
+
+        if (format == Format.BINARY) {
+            ensure(1 + stringSize(underlyingSymbol) + 12);
+            buffer.put(RECORD_CHAIN);
+            putString(underlyingSymbol);
+            buffer.putLong(chain.getLastTrade());
+            buffer.putInt(size);
+        }
+
+        for (int row = 0; row < size; row++) {
+            String symbol = chain.getSymbol(row);
+
+            if (format == Format.CSV) {
+                ensure(csvSize(underlyingSymbol) + csvSize(symbol) + ROW_SIZE);
+
+                putCsv(underlyingSymbol);
+                buffer.put((byte) ',');
+                putCsv(symbol);
+                buffer.put((byte) ',');
+                putDate(chain.getExpirationDate(row));
+                buffer.put((byte) ',');
+                putFixedPoint(chain.getStrikePrice(row));
+                buffer.put((byte) ',');
+                buffer.put((byte) (chain.isCall(row) ? 'C' : 'P'));
+                buffer.put((byte) ',');
+                putFixedPoint(chain.getBid(row));
+                buffer.put((byte) ',');
+                putFixedPoint(chain.getAsk(row));
+                buffer.put((byte) ',');
+                putFixedPoint(chain.getTrade(row));
+                buffer.put((byte) ',');
+                putCount(chain.getVolume(row));
+                buffer.put((byte) ',');
+                putCount(chain.getOpenInterest(row));
+                buffer.put((byte) '\n');
+            }
+            else {
+                ensure(stringSize(symbol) + ROW_SIZE);
+
+                putString(symbol);
+                buffer.putLong(chain.getStrikePrice(row));
+                buffer.putInt(chain.getExpirationDate(row));
+                buffer.put((byte) (chain.isCall(row) ? 1 : 0));
+                buffer.putLong(chain.getBid(row));
+                buffer.putLong(chain.getAsk(row));
+                buffer.putLong(chain.getTrade(row));
+                buffer.putLong(chain.getVolume(row));
+                buffer.putLong(chain.getOpenInterest(row));
+            }
+        }
+
+        rowCount += size;
+    }
+
+    /**
+     * Write what is buffered to the channel.
+     * @throws IOException writing to the channel failed
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            bytesWritten += channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Finish the export (the binary end record), flush and close the channel.
+     * @throws IOException writing to the channel failed
+     */
+    public void close() throws IOException {
+        try {
+            writeHeader();
+            if (format == Format.BINARY) {
+                ensure(1);
+                buffer.put(RECORD_END);
+            }
+            flush();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * @return rows written
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return bytes written to the channel, not counting the ones still buffered
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void writeHeader() throws IOException {
+        if (headerWritten)
+            return;
+        headerWritten = true;
+
+        if (format == Format.CSV) {
+            buffer.put(CSV_HEADER);
+        }
+        else {
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+        }
+    }
+
+    // make room for size bytes
+    private void ensure(int size) throws IOException {
+        if (buffer.remaining() < size)
+            flush();
+        if (buffer.remaining() < size)
+            throw new IOException("Row of " + size + " bytes larger than the buffer.");
+    }
+
+    // yyyy-mm-dd of a DayNumber (civil from days), empty if undefined
+    private void putDate(int dayNumber) {
+        if (dayNumber == DayNumber.UNDEFINED)
+            return;
+
+        int z = dayNumber + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        int month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        putDigits(year, 4);
+        buffer.put((byte) '-');
+        putDigits(month, 2);
+        buffer.put((byte) '-');
+        putDigits(day, 2);
+    }
+
+    // decimal of a FixedPoint without trailing zeros, empty if undefined
+    private void putFixedPoint(long value) {
+        if (value == FixedPoint.UNDEFINED)
+            return;
+
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+
+        putLong(value / FixedPoint.SCALE);
+
+        long fraction = value % FixedPoint.SCALE;
+        if (fraction == 0)
+            return;
+
+        int decimals = 6;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            decimals--;
+        }
+
+        buffer.put((byte) '.');
+        putDigits(fraction, decimals);
+    }
+
+    // volume, open interest, empty if undefined
+    private void putCount(long value) {
+        if (value < 0)
+            return;
+
+        putLong(value);
+    }
+
+    private void putLong(long value) {
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    // value zero padded to width digits
+    private void putDigits(long value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+
+        buffer.put(digits, 0, width);
+    }
+
+    // CSV field, quoted if it holds a separator or a quote
+    private void putCsv(String value) {
+        if (value == null)
+            return;
+
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quote) {
+            putUtf8(value);
+            return;
+        }
+
+        buffer.put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"')
+                buffer.put((byte) '"');
+            putUtf8(c);
+        }
+        buffer.put((byte) '"');
+    }
+
+    // worst case size of a CSV field
+    private static int csvSize(String value) {
+        return value != null ? 2 + 2 * utf8Length(value) : 0;
+    }
+
+    // length prefixed UTF-8, null as empty
+    private void putString(String value) {
+        if (value == null) {
+            buffer.putShort((short) 0);
+            return;
+        }
+
+        buffer.putShort((short) utf8Length(value));
+        putUtf8(value);
+    }
+
+    private static int stringSize(String value) {
+        int length = value != null ? utf8Length(value) : 0;
+        if (length > 0xFFFF)
+            throw new IllegalArgumentException("String of " + length + " bytes too long to export.");
+        return 2 + length;
+    }
+
+    private void putUtf8(String value) {
+        for (int i = 0; i < value.length(); i++)
+            putUtf8(value.charAt(i));
+    }
+
+    // symbols are ASCII, the other cases keep the output valid UTF-8 (unpaired surrogates as '?')
+    private void putUtf8(char c) {
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        }
+        else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        }
+        else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        }
+        else {
+            buffer.put((byte) (0xE0 | c >> 12));
+            buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c < 0x80 || Character.isSurrogate(c) ? 1 : c < 0x800 ? 2 : 3;
+        }
+        return length;
+    }
+
+    public String toString() {
+        return "OptionChainExporter " + format + ", " + rowCount + " rows, " + bytesWritten + " bytes written";
+    }
+}
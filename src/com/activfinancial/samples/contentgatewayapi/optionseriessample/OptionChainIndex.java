@@ -0,0 +1,361 @@
+/**
+ * OptionChainIndex.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.activfinancial.samples.contentgatewayapi.optionseriessample.OptionSeriesFilter.CallPutEnum;
+
+/**
+ * Sorted index over a fetched chain (an OptionChain or a list of OptionInfo), built once, for the small
+ * queries run over the same chain: the options of an expiration, a strike range, the call/put pair of a strike,
+ * one exchange. The options are sorted by expiration date, strike price, call before put and exchange (as its
+ * SymbolDictionary.EXCHANGES id, compared as an int), so each query is a binary search to the first match
+ * followed by a walk over the matches only.
+ *
+ * Queries return the rows of the options in the source (row of the OptionChain, index of the list), in index
+ * order. The index does not follow later changes to the source's membership; prices updated in place are fine.
+ */
+public class OptionChainIndex {
+
+    // exchange filter matching every exchange
+    private static final int ANY_EXCHANGE = -2;
+
+    private final int size;
+
+    // sorted position -> row of the source
+    private final int[] rows;
+
+    // keys by sorted position
+    private final int[] expirationDates;
+    private final long[] strikePrices;
+    private final boolean[] calls;
+    private final int[] exchangeIds;
+
+    // distinct expiration dates, and the sorted positions [start[i], start[i + 1]) of each
+    private final int[] distinctExpirationDates;
+    private final int[] expirationStarts;
+
+    private OptionChainIndex(int size, int[] sourceExpirationDates, long[] sourceStrikePrices, boolean[] sourceCalls, int[] sourceExchangeIds) {
+        this.size = size;
+
+        // rows by expiration, strike, call before put and exchange: stable counting sorts on the ranks of the keys,
+        // least significant key first
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+
+        int[] putKeys = new int[size];
+        for (int i = 0; i < size; i++)
+            putKeys[i] = sourceCalls[i] ? 0 : 1;
+
+        order = sortByKey(order, rank(sourceExchangeIds), size);
+        order = sortByKey(order, putKeys, 2);
+        order = sortByKey(order, rank(sourceStrikePrices), size);
+        order = sortByKey(order, rank(sourceExpirationDates), size);
+
+        this.rows = new int[size];
+        this.expirationDates = new int[size];
+        this.strikePrices = new long[size];
+        this.calls = new boolean[size];
+        this.exchangeIds = new int[size];
+
+        int expirationCount = 0;
+        for (int i = 0; i < size; i++) {
+            int row = order[i];
+            rows[i] = row;
+            expirationDates[i] = sourceExpirationDates[row];
+            strikePrices[i] = sourceStrikePrices[row];
+            calls[i] = sourceCalls[row];
+            exchangeIds[i] = sourceExchangeIds[row];
+
+            if (i == 0 || expirationDates[i] != expirationDates[i - 1])
+                expirationCount++;
+        }
+
+        this.distinctExpirationDates = new int[expirationCount];
+        this.expirationStarts = new int[expirationCount + 1];
+        for (int i = 0, e = 0; i < size; i++) {
+            if (i == 0 || expirationDates[i] != expirationDates[i - 1]) {
+                distinctExpirationDates[e] = expirationDates[i];
+                expirationStarts[e++] = i;
+            }
+        }
+        expirationStarts[expirationCount] = size;
+    }
+
+    // rows ordered by key, stable; keys are in [0, keyCount)
+    private static int[] sortByKey(int[] order, int[] keys, int keyCount) {
+        int[] starts = new int[keyCount + 1];
+        for (int row : order)
+            starts[keys[row] + 1]++;
+        for (int key = 0; key < keyCount; key++)
+            starts[key + 1] += starts[key];
+
+        int[] sorted = new int[order.length];
+        for (int row : order)
+            sorted[starts[keys[row]]++] = row;
+        return sorted;
+    }
+
+    // rank of each value among the distinct values, in [0, values.length)
+    private static int[] rank(long[] values) {
+        long[] distinct = values.clone();
+        Arrays.sort(distinct);
+
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (count == 0 || distinct[i] != distinct[count - 1])
+                distinct[count++] = distinct[i];
+        }
+
+        int[] ranks = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, values[i]);
+        return ranks;
+    }
+
+    private static int[] rank(int[] values) {
+        int[] distinct = values.clone();
+        Arrays.sort(distinct);
+
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (count == 0 || distinct[i] != distinct[count - 1])
+                distinct[count++] = distinct[i];
+        }
+
+        int[] ranks = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, values[i]);
+        return ranks;
+    }
+
+    /**
+     * Index the rows of a chain.
+     * @param chain chain
+     * @return index, rows are rows of the chain
+     */
+    static public OptionChainIndex of(OptionChain chain) {
+        int size = chain.size();
+        int[] expirationDates = new int[size];
+        long[] strikePrices = new long[size];
+        boolean[] calls = new boolean[size];
+        int[] exchangeIds = new int[size];
+
+        for (int row = 0; row < size; row++) {
+            expirationDates[row] = chain.getExpirationDate(row);
+            strikePrices[row] = chain.getStrikePrice(row);
+            calls[row] = chain.isCall(row);
+            exchangeIds[row] = chain.getExchangeId(row);
+        }
+
+        return new OptionChainIndex(size, expirationDates, strikePrices, calls, exchangeIds);
+    }
+
+    /**
+     * Index a list of options.
+     * @param options options
+     * @return index, rows are indexes of the list
+     */
+    static public OptionChainIndex of(List<OptionInfo> options) {
+        int size = options.size();
+        int[] expirationDates = new int[size];
+        long[] strikePrices = new long[size];
+        boolean[] calls = new boolean[size];
+        int[] exchangeIds = new int[size];
+
+        for (int row = 0; row < size; row++) {
+            OptionInfo optionInfo = options.get(row);
+            expirationDates[row] = optionInfo.getExpirationDate() != null ? DayNumber.fromDate(optionInfo.getExpirationDate()) : DayNumber.UNDEFINED;
+            strikePrices[row] = optionInfo.getStrikePrice() != null ? FixedPoint.fromRational(optionInfo.getStrikePrice()) : FixedPoint.UNDEFINED;
+            calls[row] = optionInfo.isCall();
+            exchangeIds[row] = getExchangeId(optionInfo.getSymbol());
+        }
+
+        return new OptionChainIndex(size, expirationDates, strikePrices, calls, exchangeIds);
+    }
+
+    // alias symbols are root/expiration/strike.exchange, same id as OptionChain.getExchangeId
+    private static int getExchangeId(String symbol) {
+        if (symbol == null)
+            return SymbolDictionary.EXCHANGES.intern("");
+
+        return SymbolDictionary.EXCHANGES.intern(symbol, symbol.lastIndexOf('.') + 1, symbol.length());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return distinct expiration dates (DayNumber), ascending
+     */
+    public int[] getExpirationDates() {
+        return distinctExpirationDates.clone();
+    }
+
+    public int getExpirationCount() {
+        return distinctExpirationDates.length;
+    }
+
+    /**
+     * Get the position of an expiration among the distinct expirations.
+     * @param expirationDate expiration date (DayNumber)
+     * @return index of the expiration, -1 if no option expires then
+     */
+    public int getExpirationIndex(int expirationDate) {
+        int i = Arrays.binarySearch(distinctExpirationDates, expirationDate);
+        return i >= 0 ? i : -1;
+    }
+
+    /**
+     * @param expirationIndex index of the expiration
+     * @return distinct strike prices (FixedPoint) of the expiration, ascending
+     */
+    public long[] getStrikePrices(int expirationIndex) {
+        int from = expirationStarts[expirationIndex], to = expirationStarts[expirationIndex + 1];
+        long[] result = new long[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (count == 0 || strikePrices[i] != result[count - 1])
+                result[count++] = strikePrices[i];
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Find one option.
+     *
+     * @param expirationDate expiration date (DayNumber)
+     * @param strikePrice strike price (FixedPoint)
+     * @param call true for the call
+     * @param exchange exchange code
+     * @return row of the option, -1 if not found
+     */
+    public int find(int expirationDate, long strikePrice, boolean call, String exchange) {
+        int expirationIndex = getExpirationIndex(expirationDate);
+        int exchangeId = SymbolDictionary.EXCHANGES.find(exchange);
+        if (expirationIndex == -1 || exchangeId == SymbolDictionary.NOT_FOUND)
+            return -1;
+
+        int to = expirationStarts[expirationIndex + 1];
+        for (int i = lowerBoundStrikePrice(expirationIndex, strikePrice); i < to && strikePrices[i] == strikePrice; i++) {
+            if (calls[i] == call && exchangeIds[i] == exchangeId)
+                return rows[i];
+        }
+        return -1;
+    }
+
+    /**
+     * Find the call and the put of a strike.
+     *
+     * @param expirationDate expiration date (DayNumber)
+     * @param strikePrice strike price (FixedPoint)
+     * @param exchange exchange code
+     * @return rows of the call and of the put, -1 for the one not found
+     */
+    public int[] findPair(int expirationDate, long strikePrice, String exchange) {
+        return new int[] { find(expirationDate, strikePrice, true, exchange), find(expirationDate, strikePrice, false, exchange) };
+    }
+
+    /**
+     * Select the options of an expiration.
+     *
+     * @param expirationIndex index of the expiration, e.g. 2 for the third expiration
+     * @param lowStrike lowest strike price (FixedPoint) inclusive, FixedPoint.UNDEFINED for no lower limit
+     * @param highStrike highest strike price (FixedPoint) inclusive, FixedPoint.UNDEFINED for no upper limit
+     * @param callPut calls, puts or both
+     * @param exchange exchange code, null for every exchange
+     * @return rows of the options
+     */
+    public int[] select(int expirationIndex, long lowStrike, long highStrike, CallPutEnum callPut, String exchange) {
+        int exchangeId = getExchangeFilter(exchange);
+        if (expirationIndex < 0 || expirationIndex >= distinctExpirationDates.length || exchangeId == SymbolDictionary.NOT_FOUND)
+            return new int[0];
+
+        int[] result = new int[expirationStarts[expirationIndex + 1] - expirationStarts[expirationIndex]];
+        int count = collect(expirationIndex, lowStrike, highStrike, callPut, exchangeId, result, 0);
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Select the options of every expiration in a date and strike range.
+     *
+     * @param fromExpirationDate first expiration date (DayNumber) inclusive, DayNumber.UNDEFINED for no limit
+     * @param toExpirationDate last expiration date (DayNumber) inclusive, DayNumber.UNDEFINED for no limit
+     * @param lowStrike lowest strike price (FixedPoint) inclusive, FixedPoint.UNDEFINED for no lower limit
+     * @param highStrike highest strike price (FixedPoint) inclusive, FixedPoint.UNDEFINED for no upper limit
+     * @param callPut calls, puts or both
+     * @param exchange exchange code, null for every exchange
+     * @return rows of the options, by expiration then strike
+     */
+    public int[] select(int fromExpirationDate, int toExpirationDate, long lowStrike, long highStrike, CallPutEnum callPut, String exchange) {
+        int fromIndex = fromExpirationDate == DayNumber.UNDEFINED ? 0 : lowerBoundExpirationDate(fromExpirationDate);
+        int toIndex = toExpirationDate == DayNumber.UNDEFINED ? distinctExpirationDates.length : lowerBoundExpirationDate(toExpirationDate + 1);
+        int exchangeId = getExchangeFilter(exchange);
+        if (fromIndex >= toIndex || exchangeId == SymbolDictionary.NOT_FOUND)
+            return new int[0];
+
+        int[] result = new int[expirationStarts[toIndex] - expirationStarts[fromIndex]];
+        int count = 0;
+        for (int expirationIndex = fromIndex; expirationIndex < toIndex; expirationIndex++)
+            count = collect(expirationIndex, lowStrike, highStrike, callPut, exchangeId, result, count);
+        return Arrays.copyOf(result, count);
+    }
+
+    // id of an exchange code to select, ANY_EXCHANGE for null, NOT_FOUND if no option has it
+    private static int getExchangeFilter(String exchange) {
+        return exchange == null ? ANY_EXCHANGE : SymbolDictionary.EXCHANGES.find(exchange);
+    }
+
+    // append the matching rows of one expiration
+    private int collect(int expirationIndex, long lowStrike, long highStrike, CallPutEnum callPut, int exchangeId, int[] result, int count) {
+        int from = lowStrike == FixedPoint.UNDEFINED ? expirationStarts[expirationIndex] : lowerBoundStrikePrice(expirationIndex, lowStrike);
+        int to = expirationStarts[expirationIndex + 1];
+
+        for (int i = from; i < to; i++) {
+            if (highStrike != FixedPoint.UNDEFINED && strikePrices[i] > highStrike)
+                break;
+            if (callPut == CallPutEnum.CALL && !calls[i] || callPut == CallPutEnum.PUT && calls[i])
+                continue;
+            if (exchangeId != ANY_EXCHANGE && exchangeIds[i] != exchangeId)
+                continue;
+            result[count++] = rows[i];
+        }
+        return count;
+    }
+
+    // first expiration index with a date >= expirationDate
+    private int lowerBoundExpirationDate(int expirationDate) {
+        int low = 0, high = distinctExpirationDates.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (distinctExpirationDates[middle] < expirationDate)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    // first sorted position of the expiration with a strike >= strikePrice
+    private int lowerBoundStrikePrice(int expirationIndex, long strikePrice) {
+        int low = expirationStarts[expirationIndex], high = expirationStarts[expirationIndex + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (strikePrices[middle] < strikePrice)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    public String toString() {
+        return "OptionChainIndex " + size + " options, " + distinctExpirationDates.length + " expirations";
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * OptionChainListener.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+/**
+ * Notified of the changes a LiveOptionChain applies, on the thread the update was applied on.
+ */
+public interface OptionChainListener {
+
+    /**
+     * A value of a row changed.
+     *
+     * @param chain chain
+     * @param row row
+     */
+    void onRowChanged(OptionChain chain, int row);
+
+    /**
+     * The last trade of the underlying changed, so may have the in the money flag of any row.
+     *
+     * @param chain chain
+     */
+    void onLastTradeChanged(OptionChain chain);
+}
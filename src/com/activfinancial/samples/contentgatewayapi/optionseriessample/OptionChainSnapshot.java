@@ -0,0 +1,472 @@
+/**
+ * OptionChainSnapshot.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.activfinancial.middleware.activbase.MiddlewareException;
+
+/**
+ * Versioned binary file of option chains and their option roots, read back through a memory mapped buffer.
+ *
+ * Rows are fixed size records read in place by the getters, so opening a snapshot creates objects per chain
+ * (the directory) but not per option; strings are only created when getSymbol is called. Use it to serve the
+ * last known chains right after a restart, warm a RootMetadataCache and copy chains into OptionChain
+ * instances (e.g. for a LiveOptionChain) while the chains are fetched again in the background.
+ *
+ * Layout, all values big endian:
+ * <pre>
+ * header     magic, version, created millis, chain count, reserved, string table offset
+ * directory  per chain: underlying symbol, last trade, row count, root count, rows offset, roots offset
+ * rows       per option: symbol, strike price, expiration date, call, bid, ask, trade, volume, open interest
+ * roots      per root: root symbol, strike count, expiration count, strike prices, expiration dates
+ * strings    UTF-8 bytes of every symbol
+ * </pre>
+ * Prices are FixedPoint, dates DayNumber, strings (offset, length) into the string table. Files are limited to
+ * 2GB, the size of one mapped buffer.
+ */
+public class OptionChainSnapshot {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4F43534E; // "OCSN"
+
+    private static final int HEADER_SIZE = 32;
+    private static final int DIRECTORY_ENTRY_SIZE = 40;
+    private static final int ROW_SIZE = 64;
+
+    // row field offsets
+    private static final int ROW_SYMBOL = 0;
+    private static final int ROW_STRIKE_PRICE = 8;
+    private static final int ROW_EXPIRATION_DATE = 16;
+    private static final int ROW_CALL = 20;
+    private static final int ROW_BID = 24;
+    private static final int ROW_ASK = 32;
+    private static final int ROW_TRADE = 40;
+    private static final int ROW_VOLUME = 48;
+    private static final int ROW_OPEN_INTEREST = 56;
+
+    private final ByteBuffer buffer;
+    private final long createdMillis;
+    private final int chainCount;
+    private final int stringTableOffset;
+
+    // underlying symbol -> chain index
+    private final Map<String, Integer> chains;
+
+    private OptionChainSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not an option chain snapshot.");
+
+        int version = buffer.getInt(4);
+        if (version != VERSION)
+            throw new IOException("Unsupported option chain snapshot version " + version + ", expected " + VERSION + ".");
+
+        this.createdMillis = buffer.getLong(8);
+        this.chainCount = buffer.getInt(16);
+
+        long stringTableOffset = buffer.getLong(24);
+        if (chainCount < 0 || stringTableOffset < HEADER_SIZE + (long) chainCount * DIRECTORY_ENTRY_SIZE || stringTableOffset > buffer.capacity())
+            throw new IOException("Corrupt option chain snapshot: " + chainCount + " chains, string table at " + stringTableOffset + ", " + buffer.capacity() + " bytes.");
+        this.stringTableOffset = (int) stringTableOffset;
+
+        validate();
+
+        this.chains = new HashMap<String, Integer>(chainCount * 4 / 3 + 1);
+        for (int chain = 0; chain < chainCount; chain++)
+            chains.put(getUnderlyingSymbol(chain), chain);
+    }
+
+    /**
+     * Map a snapshot file.
+     *
+     * @param path snapshot file
+     * @return snapshot
+     * @throws IOException if the file cannot be mapped, is not a snapshot of this version, or is truncated or
+     * corrupt
+     */
+    public static OptionChainSnapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Option chain snapshot too large: " + channel.size() + " bytes.");
+
+            // stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new OptionChainSnapshot(buffer);
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Write chains and their option roots to a snapshot file. The file is written next to path and moved
+     * over it when complete, so a crash never leaves a partial snapshot behind.
+     *
+     * @param path snapshot file
+     * @param chains underlying symbol -> chain, written in iteration order
+     * @param optionRoots underlying symbol -> option roots, may be null or miss underlyings
+     */
+    public static void write(Path path, Map<String, OptionChain> chains, Map<String, List<OptionRootMetadata>> optionRoots) throws IOException {
+        StringTable strings = new StringTable();
+
+        // sizes of the sections
+        long rowsSize = 0, rootsSize = 0;
+        for (Map.Entry<String, OptionChain> entry : chains.entrySet()) {
+            rowsSize += (long) entry.getValue().size() * ROW_SIZE;
+            for (OptionRootMetadata optionRoot : getOptionRoots(optionRoots, entry.getKey()))
+                rootsSize += rootSize(optionRoot);
+        }
+
+        long directoryOffset = HEADER_SIZE;
+        long rowsOffset = directoryOffset + (long) chains.size() * DIRECTORY_ENTRY_SIZE;
+        long rootsOffset = rowsOffset + rowsSize;
+        long stringsOffset = rootsOffset + rootsSize;
+
+        if (stringsOffset > Integer.MAX_VALUE)
+            throw new IOException("Option chain snapshot too large: " + stringsOffset + " bytes before the strings.");
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) stringsOffset);
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, System.currentTimeMillis());
+        buffer.putInt(16, chains.size());
+
+        int chainIndex = 0;
+        int rowPosition = (int) rowsOffset;
+        int rootPosition = (int) rootsOffset;
+
+        for (Map.Entry<String, OptionChain> entry : chains.entrySet()) {
+            OptionChain chain = entry.getValue();
+            List<OptionRootMetadata> roots = getOptionRoots(optionRoots, entry.getKey());
+
+            int directoryPosition = (int) directoryOffset + chainIndex * DIRECTORY_ENTRY_SIZE;
+            strings.put(buffer, directoryPosition, entry.getKey());
+            buffer.putLong(directoryPosition + 8, chain.getLastTrade());
+            buffer.putInt(directoryPosition + 16, chain.size());
+            buffer.putInt(directoryPosition + 20, roots.size());
+            buffer.putLong(directoryPosition + 24, rowPosition);
+            buffer.putLong(directoryPosition + 32, rootPosition);
+
+            for (int row = 0; row < chain.size(); row++, rowPosition += ROW_SIZE) {
+                strings.put(buffer, rowPosition + ROW_SYMBOL, chain.getSymbol(row));
+                buffer.putLong(rowPosition + ROW_STRIKE_PRICE, chain.getStrikePrice(row));
+                buffer.putInt(rowPosition + ROW_EXPIRATION_DATE, chain.getExpirationDate(row));
+                buffer.put(rowPosition + ROW_CALL, (byte) (chain.isCall(row) ? 1 : 0));
+                buffer.putLong(rowPosition + ROW_BID, chain.getBid(row));
+                buffer.putLong(rowPosition + ROW_ASK, chain.getAsk(row));
+                buffer.putLong(rowPosition + ROW_TRADE, chain.getTrade(row));
+                buffer.putLong(rowPosition + ROW_VOLUME, chain.getVolume(row));
+                buffer.putLong(rowPosition + ROW_OPEN_INTEREST, chain.getOpenInterest(row));
+            }
+
+            for (OptionRootMetadata optionRoot : roots) {
+                int strikeCount = optionRoot.getStrikePrices().size();
+                int expirationCount = optionRoot.getExpirationDates().size();
+
+                strings.put(buffer, rootPosition, optionRoot.getRootSymbol());
+                buffer.putInt(rootPosition + 8, strikeCount);
+                buffer.putInt(rootPosition + 12, expirationCount);
+
+                int position = rootPosition + 16;
+                for (int i = 0; i < strikeCount; i++, position += 8)
+                    buffer.putLong(position, optionRoot.getStrikePriceFixed(i));
+                for (int i = 0; i < expirationCount; i++, position += 4)
+                    buffer.putInt(position, optionRoot.getExpirationDayNumber(i));
+
+                rootPosition += rootSize(optionRoot);
+            }
+
+            chainIndex++;
+        }
+
+        buffer.putLong(24, stringsOffset);
+
+        ByteBuffer stringBuffer = strings.toByteBuffer();
+        if (stringsOffset + stringBuffer.remaining() > Integer.MAX_VALUE)
+            throw new IOException("Option chain snapshot too large: " + (stringsOffset + stringBuffer.remaining()) + " bytes.");
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            buffer.position(0);
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+
+            while (stringBuffer.hasRemaining())
+                channel.write(stringBuffer);
+
+            channel.force(true);
+        }
+        finally {
+            channel.close();
+        }
+
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public int getChainCount() {
+        return chainCount;
+    }
+
+    /**
+     * Get the index of an underlying's chain
+     * @param underlyingSymbol underlying symbol
+     * @return chain index, -1 if the underlying is not in the snapshot
+     */
+    public int findChain(String underlyingSymbol) {
+        Integer chain = chains.get(underlyingSymbol);
+        return chain != null ? chain : -1;
+    }
+
+    public String getUnderlyingSymbol(int chain) {
+        return getString(directoryPosition(chain));
+    }
+
+    public long getLastTrade(int chain) {
+        return buffer.getLong(directoryPosition(chain) + 8);
+    }
+
+    public int getRowCount(int chain) {
+        return buffer.getInt(directoryPosition(chain) + 16);
+    }
+
+    public String getSymbol(int chain, int row) {
+        return getString(rowPosition(chain, row) + ROW_SYMBOL);
+    }
+
+    public long getStrikePrice(int chain, int row) {
+        return buffer.getLong(rowPosition(chain, row) + ROW_STRIKE_PRICE);
+    }
+
+    public int getExpirationDate(int chain, int row) {
+        return buffer.getInt(rowPosition(chain, row) + ROW_EXPIRATION_DATE);
+    }
+
+    public boolean isCall(int chain, int row) {
+        return buffer.get(rowPosition(chain, row) + ROW_CALL) != 0;
+    }
+
+    public long getBid(int chain, int row) {
+        return buffer.getLong(rowPosition(chain, row) + ROW_BID);
+    }
+
+    public long getAsk(int chain, int row) {
+        return buffer.getLong(rowPosition(chain, row) + ROW_ASK);
+    }
+
+    public long getTrade(int chain, int row) {
+        return buffer.getLong(rowPosition(chain, row) + ROW_TRADE);
+    }
+
+    public long getVolume(int chain, int row) {
+        return buffer.getLong(rowPosition(chain, row) + ROW_VOLUME);
+    }
+
+    public long getOpenInterest(int chain, int row) {
+        return buffer.getLong(rowPosition(chain, row) + ROW_OPEN_INTEREST);
+    }
+
+    /**
+     * Copy a chain of the snapshot into an OptionChain.
+     *
+     * @param chain chain index
+     * @return chain
+     */
+    public OptionChain toOptionChain(int chain) {
+        int rowCount = getRowCount(chain);
+        OptionChain optionChain = new OptionChain(rowCount);
+        optionChain.setLastTrade(getLastTrade(chain));
+
+        for (int row = 0; row < rowCount; row++) {
+            int position = rowPosition(chain, row);
+            optionChain.add(getString(position + ROW_SYMBOL), buffer.getLong(position + ROW_STRIKE_PRICE), buffer.getInt(position + ROW_EXPIRATION_DATE),
+                buffer.get(position + ROW_CALL) != 0, buffer.getLong(position + ROW_BID), buffer.getLong(position + ROW_ASK), buffer.getLong(position + ROW_TRADE),
+                buffer.getLong(position + ROW_VOLUME), buffer.getLong(position + ROW_OPEN_INTEREST));
+        }
+
+        return optionChain;
+    }
+
+    /**
+     * Decode the option roots of a chain.
+     *
+     * @param chain chain index
+     * @return option roots
+     */
+    public List<OptionRootMetadata> getOptionRoots(int chain) throws MiddlewareException {
+        int rootCount = buffer.getInt(directoryPosition(chain) + 20);
+        int position = (int) buffer.getLong(directoryPosition(chain) + 32);
+
+        List<OptionRootMetadata> optionRoots = new ArrayList<OptionRootMetadata>(rootCount);
+        for (int root = 0; root < rootCount; root++) {
+            String rootSymbol = getString(position);
+            long[] strikePrices = new long[buffer.getInt(position + 8)];
+            int[] expirationDates = new int[buffer.getInt(position + 12)];
+
+            int p = position + 16;
+            for (int i = 0; i < strikePrices.length; i++, p += 8)
+                strikePrices[i] = buffer.getLong(p);
+            for (int i = 0; i < expirationDates.length; i++, p += 4)
+                expirationDates[i] = buffer.getInt(p);
+
+            optionRoots.add(OptionRootMetadata.of(rootSymbol, strikePrices, expirationDates));
+            position += align(16 + strikePrices.length * 8 + expirationDates.length * 4);
+        }
+
+        return optionRoots;
+    }
+
+    /**
+     * Put the option roots of every chain into a cache, so the first getOptionSeries calls skip the root request.
+     *
+     * @param rootMetadataCache cache
+     * @return number of chains whose roots were cached
+     */
+    public int warm(RootMetadataCache rootMetadataCache) throws MiddlewareException {
+        int count = 0;
+        for (int chain = 0; chain < chainCount; chain++) {
+            List<OptionRootMetadata> optionRoots = getOptionRoots(chain);
+            if (!optionRoots.isEmpty()) {
+                rootMetadataCache.put(getUnderlyingSymbol(chain), optionRoots);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public String toString() {
+        return "OptionChainSnapshot version " + VERSION + ", chains: " + chainCount + ", created: " + new java.util.Date(createdMillis);
+    }
+
+    // every offset, count and string range in bounds, so the getters can't read past the buffer of a truncated
+    // or corrupt file
+    private void validate() throws IOException {
+        int directoryEnd = HEADER_SIZE + chainCount * DIRECTORY_ENTRY_SIZE;
+
+        for (int chain = 0; chain < chainCount; chain++) {
+            int directoryPosition = HEADER_SIZE + chain * DIRECTORY_ENTRY_SIZE;
+            validateString(directoryPosition);
+
+            int rowCount = buffer.getInt(directoryPosition + 16);
+            int rootCount = buffer.getInt(directoryPosition + 20);
+            long rowsOffset = buffer.getLong(directoryPosition + 24);
+            long rootsOffset = buffer.getLong(directoryPosition + 32);
+
+            if (rowCount < 0 || rowsOffset < directoryEnd || rowsOffset + (long) rowCount * ROW_SIZE > stringTableOffset)
+                throw corrupt("rows of chain " + chain);
+            for (int row = 0; row < rowCount; row++)
+                validateString((int) rowsOffset + row * ROW_SIZE + ROW_SYMBOL);
+
+            if (rootCount < 0 || rootsOffset < directoryEnd || rootsOffset > stringTableOffset)
+                throw corrupt("roots of chain " + chain);
+
+            long position = rootsOffset;
+            for (int root = 0; root < rootCount; root++) {
+                if (position + 16 > stringTableOffset)
+                    throw corrupt("root " + root + " of chain " + chain);
+
+                int strikeCount = buffer.getInt((int) position + 8);
+                int expirationCount = buffer.getInt((int) position + 12);
+                long size = 16 + (long) strikeCount * 8 + (long) expirationCount * 4;
+                if (strikeCount < 0 || expirationCount < 0 || position + size > stringTableOffset)
+                    throw corrupt("root " + root + " of chain " + chain);
+
+                validateString((int) position);
+                position += (size + 7) & ~7;
+            }
+        }
+    }
+
+    // string (offset, length) at position within the string table
+    private void validateString(int position) throws IOException {
+        int offset = buffer.getInt(position);
+        int length = buffer.getInt(position + 4);
+        if (offset < 0 || length < 0 || (long) stringTableOffset + offset + length > buffer.capacity())
+            throw corrupt("string at " + position);
+    }
+
+    private IOException corrupt(String what) {
+        return new IOException("Corrupt option chain snapshot: " + what + " out of bounds, " + buffer.capacity() + " bytes.");
+    }
+
+    private int directoryPosition(int chain) {
+        if (chain < 0 || chain >= chainCount)
+            throw new IndexOutOfBoundsException("Chain " + chain + ", chain count " + chainCount);
+        return HEADER_SIZE + chain * DIRECTORY_ENTRY_SIZE;
+    }
+
+    private int rowPosition(int chain, int row) {
+        int directoryPosition = directoryPosition(chain);
+        int rowCount = buffer.getInt(directoryPosition + 16);
+        if (row < 0 || row >= rowCount)
+            throw new IndexOutOfBoundsException("Row " + row + ", row count " + rowCount);
+        return (int) buffer.getLong(directoryPosition + 24) + row * ROW_SIZE;
+    }
+
+    // string (offset, length) at position
+    private String getString(int position) {
+        int offset = buffer.getInt(position);
+        int length = buffer.getInt(position + 4);
+
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++)
+            bytes[i] = buffer.get(stringTableOffset + offset + i);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<OptionRootMetadata> getOptionRoots(Map<String, List<OptionRootMetadata>> optionRoots, String underlyingSymbol) {
+        List<OptionRootMetadata> roots = optionRoots != null ? optionRoots.get(underlyingSymbol) : null;
+        return roots != null ? roots : Collections.<OptionRootMetadata>emptyList();
+    }
+
+    private static int rootSize(OptionRootMetadata optionRoot) {
+        return align(16 + optionRoot.getStrikePrices().size() * 8 + optionRoot.getExpirationDates().size() * 4);
+    }
+
+    // roots start on 8 byte boundaries
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    // symbols written after the fixed size sections
+    private static class StringTable {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void put(ByteBuffer buffer, int position, String string) {
+            byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(position, bytes.size());
+            buffer.putInt(position + 4, stringBytes.length);
+            bytes.write(stringBytes, 0, stringBytes.length);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * OptionGreeks.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Arrays;
+
+/**
+ * Implied volatility and Greeks of the rows of an OptionChain, stored column wise like the chain.
+ * Filled by OptionGreeksEngine. Values that could not be computed (no price, expired, price outside the
+ * no arbitrage bounds) are NaN.
+ */
+public class OptionGreeks {
+
+    private double[] impliedVolatilities = new double[0];
+    private double[] deltas = new double[0];
+    private double[] gammas = new double[0];
+    private double[] vegas = new double[0];
+
+    /**
+     * Make room for the rows of a chain, new rows are NaN.
+     * @param size number of rows
+     */
+    void ensureSize(int size) {
+        int capacity = impliedVolatilities.length;
+        if (size <= capacity)
+            return;
+
+        impliedVolatilities = grow(impliedVolatilities, size);
+        deltas = grow(deltas, size);
+        gammas = grow(gammas, size);
+        vegas = grow(vegas, size);
+    }
+
+    void set(int row, double impliedVolatility, double delta, double gamma, double vega) {
+        impliedVolatilities[row] = impliedVolatility;
+        deltas[row] = delta;
+        gammas[row] = gamma;
+        vegas[row] = vega;
+    }
+
+    public int size() {
+        return impliedVolatilities.length;
+    }
+
+    public double getImpliedVolatility(int row) {
+        return impliedVolatilities[row];
+    }
+
+    public double getDelta(int row) {
+        return deltas[row];
+    }
+
+    public double getGamma(int row) {
+        return gammas[row];
+    }
+
+    /**
+     * Get vega
+     * @param row row
+     * @return price change for a change of 1.0 (100 vol points) in volatility
+     */
+    public double getVega(int row) {
+        return vegas[row];
+    }
+
+    private static double[] grow(double[] values, int size) {
+        int from = values.length;
+        values = Arrays.copyOf(values, size);
+        Arrays.fill(values, from, size, Double.NaN);
+        return values;
+    }
+}
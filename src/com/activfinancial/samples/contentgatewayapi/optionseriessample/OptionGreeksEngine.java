@@ -0,0 +1,336 @@
+/**
+ * OptionGreeksEngine.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Black-Scholes implied volatility (safeguarded Newton-Raphson) and delta, gamma, vega of the rows of an
+ * OptionChain, computed with fork/join over ranges of rows.
+ *
+ * The option price is the bid/ask mid point, or the trade if there is no two sided quote; the underlying
+ * price is the chain's last trade. Rows can be recomputed selectively, e.g. those a LiveOptionChain changed,
+ * collected by a DirtyRows listener. The chain must not change while it is computed.
+ */
+public class OptionGreeksEngine {
+
+    // rows computed by one task without splitting further
+    private static final int DEFAULT_SPLIT_THRESHOLD = 256;
+
+    private static final double MINIMUM_VOLATILITY = 1e-4;
+    private static final double MAXIMUM_VOLATILITY = 5.0;
+    private static final double VOLATILITY_TOLERANCE = 1e-8;
+    private static final int MAXIMUM_ITERATIONS = 64;
+
+    private static final double DAYS_PER_YEAR = 365.0;
+
+    private final ForkJoinPool pool;
+
+    // continuously compounded annual rates
+    private double riskFreeRate;
+    private double dividendYield;
+
+    // day number the time to expiration is measured from
+    private int valuationDate = (int) LocalDate.now().toEpochDay();
+
+    private int splitThreshold = DEFAULT_SPLIT_THRESHOLD;
+
+    public OptionGreeksEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public OptionGreeksEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public double getRiskFreeRate() {
+        return riskFreeRate;
+    }
+
+    public void setRiskFreeRate(double riskFreeRate) {
+        this.riskFreeRate = riskFreeRate;
+    }
+
+    public double getDividendYield() {
+        return dividendYield;
+    }
+
+    public void setDividendYield(double dividendYield) {
+        this.dividendYield = dividendYield;
+    }
+
+    public int getValuationDate() {
+        return valuationDate;
+    }
+
+    public void setValuationDate(int valuationDate) {
+        this.valuationDate = valuationDate;
+    }
+
+    public int getSplitThreshold() {
+        return splitThreshold;
+    }
+
+    public void setSplitThreshold(int splitThreshold) {
+        this.splitThreshold = Math.max(1, splitThreshold);
+    }
+
+    /**
+     * Compute every row of a chain.
+     *
+     * @param chain chain
+     * @param greeks results, sized to the chain
+     */
+    public void compute(OptionChain chain, OptionGreeks greeks) {
+        greeks.ensureSize(chain.size());
+        pool.invoke(new RowRangeTask(chain, greeks, null, 0, chain.size()));
+    }
+
+    /**
+     * Compute some rows of a chain.
+     *
+     * @param chain chain
+     * @param greeks results, sized to the chain
+     * @param rows rows to compute
+     * @param rowCount number of entries of rows used
+     */
+    public void compute(OptionChain chain, OptionGreeks greeks, int[] rows, int rowCount) {
+        greeks.ensureSize(chain.size());
+        pool.invoke(new RowRangeTask(chain, greeks, rows, 0, rowCount));
+    }
+
+    /**
+     * Compute the rows changed since the last call, all rows if the last trade changed, and clear the changes.
+     *
+     * @param chain chain
+     * @param greeks results, sized to the chain
+     * @param dirtyRows changes of the chain
+     * @return number of rows computed
+     */
+    public int compute(OptionChain chain, OptionGreeks greeks, DirtyRows dirtyRows) {
+        int rowCount;
+        // rows added since the greeks were sized have never been computed
+        if (dirtyRows.allDirty || greeks.size() < chain.size()) {
+            compute(chain, greeks);
+            rowCount = chain.size();
+        }
+        else {
+            compute(chain, greeks, dirtyRows.rows, dirtyRows.rowCount);
+            rowCount = dirtyRows.rowCount;
+        }
+
+        dirtyRows.clear();
+        return rowCount;
+    }
+
+    // price, iv and greeks of one row
+    private void computeRow(OptionChain chain, OptionGreeks greeks, int row) {
+        double spot = FixedPoint.toDouble(chain.getLastTrade());
+        double strike = FixedPoint.toDouble(chain.getStrikePrice(row));
+        int expirationDate = chain.getExpirationDate(row);
+        double price = getPrice(chain, row);
+
+        if (expirationDate == DayNumber.UNDEFINED || !(spot > 0) || !(strike > 0) || Double.isNaN(price)) {
+            greeks.set(row, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            return;
+        }
+
+        double years = (expirationDate - valuationDate) / DAYS_PER_YEAR;
+        if (years <= 0) {
+            greeks.set(row, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            return;
+        }
+
+        boolean call = chain.isCall(row);
+        double volatility = impliedVolatility(call, spot, strike, years, riskFreeRate, dividendYield, price);
+        if (Double.isNaN(volatility)) {
+            greeks.set(row, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            return;
+        }
+
+        double sqrtYears = Math.sqrt(years);
+        double d1 = d1(spot, strike, years, riskFreeRate, dividendYield, volatility);
+        double dividendDiscount = Math.exp(-dividendYield * years);
+        double density = normalDensity(d1);
+
+        double delta = dividendDiscount * (call ? normalDistribution(d1) : normalDistribution(d1) - 1);
+        double gamma = dividendDiscount * density / (spot * volatility * sqrtYears);
+        double vega = spot * dividendDiscount * density * sqrtYears;
+
+        greeks.set(row, volatility, delta, gamma, vega);
+    }
+
+    // mid point of a two sided quote, else the trade, else NaN
+    private static double getPrice(OptionChain chain, int row) {
+        long bid = chain.getBid(row);
+        long ask = chain.getAsk(row);
+        if (bid != FixedPoint.UNDEFINED && ask != FixedPoint.UNDEFINED && bid > 0 && ask >= bid)
+            return FixedPoint.toDouble(bid + ask) / 2;
+
+        long trade = chain.getTrade(row);
+        if (trade != FixedPoint.UNDEFINED && trade > 0)
+            return FixedPoint.toDouble(trade);
+
+        return Double.NaN;
+    }
+
+    /**
+     * Black-Scholes price of a European option.
+     *
+     * @param call true for a call
+     * @param spot underlying price
+     * @param strike strike price
+     * @param years time to expiration in years
+     * @param rate risk free rate
+     * @param dividendYield dividend yield
+     * @param volatility volatility
+     * @return price
+     */
+    static double price(boolean call, double spot, double strike, double years, double rate, double dividendYield, double volatility) {
+        double d1 = d1(spot, strike, years, rate, dividendYield, volatility);
+        double d2 = d1 - volatility * Math.sqrt(years);
+        double forward = spot * Math.exp(-dividendYield * years);
+        double discountedStrike = strike * Math.exp(-rate * years);
+
+        if (call)
+            return forward * normalDistribution(d1) - discountedStrike * normalDistribution(d2);
+        return discountedStrike * normalDistribution(-d2) - forward * normalDistribution(-d1);
+    }
+
+    /**
+     * Volatility giving the price, Newton-Raphson kept inside a shrinking bracket (bisection when a Newton
+     * step would leave it or vega is too small).
+     *
+     * @return implied volatility, NaN if the price is outside the no arbitrage bounds
+     */
+    static double impliedVolatility(boolean call, double spot, double strike, double years, double rate, double dividendYield, double price) {
+        double forward = spot * Math.exp(-dividendYield * years);
+        double discountedStrike = strike * Math.exp(-rate * years);
+
+        double lowerBound = Math.max(0, call ? forward - discountedStrike : discountedStrike - forward);
+        double upperBound = call ? forward : discountedStrike;
+        if (price <= lowerBound || price >= upperBound)
+            return Double.NaN;
+
+        double low = MINIMUM_VOLATILITY, high = MAXIMUM_VOLATILITY;
+        double volatility = 0.3;
+        double sqrtYears = Math.sqrt(years);
+
+        for (int i = 0; i < MAXIMUM_ITERATIONS; i++) {
+            double difference = price(call, spot, strike, years, rate, dividendYield, volatility) - price;
+            if (Math.abs(difference) < 1e-10)
+                return volatility;
+
+            // price increases with volatility
+            if (difference > 0)
+                high = volatility;
+            else
+                low = volatility;
+
+            double vega = forward * normalDensity(d1(spot, strike, years, rate, dividendYield, volatility)) * sqrtYears;
+            double next = vega > 1e-12 ? volatility - difference / vega : Double.NaN;
+            if (!(next > low && next < high))
+                next = (low + high) / 2;
+
+            if (Math.abs(next - volatility) < VOLATILITY_TOLERANCE)
+                return next;
+
+            volatility = next;
+        }
+
+        return high - low < 1e-4 ? volatility : Double.NaN;
+    }
+
+    private static double d1(double spot, double strike, double years, double rate, double dividendYield, double volatility) {
+        return (Math.log(spot / strike) + (rate - dividendYield + 0.5 * volatility * volatility) * years) / (volatility * Math.sqrt(years));
+    }
+
+    static double normalDensity(double x) {
+        return Math.exp(-0.5 * x * x) / Math.sqrt(2 * Math.PI);
+    }
+
+    // cumulative normal distribution, complementary error function approximation with fractional error < 1.2e-7
+    static double normalDistribution(double x) {
+        double z = Math.abs(x) / Math.sqrt(2);
+        double t = 1 / (1 + 0.5 * z);
+        double erfc = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418 + t * (-0.18628806
+            + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587 + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? 1 - 0.5 * erfc : 0.5 * erfc;
+    }
+
+    // computes rows [from, to), or rows[from, to) if rows is set
+    private class RowRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final OptionChain chain;
+        private final OptionGreeks greeks;
+        private final int[] rows;
+        private final int from;
+        private final int to;
+
+        RowRangeTask(OptionChain chain, OptionGreeks greeks, int[] rows, int from, int to) {
+            this.chain = chain;
+            this.greeks = greeks;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from <= splitThreshold) {
+                for (int i = from; i < to; i++)
+                    computeRow(chain, greeks, rows != null ? rows[i] : i);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RowRangeTask(chain, greeks, rows, from, middle), new RowRangeTask(chain, greeks, rows, middle, to));
+        }
+    }
+
+    /**
+     * Collects the rows a LiveOptionChain changes, for OptionGreeksEngine.compute(chain, greeks, dirtyRows).
+     * Used on the thread the updates are applied on.
+     */
+    public static class DirtyRows implements OptionChainListener {
+        private final BitSet marked = new BitSet();
+        private int[] rows = new int[64];
+        private int rowCount;
+        private boolean allDirty;
+
+        public void onRowChanged(OptionChain chain, int row) {
+            if (allDirty || marked.get(row))
+                return;
+
+            marked.set(row);
+            if (rowCount == rows.length)
+                rows = Arrays.copyOf(rows, rowCount * 2);
+            rows[rowCount++] = row;
+        }
+
+        public void onLastTradeChanged(OptionChain chain) {
+            // the underlying price moves every row
+            allDirty = true;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public boolean isAllDirty() {
+            return allDirty;
+        }
+
+        public void clear() {
+            marked.clear();
+            rowCount = 0;
+            allDirty = false;
+        }
+    }
+}
@@ -7,6 +7,7 @@
 
 package com.activfinancial.samples.contentgatewayapi.optionseriessample;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,9 +31,16 @@ public class OptionInfo {
 	private Date expirationDate;
     private Rational strikePrice;
 	private Rational lastTrade;
+	private String symbol;
+
+    // lazy option: copy of the field data and the decoder of the fields not decoded yet, null once toString
+    // has decoded all of them
+    private byte[] fieldData;
+    private OptionInfoDecoder decoder;
 	
     public OptionInfo(Rational lastTrade, String symbol, FieldListValidator fieldListValidator) throws MiddlewareException {
     	this.lastTrade = lastTrade;
+    	this.symbol = symbol;
     	
     	FieldListValidator.Field optionType = fieldListValidator.getField(FieldIds.FID_OPTION_TYPE);
     	
@@ -47,19 +55,79 @@ public class OptionInfo {
         }
         
 	}
+
+    /**
+     * Lazy option: only option type, strike price and expiration date are read now, each other field is
+     * decoded from a copy of the field data on its first getField, toString decodes the rest.
+     * 
+     * @param lastTrade last trade of the underlying
+     * @param symbol option symbol
+     * @param fieldData field data fieldListValidator was initialized with
+     * @param fieldListValidator initialized field list validator
+     * @param decoder decoder of the remaining fields
+     */
+    public OptionInfo(Rational lastTrade, String symbol, byte[] fieldData, FieldListValidator fieldListValidator, OptionInfoDecoder decoder) throws MiddlewareException {
+        this.lastTrade = lastTrade;
+        this.symbol = symbol;
+        this.fieldData = Arrays.copyOf(fieldData, fieldData.length);
+        this.decoder = decoder;
+
+        this.isCall = FieldValues.isCall(fieldListValidator);
+
+        for (int fieldId : new int[] { FieldIds.FID_STRIKE_PRICE, FieldIds.FID_EXPIRATION_DATE }) {
+            FieldListValidator.Field field = fieldListValidator.getField(fieldId);
+            if (field != null && FieldStatus.FIELD_STATUS_DEFINED == field.fieldStatus) {
+                setField(fieldId, FieldTypeFactory.getInstance().clone(field.fieldType));
+            }
+        }
+    }
+
+    /**
+     * Get a field. A lazy option decodes only the requested field on its first access and keeps it, or
+     * keeps null if the field is not defined.
+     * @param fieldId field id
+     * @return field, or null if it is not defined
+     */
+    public synchronized IFieldType getField(int fieldId) throws MiddlewareException {
+        if (this.decoder != null && !fields.containsKey(fieldId))
+            fields.put(fieldId, this.decoder.decode(this.fieldData, fieldId));
+
+        return fields.get(fieldId);
+    }
+
+    // decode the rest of a lazy option, for toString
+    private void decodeAll() throws MiddlewareException {
+        if (this.decoder == null)
+            return;
+
+        this.decoder.decodeAll(this.fieldData, fields);
+
+        this.fieldData = null;
+        this.decoder = null;
+    }
     
-	public String toString() {
+	public synchronized String toString() {
+        try {
+            decodeAll();
+        }
+        catch (MiddlewareException e) {
+            e.printStackTrace();
+        }
+
         StringBuilder sb = new StringBuilder();
 
         sb.append(this.isCall ? "Call: " : "Put: ");
         
         int cnt = 0;
-        for (int fieldId : fields.keySet()) {
+        for (Map.Entry<Integer, IFieldType> field : fields.entrySet()) {
+            // fields requested but not defined
+            if (field.getValue() == null)
+                continue;
             if (cnt != 0)
                 sb.append(", ");
-            sb.append(FieldIds.getUniversalFieldName(fieldId));
+            sb.append(FieldIds.getUniversalFieldName(field.getKey()));
             sb.append(" : ");
-            sb.append(fields.get(fieldId).toString());
+            sb.append(field.getValue().toString());
             cnt++;
         }
         
@@ -79,14 +147,16 @@ public class OptionInfo {
         switch (fieldId) {
             case FieldIds.FID_STRIKE_PRICE:
                 this.strikePrice = (Rational) fieldType;
-    			if (!lastTrade.equals(Rational.ZERO)) {
-    				Rational strikePrice = (Rational)fieldType;
-    				
+
+                // compared as fixed point
+                long last = FixedPoint.fromRational(this.lastTrade);
+                long strike = FixedPoint.fromRational(this.strikePrice);
+    			if (last != 0 && last != FixedPoint.UNDEFINED && strike != FixedPoint.UNDEFINED) {
     				if (this.isCall) {
-    					this.inTheMoney = this.lastTrade.compareTo(strikePrice) > 0;
+    					this.inTheMoney = last > strike;
     				}
     				else {
-    					this.inTheMoney = this.lastTrade.compareTo(strikePrice) < 0;
+    					this.inTheMoney = last < strike;
     				}
     			}
     			break;
@@ -96,6 +166,14 @@ public class OptionInfo {
         }    
     }
 
+    /**
+     * Get option symbol
+     * @return option symbol
+     */
+    public String getSymbol() {
+        return this.symbol;
+    }
+
     /**
      * Get expiration date
      * @return expiration date
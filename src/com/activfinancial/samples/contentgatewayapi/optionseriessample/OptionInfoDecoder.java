@@ -0,0 +1,70 @@
+/**
+ * OptionInfoDecoder.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Map;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldStatus;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.FieldTypeFactory;
+import com.activfinancial.middleware.fieldtypes.IFieldType;
+
+/**
+ * Decodes fields of lazy OptionInfo instances from their copy of the raw field data. Has its own field list
+ * validators, one per thread, so decoding is independent of the getOptionSeries call that created the options
+ * and options are decoded in parallel without a lock.
+ */
+public class OptionInfoDecoder {
+
+    private final ThreadLocal<FieldListValidator> fieldListValidator;
+
+    /**
+     * @param client client the field list validators are constructed with
+     */
+    public OptionInfoDecoder(final ContentGatewayClient client) {
+        this.fieldListValidator = new ThreadLocal<FieldListValidator>() {
+            protected FieldListValidator initialValue() {
+                return new FieldListValidator(client);
+            }
+        };
+    }
+
+    /**
+     * Decode one field, with the field list validator of the calling thread. Only the field is cloned.
+     *
+     * @param fieldData field data
+     * @param fieldId field id
+     * @return field, or null if it is not defined
+     */
+    IFieldType decode(byte[] fieldData, int fieldId) throws MiddlewareException {
+        FieldListValidator fieldListValidator = this.fieldListValidator.get();
+        fieldListValidator.initialize(fieldData);
+
+        FieldListValidator.Field field = fieldListValidator.getField(fieldId);
+        if (field == null || FieldStatus.FIELD_STATUS_DEFINED != field.fieldStatus)
+            return null;
+
+        return FieldTypeFactory.getInstance().clone(field.fieldType);
+    }
+
+    /**
+     * Decode every defined field not already in fields, with the field list validator of the calling thread.
+     *
+     * @param fieldData field data
+     * @param fields fields, added to
+     */
+    void decodeAll(byte[] fieldData, Map<Integer, IFieldType> fields) throws MiddlewareException {
+        FieldListValidator fieldListValidator = this.fieldListValidator.get();
+        fieldListValidator.initialize(fieldData);
+
+        for (FieldListValidator.Field field : fieldListValidator) {
+            if (FieldStatus.FIELD_STATUS_DEFINED == field.fieldStatus && fields.get(field.fieldId) == null) {
+                fields.put(field.fieldId, FieldTypeFactory.getInstance().clone(field.fieldType));
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * OptionInfoHandler.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+/**
+ * Receives the options of a streaming getOptionSeries call one at a time, as their responses are decoded.
+ */
+public interface OptionInfoHandler {
+
+    /**
+     * Called on the thread that called getOptionSeries, once per option.
+     * 
+     * @param optionInfo option
+     * @return true to continue, false to stop fetching and decoding the remaining options
+     */
+    boolean onOptionInfo(OptionInfo optionInfo);
+}
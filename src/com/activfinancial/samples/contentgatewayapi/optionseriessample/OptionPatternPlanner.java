@@ -0,0 +1,372 @@
+/**
+ * OptionPatternPlanner.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.common.UsEquityOptionHelper.OptionType;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.TableNumbers;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Date;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * Builds the GetPattern patterns of a filtered query with as few patterns as possible.
+ *
+ * OptionSeriesFilter.calculateOptionPatterns emits one pattern per expiration x strike x call/put x exchange.
+ * The planner instead collapses the selection of an expiration into a single '*' pattern when all strikes of
+ * the root are selected, and call and put into one pattern when their alias symbols share a prefix. If the
+ * options request returns strike, expiration and option type, it also collapses expirations where most
+ * strikes are selected, fetching at most maximumOverFetchRatio more contracts than selected; those extra
+ * contracts are trimmed on the client.
+ *
+ * The prefixes are derived from UsEquityOptionHelper.buildAliasSymbol itself, so no assumption is made about
+ * the alias symbol layout. Thread safe, keeps running totals of the pattern count reduction.
+ */
+public class OptionPatternPlanner {
+
+    private static final double DEFAULT_MAXIMUM_OVER_FETCH_RATIO = 0.25;
+
+    // how many contracts may be fetched and trimmed, relative to the number selected
+    private final double maximumOverFetchRatio;
+
+    private final AtomicLong planCount = new AtomicLong();
+    private final AtomicLong enumeratedPatternCount = new AtomicLong();
+    private final AtomicLong patternCount = new AtomicLong();
+    private final AtomicLong overFetchCount = new AtomicLong();
+
+    public OptionPatternPlanner() {
+        this(DEFAULT_MAXIMUM_OVER_FETCH_RATIO);
+    }
+
+    /**
+     * @param maximumOverFetchRatio extra contracts that may be fetched and trimmed, as a fraction of the contracts
+     *     selected (0 to only use exact wildcards)
+     */
+    public OptionPatternPlanner(double maximumOverFetchRatio) {
+        if (maximumOverFetchRatio < 0)
+            throw new IllegalArgumentException("Maximum over fetch ratio should not be negative.");
+
+        this.maximumOverFetchRatio = maximumOverFetchRatio;
+    }
+
+    public double getMaximumOverFetchRatio() {
+        return maximumOverFetchRatio;
+    }
+
+    /**
+     * Counts of one getOptionSeries call, summed over its roots.
+     */
+    public static class Plan {
+        // patterns OptionSeriesFilter.calculateOptionPatterns would have emitted
+        int enumeratedPatternCount;
+        // patterns emitted
+        int patternCount;
+        // estimated contracts fetched that the filter does not select
+        int overFetchCount;
+
+        public int getEnumeratedPatternCount() {
+            return enumeratedPatternCount;
+        }
+
+        public int getPatternCount() {
+            return patternCount;
+        }
+
+        public int getOverFetchCount() {
+            return overFetchCount;
+        }
+
+        /**
+         * Do the returned options have to be trimmed with the filter
+         * @return true if some patterns cover contracts the filter does not select
+         */
+        public boolean isTrimRequired() {
+            return overFetchCount > 0;
+        }
+
+        public String toString() {
+            return "patterns: " + patternCount + " (enumerated " + enumeratedPatternCount + "), estimated over fetch: " + overFetchCount + " contracts";
+        }
+    }
+
+    /**
+     * Populate patternList with the patterns of one option root.
+     *
+     * @param optionRoot decoded option root
+     * @param optionSeriesFilter filter
+     * @param patternList list of patterns to return
+     * @param lastTrade last trade
+     * @param canTrim true if the returned options carry strike, expiration and option type so they can be trimmed
+     * @param plan counts of the call, updated
+     * @return StatusCodeSuccess if at least one item was added to the patternList
+     */
+    public StatusCode calculateOptionPatterns(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, Rational lastTrade, boolean canTrim, Plan plan) {
+        return calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, canTrim, plan, new StringBuilder());
+    }
+
+    // same as above, building the patterns in the caller's (pooled) StringBuilder
+    StatusCode calculateOptionPatterns(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, Rational lastTrade, boolean canTrim, Plan plan, StringBuilder sbPattern) {
+        return calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, canTrim, plan, sbPattern, this.maximumOverFetchRatio);
+    }
+
+    // same as above with the over fetch ratio of this root, e.g. 0 for exact patterns only
+    final StatusCode calculateOptionPatterns(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, Rational lastTrade, boolean canTrim, Plan plan, StringBuilder sbPattern, double maximumOverFetchRatio) {
+        int patternListSize = patternList.size();
+
+        // nothing to compact, the filter already gives one wildcard per exchange
+        if (OptionSeriesFilter.isUnfiltered(optionSeriesFilter)) {
+            StatusCode statusCode = OptionSeriesFilter.calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, sbPattern);
+            plan.enumeratedPatternCount += patternList.size() - patternListSize;
+            plan.patternCount += patternList.size() - patternListSize;
+            return statusCode;
+        }
+
+        final char tableNumber = TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS;
+
+        String root = optionRoot.getRootBase();
+        List<Date> rootExpirationDates = optionRoot.getExpirationDates();
+        List<Rational> rootStrikePrices = optionRoot.getStrikePrices();
+
+        // windows of the sorted root lists
+        int[] expirationWindow = OptionSeriesFilter.selectExpirationDates(optionRoot, optionSeriesFilter);
+        int[] strikeWindow = OptionSeriesFilter.selectStrikePrices(optionRoot, optionSeriesFilter, lastTrade);
+
+        List<Date> expirationDates = rootExpirationDates.subList(expirationWindow[0], expirationWindow[1]);
+        List<Rational> strikePrices = rootStrikePrices.subList(strikeWindow[0], strikeWindow[1]);
+
+        if (expirationDates.isEmpty() || strikePrices.isEmpty())
+            return StatusCode.STATUS_CODE_FAILURE;
+
+        boolean call = OptionSeriesFilter.isCallPutSelected(true, optionSeriesFilter);
+        boolean put = OptionSeriesFilter.isCallPutSelected(false, optionSeriesFilter);
+        int sideCount = (call ? 1 : 0) + (put ? 1 : 0);
+
+        // exchange codes to suffix the patterns with, "*" matches any exchange
+        List<String> exchangeCodes = optionSeriesFilter.getExchangeList();
+        if (exchangeCodes == null || exchangeCodes.isEmpty())
+            exchangeCodes = Collections.singletonList("*");
+
+        plan.enumeratedPatternCount += expirationDates.size() * strikePrices.size() * sideCount * exchangeCodes.size();
+
+        try {
+            // everything the root has is selected
+            if (expirationDates.size() == rootExpirationDates.size() && strikePrices.size() == rootStrikePrices.size() && sideCount == 2) {
+                addWildcardPattern(patternList, tableNumber, sbPattern, root + '/', exchangeCodes);
+            }
+            else {
+                AliasPrefixes aliasPrefixes = rootStrikePrices.size() > 1 ? new AliasPrefixes(optionRoot, sbPattern) : null;
+
+                // contracts of an expiration and side not selected by the strike bounds
+                int strikeOverFetch = rootStrikePrices.size() - strikePrices.size();
+
+                // options outside a strike count window can't be trimmed, the window is per root
+                boolean canTrimStrikes = canTrim && optionSeriesFilter.getAtTheMoneyStrikeCount() <= 0;
+                boolean strikeWildcard = aliasPrefixes != null &&
+                    (strikeOverFetch == 0 || (canTrimStrikes && strikeOverFetch <= maximumOverFetchRatio * strikePrices.size()));
+
+                for (int i = 0; i < expirationDates.size(); i++) {
+                    Date expirationDate = expirationDates.get(i);
+
+                    if (!strikeWildcard) {
+                        addEnumeratedPatterns(patternList, tableNumber, sbPattern, root, expirationDate, strikePrices, call, put, exchangeCodes);
+                        continue;
+                    }
+
+                    int expirationIndex = expirationWindow[0] + i;
+                    String callPrefix = call ? aliasPrefixes.getPrefix(expirationIndex, true) : null;
+                    String putPrefix = put ? aliasPrefixes.getPrefix(expirationIndex, false) : null;
+
+                    if (call && put) {
+                        // one pattern for both sides if the shared prefix does not pull in too many other contracts
+                        String prefix = commonPrefix(callPrefix, putPrefix);
+                        int sideOverFetch = (aliasPrefixes.countMatchingPrefixes(prefix) - 2) * rootStrikePrices.size();
+
+                        if (prefix.length() > root.length() + 1 &&
+                            (sideOverFetch == 0 || (canTrim && sideOverFetch + 2 * strikeOverFetch <= maximumOverFetchRatio * 2 * strikePrices.size()))) {
+                            addWildcardPattern(patternList, tableNumber, sbPattern, prefix, exchangeCodes);
+                            plan.overFetchCount += (sideOverFetch + 2 * strikeOverFetch) * exchangeCodes.size();
+                            continue;
+                        }
+                    }
+
+                    // the prefix of one side must not match any other expiration / side of the root
+                    if ((call && aliasPrefixes.countMatchingPrefixes(callPrefix) != 1) || (put && aliasPrefixes.countMatchingPrefixes(putPrefix) != 1)) {
+                        addEnumeratedPatterns(patternList, tableNumber, sbPattern, root, expirationDate, strikePrices, call, put, exchangeCodes);
+                        continue;
+                    }
+
+                    if (call)
+                        addWildcardPattern(patternList, tableNumber, sbPattern, callPrefix, exchangeCodes);
+                    if (put)
+                        addWildcardPattern(patternList, tableNumber, sbPattern, putPrefix, exchangeCodes);
+
+                    plan.overFetchCount += strikeOverFetch * sideCount * exchangeCodes.size();
+                }
+            }
+        }
+        catch (MiddlewareException e) {
+            return e.getStatusCode();
+        }
+
+        plan.patternCount += patternList.size() - patternListSize;
+
+        //at least one pattern is required before we regard the process as having succeeded.
+        return patternList.size() > patternListSize ? StatusCode.STATUS_CODE_SUCCESS : StatusCode.STATUS_CODE_FAILURE;
+    }
+
+    /**
+     * Add the counts of a finished call to the running totals.
+     *
+     * @param plan counts of the call
+     */
+    public void record(Plan plan) {
+        planCount.incrementAndGet();
+        enumeratedPatternCount.addAndGet(plan.enumeratedPatternCount);
+        patternCount.addAndGet(plan.patternCount);
+        overFetchCount.addAndGet(plan.overFetchCount);
+    }
+
+    public long getPlanCount() {
+        return planCount.get();
+    }
+
+    public long getEnumeratedPatternCount() {
+        return enumeratedPatternCount.get();
+    }
+
+    public long getPatternCount() {
+        return patternCount.get();
+    }
+
+    public long getOverFetchCount() {
+        return overFetchCount.get();
+    }
+
+    /**
+     * Get the fraction of enumerated patterns saved
+     * @return pattern count reduction, 0 if nothing was planned yet
+     */
+    public double getPatternReduction() {
+        long enumerated = enumeratedPatternCount.get();
+        return enumerated == 0 ? 0 : 1 - (double) patternCount.get() / enumerated;
+    }
+
+    public String toString() {
+        return "OptionPatternPlanner plans: " + planCount.get() + ", patterns: " + patternCount.get() + " (enumerated " + enumeratedPatternCount.get()
+            + ", " + Math.round(getPatternReduction() * 1000) / 10.0 + "% fewer), over fetch: " + overFetchCount.get() + " contracts";
+    }
+
+    static void addWildcardPattern(List<SymbolId> patternList, char tableNumber, StringBuilder sbPattern, String prefix, List<String> exchangeCodes) {
+        for (String exchangeCode : exchangeCodes) {
+            sbPattern.setLength(0);
+            sbPattern.append(prefix).append('*');
+            if (!"*".equals(exchangeCode))
+                sbPattern.append('.').append(exchangeCode);
+            patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
+        }
+    }
+
+    private static void addEnumeratedPatterns(List<SymbolId> patternList, char tableNumber, StringBuilder sbPattern, String root, Date expirationDate, List<Rational> strikePrices, boolean call, boolean put, List<String> exchangeCodes) throws MiddlewareException {
+        for (Rational strikePrice : strikePrices) {
+            for (String exchangeCode : exchangeCodes) {
+                if (call) {
+                    OptionSeriesFilter.constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_CALL, strikePrice, exchangeCode);
+                    patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
+                }
+
+                if (put) {
+                    OptionSeriesFilter.constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_PUT, strikePrice, exchangeCode);
+                    patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
+                }
+            }
+        }
+    }
+
+    private static String commonPrefix(String s1, String s2) {
+        int n = Math.min(s1.length(), s2.length());
+        int i = 0;
+        while (i < n && s1.charAt(i) == s2.charAt(i))
+            i++;
+        return s1.substring(0, i);
+    }
+
+    /**
+     * Alias symbol prefixes shared by all strikes of an expiration and side of a root, i.e. the part of
+     * buildAliasSymbol's output that does not depend on the strike.
+     */
+    private static class AliasPrefixes {
+        private final OptionRootMetadata optionRoot;
+        private final StringBuilder sb;
+
+        // length of the prefix per side, same for every expiration
+        private final int callPrefixLength;
+        private final int putPrefixLength;
+
+        // prefixes of every expiration, built on first use: [expiration * 2 + (call ? 0 : 1)]
+        private String[] prefixes;
+
+        AliasPrefixes(OptionRootMetadata optionRoot, StringBuilder sb) throws MiddlewareException {
+            this.optionRoot = optionRoot;
+            this.sb = sb;
+            this.callPrefixLength = prefixLength(OptionType.OPTION_TYPE_CALL);
+            this.putPrefixLength = prefixLength(OptionType.OPTION_TYPE_PUT);
+        }
+
+        String getPrefix(int expirationIndex, boolean isCall) throws MiddlewareException {
+            Date expirationDate = optionRoot.getExpirationDates().get(expirationIndex);
+            Rational strikePrice = optionRoot.getStrikePrices().get(0);
+
+            OptionSeriesFilter.constructAliasPattern(null, optionRoot.getRootBase(), sb, expirationDate, isCall ? OptionType.OPTION_TYPE_CALL : OptionType.OPTION_TYPE_PUT, strikePrice, "*");
+            return sb.substring(0, isCall ? callPrefixLength : putPrefixLength);
+        }
+
+        // number of expiration / side prefixes of the root the pattern prefix matches
+        int countMatchingPrefixes(String prefix) throws MiddlewareException {
+            if (prefixes == null) {
+                int expirationCount = optionRoot.getExpirationDates().size();
+                prefixes = new String[expirationCount * 2];
+                for (int i = 0; i < expirationCount; i++) {
+                    prefixes[i * 2] = getPrefix(i, true);
+                    prefixes[i * 2 + 1] = getPrefix(i, false);
+                }
+            }
+
+            int count = 0;
+            for (String p : prefixes) {
+                if (p.startsWith(prefix))
+                    count++;
+            }
+            return count;
+        }
+
+        // common prefix length of the alias symbols of all strikes, for the first expiration
+        private int prefixLength(OptionType optionType) throws MiddlewareException {
+            Date expirationDate = optionRoot.getExpirationDates().get(0);
+            String first = null;
+            int length = Integer.MAX_VALUE;
+
+            for (Rational strikePrice : optionRoot.getStrikePrices()) {
+                OptionSeriesFilter.constructAliasPattern(null, optionRoot.getRootBase(), sb, expirationDate, optionType, strikePrice, "*");
+                if (first == null) {
+                    first = sb.toString();
+                    length = first.length();
+                }
+                else {
+                    int i = 0;
+                    while (i < length && i < sb.length() && sb.charAt(i) == first.charAt(i))
+                        i++;
+                    length = i;
+                }
+            }
+
+            return length;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * OptionRecordSink.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * Receives the options of a getOptionSeries call straight from the response blocks, before anything is cloned.
+ */
+interface OptionRecordSink {
+
+    /**
+     * Called once per valid option response block.
+     * 
+     * @param symbol option symbol
+     * @param fieldData field data of the option's response block, not to be modified
+     * @param fieldListValidator field list validator initialized with the option's field data, only valid during the call
+     * @param lastTrade last trade of the underlying, Rational.ZERO if not requested
+     * @return true to continue, false to stop processing the remaining options
+     */
+    boolean onOption(String symbol, byte[] fieldData, FieldListValidator fieldListValidator, Rational lastTrade) throws MiddlewareException;
+}
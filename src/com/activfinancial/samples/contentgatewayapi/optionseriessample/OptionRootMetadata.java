@@ -0,0 +1,238 @@
+/**
+ * OptionRootMetadata.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Date;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * Decoded FID_STRIKE_PRICE_LIST and FID_EXPIRATION_DATE_LIST of an option root, sorted ascending.
+ * Immutable once constructed, so instances can be shared between threads and cached.
+ */
+public class OptionRootMetadata {
+
+    // root symbol as returned by the option root relationship
+    private final String rootSymbol;
+
+    // root symbol without the exchange, id in SymbolDictionary.ROOTS
+    private final int rootBaseId;
+    private final String rootBase;
+
+    // exchange of the root symbol, may be empty, id in SymbolDictionary.EXCHANGES
+    private final int exchangeId;
+    private final String exchange;
+
+    private final List<Rational> strikePrices;
+    private final long[] strikePricesFixed;
+
+    private final List<Date> expirationDates;
+    private final int[] expirationDayNumbers;
+
+    private OptionRootMetadata(String rootSymbol, List<Rational> strikePrices, List<Date> expirationDates) throws MiddlewareException {
+        int separator = rootSymbol.lastIndexOf('.');
+        if (-1 == separator)
+            throw new MiddlewareException(StatusCode.STATUS_CODE_INVALID_PARAMETER);
+
+        // shared root and exchange strings, every root of an exchange refers to the same instance
+        this.rootSymbol = rootSymbol;
+        this.rootBaseId = SymbolDictionary.ROOTS.intern(rootSymbol, 0, separator);
+        this.rootBase = SymbolDictionary.ROOTS.get(rootBaseId);
+        this.exchangeId = SymbolDictionary.EXCHANGES.intern(rootSymbol, separator + 1, rootSymbol.length());
+        this.exchange = SymbolDictionary.EXCHANGES.get(exchangeId);
+
+        Collections.sort(strikePrices, new Comparator<Rational>() {
+            public int compare(Rational r1, Rational r2) {
+                return r1.compareTo(r2);
+            }
+        });
+        Collections.sort(expirationDates, new Comparator<Date>() {
+            public int compare(Date d1, Date d2) {
+                return d1.compareTo(d2);
+            }
+        });
+
+        this.strikePrices = Collections.unmodifiableList(strikePrices);
+        this.strikePricesFixed = new long[strikePrices.size()];
+        for (int i = 0; i < strikePricesFixed.length; i++)
+            strikePricesFixed[i] = FixedPoint.fromRational(strikePrices.get(i));
+
+        this.expirationDates = Collections.unmodifiableList(expirationDates);
+        this.expirationDayNumbers = new int[expirationDates.size()];
+        for (int i = 0; i < expirationDayNumbers.length; i++)
+            expirationDayNumbers[i] = DayNumber.fromDate(expirationDates.get(i));
+    }
+
+    /**
+     * Decode the root lists of an option root response block.
+     *
+     * @param rootSymbol root symbol (response key of the option root response block)
+     * @param fieldListValidator field list validator initialized with the response block's field data
+     * @return decoded root
+     * @throws MiddlewareException if the lists cannot be decoded or the root symbol has no exchange separator
+     */
+    public static OptionRootMetadata decode(String rootSymbol, FieldListValidator fieldListValidator) throws MiddlewareException {
+        List<Rational> strikePrices = new ArrayList<Rational>();
+        OptionSeriesFilter.extractRootStrikePrices(fieldListValidator, strikePrices);
+
+        List<Date> expirationDates = new ArrayList<Date>();
+        OptionSeriesFilter.extractRootExpirationDates(fieldListValidator, expirationDates);
+
+        return new OptionRootMetadata(rootSymbol, strikePrices, expirationDates);
+    }
+
+    // root from already decoded fixed point strikes and day number expirations (snapshot reload)
+    static OptionRootMetadata of(String rootSymbol, long[] strikePricesFixed, int[] expirationDayNumbers) throws MiddlewareException {
+        List<Rational> strikePrices = new ArrayList<Rational>(strikePricesFixed.length);
+        for (long strikePrice : strikePricesFixed)
+            strikePrices.add(FixedPoint.toRational(strikePrice));
+
+        List<Date> expirationDates = new ArrayList<Date>(expirationDayNumbers.length);
+        for (int expirationDate : expirationDayNumbers)
+            expirationDates.add(DayNumber.toDate(expirationDate));
+
+        return new OptionRootMetadata(rootSymbol, strikePrices, expirationDates);
+    }
+
+    public String getRootSymbol() {
+        return rootSymbol;
+    }
+
+    public String getRootBase() {
+        return rootBase;
+    }
+
+    /**
+     * @return id of the root base in SymbolDictionary.ROOTS
+     */
+    public int getRootBaseId() {
+        return rootBaseId;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    /**
+     * @return id of the exchange in SymbolDictionary.EXCHANGES
+     */
+    public int getExchangeId() {
+        return exchangeId;
+    }
+
+    /**
+     * Get strike prices, sorted ascending
+     * @return unmodifiable list of strike prices
+     */
+    public List<Rational> getStrikePrices() {
+        return strikePrices;
+    }
+
+    /**
+     * Get strike price as fixed point
+     * @param index index into getStrikePrices()
+     * @return strike price, fixed point
+     */
+    public long getStrikePriceFixed(int index) {
+        return strikePricesFixed[index];
+    }
+
+    /**
+     * Get expiration dates, sorted ascending
+     * @return unmodifiable list of expiration dates
+     */
+    public List<Date> getExpirationDates() {
+        return expirationDates;
+    }
+
+    /**
+     * Get expiration date as a day number
+     * @param index index into getExpirationDates()
+     * @return expiration date, day number
+     */
+    public int getExpirationDayNumber(int index) {
+        return expirationDayNumbers[index];
+    }
+
+    /**
+     * Get index of the first strike price not less than strikePrice, by binary search
+     * @param strikePrice strike price, fixed point
+     * @return index, number of strike prices if every strike price is less
+     */
+    public int lowerBoundStrikePrice(long strikePrice) {
+        return bound(strikePricesFixed, strikePrice, false);
+    }
+
+    /**
+     * Get index of the first strike price greater than strikePrice, by binary search
+     * @param strikePrice strike price, fixed point
+     * @return index, number of strike prices if none is greater
+     */
+    public int upperBoundStrikePrice(long strikePrice) {
+        return bound(strikePricesFixed, strikePrice, true);
+    }
+
+    /**
+     * Get index of the first expiration date not before dayNumber, by binary search
+     * @param dayNumber expiration date, day number
+     * @return index, number of expiration dates if every expiration date is before
+     */
+    public int lowerBoundExpirationDate(int dayNumber) {
+        return bound(expirationDayNumbers, dayNumber, false);
+    }
+
+    /**
+     * Get index of the first expiration date after dayNumber, by binary search
+     * @param dayNumber expiration date, day number
+     * @return index, number of expiration dates if none is after
+     */
+    public int upperBoundExpirationDate(int dayNumber) {
+        return bound(expirationDayNumbers, dayNumber, true);
+    }
+
+    /**
+     * Number of contracts the root can have per exchange (expirations x strikes x call/put).
+     * @return contract count
+     */
+    public int getContractCount() {
+        return expirationDates.size() * strikePrices.size() * 2;
+    }
+
+    // first index with a value >= key (> key if upper)
+    private static int bound(long[] values, long key, boolean upper) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key || (upper && values[middle] == key))
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    private static int bound(int[] values, int key, boolean upper) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key || (upper && values[middle] == key))
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    public String toString() {
+        return rootSymbol + ": " + strikePrices.size() + " strikes, " + expirationDates.size() + " expirations";
+    }
+}
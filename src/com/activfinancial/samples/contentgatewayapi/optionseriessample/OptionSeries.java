@@ -1,12 +1,14 @@
 package com.activfinancial.samples.contentgatewayapi.optionseriessample;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
-import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient.ConnectParameters;
 import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
 import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
 import com.activfinancial.contentplatform.contentgatewayapi.consts.Exchange;
@@ -43,6 +45,18 @@ public class OptionSeries {
     // CG instance
     ContentGatewayClient client;
 
+    // number of connections opened across the service instances
+    private int connectionCount;
+
+    // connections the requests are spread over
+    private ContentGatewayClientPool clientPool;
+
+    // serve the requests from the in process simulated gateway instead of connecting
+    private boolean simulate;
+
+    // gateway the option series requests are sent to
+    OptionSeriesGateway gateway;
+
     // main entry point into application
     public static void main(String[] args) {
         new OptionSeries().run();
@@ -52,6 +66,8 @@ public class OptionSeries {
     private void run() {
         this.serviceId = System.getProperty("I", "Service.ContentGateway");
         this.serviceInstanceId = System.getProperty("N", null);
+        this.simulate = Boolean.getBoolean("simulate");
+        this.connectionCount = Integer.getInteger("C", 1);
 
         this.userId = "drwt1000-dwmduat";
         this.password = "dwmduat";
@@ -62,10 +78,18 @@ public class OptionSeries {
 
         application.startThread();
 
-        this.client = new ContentGatewayClient(application);
+        if (this.simulate) {
+            this.client = new ContentGatewayClient(application);
+            this.gateway = new SimulatedOptionSeriesGateway();
+        }
+        else {
+            this.clientPool = new ContentGatewayClientPool(application, this.connectionCount);
+            if (!connect())
+                return;
 
-        if (!connect())
-            return;
+            this.client = this.clientPool.getClient();
+            this.gateway = this.clientPool;
+        }
 
         runExample();
 
@@ -95,23 +119,95 @@ public class OptionSeries {
         requestBlockOptions.fieldIdList.add(FieldIds.FID_OPEN_INTEREST);
         // add more fields as needed.
 
+        // scan every symbol of a universe file instead of the one symbol
+        String universeFile = System.getProperty("universe", null);
+        if (universeFile != null) {
+            runScan(universeFile, optionSeriesFilter, requestBlockOptions);
+            return;
+        }
+
         // FLV could be fetched from the thread local storage instead of constructing them each call.
         // Will be using one fieldListValidator instance to minimize object construction.
         FieldListValidator fieldListValidator = new FieldListValidator(this.client);
-        List<OptionInfo> options = new ArrayList<OptionInfo>();
 
-        // get all options for an underling
-        StatusCode statusCode = GetOptionSeriesHelper.getOptionSeries(this.client, fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, options);
+        StatusCode statusCode;
 
-        if (statusCode == StatusCode.STATUS_CODE_SUCCESS) {
-            for (OptionInfo optionInfo : options) {
-                // dump to the screen
-                uiIo.logMessage(LogType.LOG_TYPE_INFO, optionInfo.toString());
-            }
+        String exportFile = System.getProperty("export", null);
+        if (exportFile != null) {
+            // fetch into a chain and stream it to a file (.csv for CSV, else binary) instead of logging each option
+            OptionChain chain = new OptionChain();
+            statusCode = GetOptionSeriesHelper.getOptionSeries(this.gateway, new OptionSeriesSettings(), fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, chain);
+
+            if (statusCode == StatusCode.STATUS_CODE_SUCCESS)
+                export(exportFile, symbol, chain);
+        }
+        else {
+            // get all options for an underling, each option is dumped to the screen as soon as it is decoded
+            statusCode = GetOptionSeriesHelper.getOptionSeries(this.gateway, new OptionSeriesSettings(), fieldListValidator, symbol, optionSeriesFilter, requestBlockOptions, new OptionInfoHandler() {
+                public boolean onOptionInfo(OptionInfo optionInfo) {
+                    uiIo.logMessage(LogType.LOG_TYPE_INFO, optionInfo.toString());
+                    return true;
+                }
+            });
         }
 
+        if (statusCode != StatusCode.STATUS_CODE_SUCCESS)
+            uiIo.logMessage(LogType.LOG_TYPE_ERROR, "getOptionSeries() failed, error - " + statusCode.toString());
+
         // now disconnect
-        this.client.disconnect();
+        if (!this.simulate)
+            this.clientPool.disconnect();
+    }
+
+    private void export(String exportFile, String symbol, OptionChain chain) {
+        OptionChainExporter.Format format = exportFile.endsWith(".csv") ? OptionChainExporter.Format.CSV : OptionChainExporter.Format.BINARY;
+
+        try {
+            OptionChainExporter exporter = OptionChainExporter.open(Paths.get(exportFile), format);
+            try {
+                exporter.write(symbol, chain);
+            }
+            finally {
+                exporter.close();
+            }
+
+            uiIo.logMessage(LogType.LOG_TYPE_INFO, exporter.toString());
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void runScan(String universeFile, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions) {
+        List<String> symbols;
+        try {
+            symbols = OptionUniverseScanner.readUniverse(Paths.get(universeFile));
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setWorkspacePool(new OptionSeriesWorkspacePool(this.client));
+        // wide filters fetch whole roots and trim, narrow ones enumerate
+        settings.setPatternPlanner(new AdaptiveOptionPatternPlanner());
+
+        OptionUniverseScanner scanner = new OptionUniverseScanner(this.gateway, settings);
+        scanner.setConcurrency(Integer.getInteger("concurrency", 4));
+        scanner.setRequestsPerSecond(Integer.getInteger("rate", 0));
+        scanner.setCheckpointFile(Paths.get(universeFile + ".checkpoint"));
+
+        StatusCode statusCode = scanner.scan(symbols, optionSeriesFilter, requestBlockOptions, new OptionUniverseScanner.Listener() {
+            public void onResult(OptionSeriesResult result) {
+                uiIo.logMessage(result.isSuccess() ? LogType.LOG_TYPE_INFO : LogType.LOG_TYPE_ERROR, result.toString());
+            }
+        });
+
+        uiIo.logMessage(statusCode == StatusCode.STATUS_CODE_SUCCESS ? LogType.LOG_TYPE_INFO : LogType.LOG_TYPE_ERROR, scanner.toString());
+
+        if (!this.simulate)
+            this.clientPool.disconnect();
     }
 
     private void setupFilter(OptionSeriesFilter optionSeriesFilter) {
@@ -135,11 +231,11 @@ public class OptionSeries {
     private boolean connect() {
         StatusCode statusCode;
 
-        // first stage to connect is to find a service to connect to
+        // first stage to connect is to find the services to connect to
         List<ServiceInstance> serviceInstanceList = new ArrayList<ServiceInstance>();
 
         Map<String, Object> attributes = new HashMap<String, Object>();
-        attributes.put(FileConfiguration.FILE_LOCATION, this.client.getApplication().getSettings().serviceLocationIniFile);
+        attributes.put(FileConfiguration.FILE_LOCATION, this.clientPool.getApplication().getSettings().serviceLocationIniFile);
         statusCode = ServiceApi.findServices(ServiceApi.CONFIGURATION_TYPE_FILE, this.serviceId, attributes, serviceInstanceList);
 
         if (StatusCode.STATUS_CODE_SUCCESS != statusCode) {
@@ -147,26 +243,17 @@ public class OptionSeries {
             return false;
         }
 
-        // here we are just going to pick the first service that is returned,
-        // and its first access point url
-        ConnectParameters connectParameters = new ConnectParameters();
-        ServiceInstance serviceInstance = serviceInstanceList.get(0);
-
+        // the connections are spread over every service returned, or only the one asked for
         if (serviceInstanceId != null) {
             for (ServiceInstance si : serviceInstanceList) {
                 if (si.serviceAccessPointList.get(0).id.equals(serviceInstanceId)) {
-                    serviceInstance = si;
+                    serviceInstanceList = Collections.singletonList(si);
                     break;
                 }
             }
         }
 
-        connectParameters.serviceId = serviceInstance.serviceId;
-        connectParameters.url = serviceInstance.serviceAccessPointList.get(0).url;
-        connectParameters.userId = userId;
-        connectParameters.password = password;
-
-        statusCode = this.client.connect(connectParameters, ContentGatewayClient.DEFAULT_TIMEOUT);
+        statusCode = this.clientPool.connect(serviceInstanceList, userId, password, ContentGatewayClient.DEFAULT_TIMEOUT);
 
         if (StatusCode.STATUS_CODE_SUCCESS != statusCode)
             uiIo.logMessage(LogType.LOG_TYPE_ERROR, "Connect() failed, error - " + statusCode.toString());
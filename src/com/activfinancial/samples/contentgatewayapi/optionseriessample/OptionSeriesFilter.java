@@ -8,6 +8,7 @@
 package com.activfinancial.samples.contentgatewayapi.optionseriessample;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
@@ -23,6 +24,8 @@ import com.activfinancial.middleware.activbase.MiddlewareException;
 import com.activfinancial.middleware.fieldtypes.BinaryString;
 import com.activfinancial.middleware.fieldtypes.Blob;
 import com.activfinancial.middleware.fieldtypes.Date;
+import com.activfinancial.middleware.fieldtypes.FieldTypeFactory;
+import com.activfinancial.middleware.fieldtypes.IFieldType;
 import com.activfinancial.middleware.fieldtypes.Rational;
 
 /**
@@ -46,11 +49,18 @@ public class OptionSeriesFilter {
     private Rational highStrike;
 
     //BASIC ASK: Bid, Ask, Volume, Open Interest
+    // maximum ask, minimum bid, volume and open interest
     private Rational ask;
     private Rational bid;
     private Rational volume;
     private Rational openInterest;
 
+    // maximum ask - bid
+    private Rational maximumSpread;
+
+    // minimum bid size and ask size
+    private Rational minimumSize;
+
     private CallPutEnum callPut = CallPutEnum.BOTH;
 
     // Exchange list
@@ -61,7 +71,116 @@ public class OptionSeriesFilter {
     
 	// range for at the money options
     private Rational atTheMoneyRange;
-    
+
+    // number of strikes either side of the last trade for at the money options, 0 to use atTheMoneyRange
+    private int atTheMoneyStrikeCount;
+
+    // bounds as FixedPoint / DayNumber, converted once when set so the per option tests compare primitives
+    private int startDayNumber = DayNumber.UNDEFINED;
+    private int endDayNumber = DayNumber.UNDEFINED;
+    private long lowStrikeFixedPoint = FixedPoint.UNDEFINED;
+    private long highStrikeFixedPoint = FixedPoint.UNDEFINED;
+    private long atTheMoneyRangeFixedPoint = FixedPoint.UNDEFINED;
+
+    // quote thresholds as FixedPoint, converted when set so equals and hashCode agree however often they run
+    private long askFixedPoint = FixedPoint.UNDEFINED;
+    private long bidFixedPoint = FixedPoint.UNDEFINED;
+    private long volumeFixedPoint = FixedPoint.UNDEFINED;
+    private long openInterestFixedPoint = FixedPoint.UNDEFINED;
+    private long maximumSpreadFixedPoint = FixedPoint.UNDEFINED;
+    private long minimumSizeFixedPoint = FixedPoint.UNDEFINED;
+
+    public OptionSeriesFilter() {
+    }
+
+    /**
+     * Copy a filter. The Rational and Date values and the exchange list are copied, so changing the values
+     * of one filter later doesn't change the other.
+     * @param other filter to copy
+     */
+    public OptionSeriesFilter(OptionSeriesFilter other) {
+        setStartDate(copy(other.startDate));
+        setEndDate(copy(other.endDate));
+        setLowStrike(copy(other.lowStrike));
+        setHighStrike(copy(other.highStrike));
+        setAsk(copy(other.ask));
+        setBid(copy(other.bid));
+        setVolume(copy(other.volume));
+        setOpenInterest(copy(other.openInterest));
+        setMaximumSpread(copy(other.maximumSpread));
+        setMinimumSize(copy(other.minimumSize));
+        this.callPut = other.callPut;
+        this.exchangeList = other.exchangeList != null ? new ArrayList<String>(other.exchangeList) : null;
+        this.atTheMoney = other.atTheMoney;
+        setAtTheMoneyRange(copy(other.atTheMoneyRange));
+        this.atTheMoneyStrikeCount = other.atTheMoneyStrikeCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends IFieldType> T copy(T fieldType) {
+        if (fieldType == null)
+            return null;
+
+        try {
+            return (T) FieldTypeFactory.getInstance().clone(fieldType);
+        }
+        catch (MiddlewareException e) {
+            throw new IllegalStateException("Failed to copy " + fieldType, e);
+        }
+    }
+
+    /**
+     * Filters are equal if they select the same options: prices compare by value (as FixedPoint, taken when
+     * set), dates by day, a null and an empty exchange list are the same.
+     */
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (!(object instanceof OptionSeriesFilter))
+            return false;
+
+        OptionSeriesFilter other = (OptionSeriesFilter) object;
+        return callPut == other.callPut &&
+            startDayNumber == other.startDayNumber &&
+            endDayNumber == other.endDayNumber &&
+            lowStrikeFixedPoint == other.lowStrikeFixedPoint &&
+            highStrikeFixedPoint == other.highStrikeFixedPoint &&
+            askFixedPoint == other.askFixedPoint &&
+            bidFixedPoint == other.bidFixedPoint &&
+            volumeFixedPoint == other.volumeFixedPoint &&
+            openInterestFixedPoint == other.openInterestFixedPoint &&
+            maximumSpreadFixedPoint == other.maximumSpreadFixedPoint &&
+            minimumSizeFixedPoint == other.minimumSizeFixedPoint &&
+            atTheMoney == other.atTheMoney &&
+            atTheMoneyRangeFixedPoint == other.atTheMoneyRangeFixedPoint &&
+            atTheMoneyStrikeCount == other.atTheMoneyStrikeCount &&
+            getExchanges().equals(other.getExchanges());
+    }
+
+    public int hashCode() {
+        long hash = callPut.hashCode();
+        hash = 31 * hash + startDayNumber;
+        hash = 31 * hash + endDayNumber;
+        hash = 31 * hash + lowStrikeFixedPoint;
+        hash = 31 * hash + highStrikeFixedPoint;
+        hash = 31 * hash + askFixedPoint;
+        hash = 31 * hash + bidFixedPoint;
+        hash = 31 * hash + volumeFixedPoint;
+        hash = 31 * hash + openInterestFixedPoint;
+        hash = 31 * hash + maximumSpreadFixedPoint;
+        hash = 31 * hash + minimumSizeFixedPoint;
+        hash = 31 * hash + (atTheMoney ? 1 : 0);
+        hash = 31 * hash + atTheMoneyRangeFixedPoint;
+        hash = 31 * hash + atTheMoneyStrikeCount;
+        hash = 31 * hash + getExchanges().hashCode();
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    // exchange list, empty if not set
+    private List<String> getExchanges() {
+        return exchangeList != null ? exchangeList : Collections.<String>emptyList();
+    }
+
     public CallPutEnum getCallPut() {
         return callPut;
     }
@@ -76,6 +195,7 @@ public class OptionSeriesFilter {
 
     public void setEndDate(Date endDate) {
         this.endDate = endDate;
+        this.endDayNumber = DayNumber.fromDate(endDate);
     }
 
 
@@ -85,6 +205,7 @@ public class OptionSeriesFilter {
 
     public void setAsk(Rational ask) {
         this.ask = ask;
+        this.askFixedPoint = FixedPoint.fromRational(ask);
     }
 
     public Rational getBid() {
@@ -93,6 +214,7 @@ public class OptionSeriesFilter {
 
     public void setBid(Rational bid) {
         this.bid = bid;
+        this.bidFixedPoint = FixedPoint.fromRational(bid);
     }
 
     public Rational getVolume() {
@@ -101,6 +223,7 @@ public class OptionSeriesFilter {
 
     public void setVolume(Rational volume) {
         this.volume = volume;
+        this.volumeFixedPoint = FixedPoint.fromRational(volume);
     }
 
     public Rational getOpenInterest() {
@@ -109,6 +232,25 @@ public class OptionSeriesFilter {
 
     public void setOpenInterest(Rational openInterest) {
         this.openInterest = openInterest;
+        this.openInterestFixedPoint = FixedPoint.fromRational(openInterest);
+    }
+
+    public Rational getMaximumSpread() {
+        return maximumSpread;
+    }
+
+    public void setMaximumSpread(Rational maximumSpread) {
+        this.maximumSpread = maximumSpread;
+        this.maximumSpreadFixedPoint = FixedPoint.fromRational(maximumSpread);
+    }
+
+    public Rational getMinimumSize() {
+        return minimumSize;
+    }
+
+    public void setMinimumSize(Rational minimumSize) {
+        this.minimumSize = minimumSize;
+        this.minimumSizeFixedPoint = FixedPoint.fromRational(minimumSize);
     }
 
     public Rational getHighStrike() {
@@ -117,6 +259,7 @@ public class OptionSeriesFilter {
 
     public void setHighStrike(Rational highStrike) {
         this.highStrike = highStrike;
+        this.highStrikeFixedPoint = FixedPoint.fromRational(highStrike);
     }
 
     public Rational getLowStrike() {
@@ -125,6 +268,7 @@ public class OptionSeriesFilter {
 
     public void setLowStrike(Rational lowStrike) {
         this.lowStrike = lowStrike;
+        this.lowStrikeFixedPoint = FixedPoint.fromRational(lowStrike);
     }
 
     public Date getStartDate() {
@@ -133,6 +277,7 @@ public class OptionSeriesFilter {
 
     public void setStartDate(Date startDate) {
         this.startDate = startDate;
+        this.startDayNumber = DayNumber.fromDate(startDate);
     }
 
     public List<String> getExchangeList() {
@@ -157,8 +302,22 @@ public class OptionSeriesFilter {
 
 	public void setAtTheMoneyRange(Rational atTheMoneyRange) {
 		this.atTheMoneyRange = atTheMoneyRange;
+		this.atTheMoneyRangeFixedPoint = FixedPoint.fromRational(atTheMoneyRange);
 	}
 
+    public int getAtTheMoneyStrikeCount() {
+        return atTheMoneyStrikeCount;
+    }
+
+    /**
+     * Select the strikeCount strikes below the last trade and the strikeCount strikes at or above it, per root,
+     * instead of the strikes within atTheMoneyRange.
+     * @param atTheMoneyStrikeCount number of strikes either side, 0 to use atTheMoneyRange
+     */
+    public void setAtTheMoneyStrikeCount(int atTheMoneyStrikeCount) {
+        this.atTheMoneyStrikeCount = atTheMoneyStrikeCount;
+    }
+
     
     
     /**
@@ -172,128 +331,213 @@ public class OptionSeriesFilter {
      * @return StatusCodeSuccess if at least one item was added to the patternList
      */
     static public StatusCode calculateOptionPatterns(FieldListValidator fieldListValidator, ResponseBlock responseBlock, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, Rational lastTrade) {
-        StatusCode statusCode = StatusCode.STATUS_CODE_FAILURE;
-        
-        // table number assigned in the CalculateOptionPatterns
-        final char tableNumber = TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS;
-        
         // we can't filter until all contracts have been returned, since the expiration / strike information is not in the root.
-        StringBuilder optionRootBase = new StringBuilder(), exchange = new StringBuilder();
-        StatusCode statusCodeCrackOptionRoot = crackOptionRoot(responseBlock.responseKey.symbol, optionRootBase, exchange);
-        if (statusCodeCrackOptionRoot != StatusCode.STATUS_CODE_SUCCESS) {
-            return statusCodeCrackOptionRoot;
+        int separator = responseBlock.responseKey.symbol.lastIndexOf('.');
+        if (-1 == separator)
+            return StatusCode.STATUS_CODE_INVALID_PARAMETER;
+
+        // the shared instance of the root, no substring once the root is known
+        String root = SymbolDictionary.ROOTS.get(SymbolDictionary.ROOTS.intern(responseBlock.responseKey.symbol, 0, separator));
+
+        // a little shortcut
+        if (isUnfiltered(optionSeriesFilter)) {
+            return addWildcardPatterns(root, optionSeriesFilter, patternList);
         }
 
-        // Access the wrapped string list object.
-        String root = optionRootBase.toString();
+        // decoded and sorted, so the filter's windows are found by binary search
+        OptionRootMetadata optionRoot;
+        try {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            optionRoot = OptionRootMetadata.decode(responseBlock.responseKey.symbol, fieldListValidator);
+        }
+        catch (MiddlewareException e) {
+            return e.getStatusCode();
+        }
+
+        return calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, new StringBuilder());
+    }
 
+    /**
+     * Populate patternList with with symbol patterns based on the optionSeriesFilter values, using the already
+     * decoded (and possibly cached) strike and expiration lists of the root.
+     * 
+     * @param optionRoot decoded option root
+     * @param optionSeriesFilter filter
+     * @param patternList list of patterns to return
+     * @param lastTrade last trade
+     * @return StatusCodeSuccess if at least one item was added to the patternList
+     */
+    static public StatusCode calculateOptionPatterns(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, Rational lastTrade) {
+        return calculateOptionPatterns(optionRoot, optionSeriesFilter, patternList, lastTrade, new StringBuilder());
+    }
+
+    // same as above, building the patterns in the caller's (pooled) StringBuilder
+    static StatusCode calculateOptionPatterns(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, Rational lastTrade, StringBuilder sbPattern) {
         // a little shortcut
-        if (optionSeriesFilter.getCallPut() == CallPutEnum.BOTH && 
-            optionSeriesFilter.getStartDate() == null &&
-            optionSeriesFilter.getEndDate() == null && 
-            optionSeriesFilter.getLowStrike() == null &&
-            optionSeriesFilter.getHighStrike() == null &&
-                !optionSeriesFilter.isAtTheMoney()) {
-            
-            List<String> exchangeFilterList = optionSeriesFilter.getExchangeList();
-            if (exchangeFilterList.size() == 0) {
-                String pattern = root + '/' + '*';
-                patternList.add(new SymbolId(tableNumber, pattern));
+        if (isUnfiltered(optionSeriesFilter)) {
+            return addWildcardPatterns(optionRoot.getRootBase(), optionSeriesFilter, patternList);
+        }
+
+        //Construct a list of expiration dates and strikes that fall within the bounds of the filter.
+        int[] expirationWindow = selectExpirationDates(optionRoot, optionSeriesFilter);
+        int[] strikeWindow = selectStrikePrices(optionRoot, optionSeriesFilter, lastTrade);
+
+        List<Date> expirationDates = optionRoot.getExpirationDates().subList(expirationWindow[0], expirationWindow[1]);
+        List<Rational> strikePrices = optionRoot.getStrikePrices().subList(strikeWindow[0], strikeWindow[1]);
+
+        return addFilteredPatterns(optionRoot.getRootBase(), expirationDates, strikePrices, optionSeriesFilter, patternList, sbPattern);
+    }
+
+    /**
+     * Find the expiration dates of a root within the bounds of the filter, by binary search.
+     * 
+     * @param optionRoot decoded option root
+     * @param optionSeriesFilter filter
+     * @return from (inclusive) and to (exclusive) index into optionRoot.getExpirationDates()
+     */
+    static int[] selectExpirationDates(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter) {
+        int from = 0;
+        int to = optionRoot.getExpirationDates().size();
+
+        int startDate = optionSeriesFilter.startDayNumber;
+        if (startDate != DayNumber.UNDEFINED)
+            from = optionRoot.lowerBoundExpirationDate(startDate);
+
+        int endDate = optionSeriesFilter.endDayNumber;
+        if (endDate != DayNumber.UNDEFINED)
+            to = optionRoot.upperBoundExpirationDate(endDate);
+
+        return new int[] { from, Math.max(from, to) };
+    }
+
+    /**
+     * Find the strike prices of a root within the bounds of the filter and the at the money range or strike
+     * count, by binary search.
+     * 
+     * @param optionRoot decoded option root
+     * @param optionSeriesFilter filter
+     * @param lastTrade last trade
+     * @return from (inclusive) and to (exclusive) index into optionRoot.getStrikePrices()
+     */
+    static int[] selectStrikePrices(OptionRootMetadata optionRoot, OptionSeriesFilter optionSeriesFilter, Rational lastTrade) {
+        int from = 0;
+        int to = optionRoot.getStrikePrices().size();
+
+        long lowStrike = optionSeriesFilter.lowStrikeFixedPoint;
+        if (lowStrike != FixedPoint.UNDEFINED)
+            from = optionRoot.lowerBoundStrikePrice(lowStrike);
+
+        long highStrike = optionSeriesFilter.highStrikeFixedPoint;
+        if (highStrike != FixedPoint.UNDEFINED)
+            to = optionRoot.upperBoundStrikePrice(highStrike);
+
+        long last = FixedPoint.fromRational(lastTrade);
+        if (optionSeriesFilter.isAtTheMoney() && last != FixedPoint.UNDEFINED && last != 0) {
+            int strikeCount = optionSeriesFilter.getAtTheMoneyStrikeCount();
+
+            if (strikeCount > 0) {
+                // strikeCount strikes below the last trade, strikeCount at or above it
+                int atTheMoney = optionRoot.lowerBoundStrikePrice(last);
+                from = Math.max(from, atTheMoney - strikeCount);
+                to = Math.min(to, atTheMoney + strikeCount);
             }
             else {
-                for (String exchangeCode : exchangeFilterList) {
-                    String pattern = root + '/' + '*' + '.' + exchangeCode;
-                    patternList.add(new SymbolId(tableNumber, pattern));
+                long range = optionSeriesFilter.atTheMoneyRangeFixedPoint;
+                if (range != FixedPoint.UNDEFINED && range != 0) {
+                    from = Math.max(from, optionRoot.lowerBoundStrikePrice(last - range));
+                    to = Math.min(to, optionRoot.upperBoundStrikePrice(last + range));
                 }
             }
         }
+
+        return new int[] { from, Math.max(from, to) };
+    }
+
+    // true if the filter selects every contract of a root (on the filtered exchanges)
+    static boolean isUnfiltered(OptionSeriesFilter optionSeriesFilter) {
+        return optionSeriesFilter.getCallPut() == CallPutEnum.BOTH && 
+            optionSeriesFilter.getStartDate() == null &&
+            optionSeriesFilter.getEndDate() == null && 
+            optionSeriesFilter.getLowStrike() == null &&
+            optionSeriesFilter.getHighStrike() == null &&
+                !optionSeriesFilter.isAtTheMoney();
+    }
+
+    // one root/* pattern per filtered exchange
+    private static StatusCode addWildcardPatterns(String root, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList) {
+        // table number assigned in the CalculateOptionPatterns
+        final char tableNumber = TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS;
+
+        List<String> exchangeFilterList = optionSeriesFilter.getExchangeList();
+        if (exchangeFilterList.size() == 0) {
+            String pattern = root + '/' + '*';
+            patternList.add(new SymbolId(tableNumber, pattern));
+        }
         else {
-            try {
-                fieldListValidator.initialize(responseBlock.fieldData);
-            }
-            catch (MiddlewareException e) {
-                return e.getStatusCode();
-            }
-            
-            //Construct a list of expiration dates and strikes that fall within the bounds of the filter.
-            List<Date> expirationDates = new ArrayList<Date>();
-            List<Rational> strikePrices = new ArrayList<Rational>();
-            
-            List<Date> rootExpirationDates = new ArrayList<Date>();
-            try {
-                extractRootExpirationDates(fieldListValidator, rootExpirationDates);
-            } 
-            catch (MiddlewareException e1) {
-                return e1.getStatusCode();
-            }
-            
-            for (Date rootExpirationDate : rootExpirationDates) {
-                doFilterExpirationDate(rootExpirationDate, optionSeriesFilter, expirationDates);
-            }
-            
-            List<Rational> rootStrikePrices = new ArrayList<Rational>();
-            try {
-                extractRootStrikePrices(fieldListValidator, rootStrikePrices);
-            } 
-            catch (MiddlewareException e1) {
-                return e1.getStatusCode();
-            }
-            
-            for (Rational rootStrikePrice : rootStrikePrices) {
-                doFilterStrikePrice(rootStrikePrice, optionSeriesFilter, strikePrices, lastTrade);
+            for (String exchangeCode : exchangeFilterList) {
+                String pattern = root + '/' + '*' + '.' + exchangeCode;
+                patternList.add(new SymbolId(tableNumber, pattern));
             }
-            
-            //The terms to provide to GetMultiplPatternMatch are of the form:
-            //<OCC ROOT>/<Expiration Code>/<Strike Code>.<Exchange Code>
-            //The above loop gave us the set of expiration and strike codes, so now we should generate a pattern for each
-            //exchange specified in the filter.  The root is the responseKey in our responseBlock.
-            List<String> exchangeFilterList = optionSeriesFilter.getExchangeList();
-            
-            StringBuilder sbPattern = new StringBuilder();
-            
-            for (Date expirationDate : expirationDates) {
-                for (Rational strikePrice : strikePrices) {
-                    try {
-                        if (0 == exchangeFilterList.size()) {
+        }
+
+        return StatusCode.STATUS_CODE_SUCCESS;
+    }
+
+    // one pattern per selected expiration x strike x call/put x exchange
+    private static StatusCode addFilteredPatterns(String root, List<Date> expirationDates, List<Rational> strikePrices, OptionSeriesFilter optionSeriesFilter, List<SymbolId> patternList, StringBuilder sbPattern) {
+        StatusCode statusCode = StatusCode.STATUS_CODE_FAILURE;
+
+        // table number assigned in the CalculateOptionPatterns
+        final char tableNumber = TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS;
+
+        //The terms to provide to GetMultiplPatternMatch are of the form:
+        //<OCC ROOT>/<Expiration Code>/<Strike Code>.<Exchange Code>
+        //The caller gave us the set of expiration and strike codes, so now we should generate a pattern for each
+        //exchange specified in the filter.  The root is the responseKey in our responseBlock.
+        List<String> exchangeFilterList = optionSeriesFilter.getExchangeList();
+        
+        for (Date expirationDate : expirationDates) {
+            for (Rational strikePrice : strikePrices) {
+                try {
+                    if (0 == exchangeFilterList.size()) {
+                        if (optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.BOTH || optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.CALL) {
+                            constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_CALL, strikePrice, "*");
+                            patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
+                        }
+
+                        if (optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.BOTH || optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.PUT) {
+                            constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_PUT, strikePrice, "*");
+                            patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
+                        }
+                    }
+                    else {
+                        for (String exchangeCode : exchangeFilterList) {
                             if (optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.BOTH || optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.CALL) {
-                                constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_CALL, strikePrice, "*");
+                                constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_CALL, strikePrice, exchangeCode);
                                 patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
                             }
-    
+                            
                             if (optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.BOTH || optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.PUT) {
-                                constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_PUT, strikePrice, "*");
+                                constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_PUT, strikePrice, exchangeCode);
                                 patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
                             }
                         }
-                        else {
-                            for (String exchangeCode : exchangeFilterList) {
-                                if (optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.BOTH || optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.CALL) {
-                                    constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_CALL, strikePrice, exchangeCode);
-                                    patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
-                                }
-                                
-                                if (optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.BOTH || optionSeriesFilter.callPut == OptionSeriesFilter.CallPutEnum.PUT) {
-                                    constructAliasPattern(patternList, root, sbPattern, expirationDate, OptionType.OPTION_TYPE_PUT, strikePrice, exchangeCode);
-                                    patternList.add(new SymbolId(tableNumber, sbPattern.toString()));
-                                }
-                            }
-                        }
                     }
-                    catch (MiddlewareException e) {
-                        return e.getStatusCode();
-                    }
-
-                    //at least one pattern is required before we regard the process as having succeeded.
-                    statusCode = StatusCode.STATUS_CODE_SUCCESS;
                 }
+                catch (MiddlewareException e) {
+                    return e.getStatusCode();
+                }
+
+                //at least one pattern is required before we regard the process as having succeeded.
+                statusCode = StatusCode.STATUS_CODE_SUCCESS;
             }
-        }        
+        }
 
         return statusCode;
     }
 
     // extract prices from the blob in FID_STRIKE_PRICE_LIST
-    private static void extractRootStrikePrices(FieldListValidator fieldListValidator, List<Rational> rootStrikePrices) throws MiddlewareException {
+    static void extractRootStrikePrices(FieldListValidator fieldListValidator, List<Rational> rootStrikePrices) throws MiddlewareException {
         FieldListValidator.Field strikePricesField = fieldListValidator.getField(FieldIds.FID_STRIKE_PRICE_LIST);
         
         // check if field status is FieldStatusDefined to avoid catching exception
@@ -306,7 +550,7 @@ public class OptionSeriesFilter {
     }
 
     // extract expiration dates in FID_EXPIRATION_DATE_LIST
-    private static void extractRootExpirationDates(FieldListValidator fieldListValidator, List<Date> rootExpirationDates) throws MiddlewareException {
+    static void extractRootExpirationDates(FieldListValidator fieldListValidator, List<Date> rootExpirationDates) throws MiddlewareException {
         FieldListValidator.Field expirationDatesField = fieldListValidator.getField(FieldIds.FID_EXPIRATION_DATE_LIST);
         
         // check if field status is FieldStatusDefined to avoid catching exception
@@ -318,74 +562,112 @@ public class OptionSeriesFilter {
         }
     }
 
-    private static void constructAliasPattern(List<SymbolId> patternList, String root, StringBuilder sbPattern, Date expirationDate, OptionType optionType, Rational strikePrice, String exchangeCode) throws MiddlewareException {
+    static void constructAliasPattern(List<SymbolId> patternList, String root, StringBuilder sbPattern, Date expirationDate, OptionType optionType, Rational strikePrice, String exchangeCode) throws MiddlewareException {
         sbPattern.setLength(0);
         UsEquityOptionHelper.buildAliasSymbol(sbPattern, root, expirationDate, optionType, strikePrice, exchangeCode);
     }
 
-    static private StatusCode crackOptionRoot(String rootSymbol, StringBuilder optionRootBase, StringBuilder exchange) {
+    static StatusCode crackOptionRoot(String rootSymbol, StringBuilder optionRootBase, StringBuilder exchange) {
         int i = rootSymbol.lastIndexOf('.');
         if (-1 == i)
             return StatusCode.STATUS_CODE_INVALID_PARAMETER;
 
-        optionRootBase.append(rootSymbol.substring(0, i));
-
-        if (i == rootSymbol.length()) {
-            return StatusCode.STATUS_CODE_SUCCESS;
-        }
-
-        exchange.append(rootSymbol.substring(i + 1));
+        optionRootBase.append(rootSymbol, 0, i);
+        exchange.append(rootSymbol, i + 1, rootSymbol.length());
 
         return StatusCode.STATUS_CODE_SUCCESS;
     }
     
     // Utility to do the actual expiration date comparison
     static StatusCode doFilterExpirationDate(Date expirationDate, OptionSeriesFilter optionSeriesFilter, List<Date> expirationDates) {
-        // First check that the date is within the bounds of the filter.
-        Date startDate = optionSeriesFilter.getStartDate();
-        Date endDate = optionSeriesFilter.getEndDate();
-
-        if ((startDate != null && startDate.isInitialized()) || (endDate != null && endDate.isInitialized())) {
-            if (endDate != null && endDate.isInitialized()) {
-                if (expirationDate.compareTo(endDate) > 0)
-                    return StatusCode.STATUS_CODE_OUT_OF_RANGE;
-            }
-
-            if (startDate != null && startDate.isInitialized()) {
-                if (expirationDate.compareTo(startDate) < 0)
-                    return StatusCode.STATUS_CODE_OUT_OF_RANGE;
-            }
-        }
+        if (!isExpirationDateSelected(expirationDate, optionSeriesFilter))
+            return StatusCode.STATUS_CODE_OUT_OF_RANGE;
         
         expirationDates.add(expirationDate);
 
         return StatusCode.STATUS_CODE_SUCCESS;
     }
     
-    static private StatusCode doFilterStrikePrice(Rational strikePrice, OptionSeriesFilter optionSeriesFilter, List<Rational> strikePrices, Rational lastTrade) {
-        Rational lower = optionSeriesFilter.getLowStrike();
-        Rational upper = optionSeriesFilter.getHighStrike();
+    // Utility to do the actual strike price comparison
+    static StatusCode doFilterStrikePrice(Rational strikePrice, OptionSeriesFilter optionSeriesFilter, List<Rational> strikePrices, Rational lastTrade) {
+        if (!isStrikePriceSelected(strikePrice, optionSeriesFilter, lastTrade))
+            return StatusCode.STATUS_CODE_OUT_OF_RANGE;
 
-        if ((upper != null && upper.isInitialized()) || (lower != null && lower.isInitialized())) {
+        strikePrices.add(strikePrice);
+        
+        return StatusCode.STATUS_CODE_SUCCESS;
+    }
 
-            if (upper != null && upper.isInitialized()) {
-                if (strikePrice.compareTo(upper) > 0)
-                    return StatusCode.STATUS_CODE_OUT_OF_RANGE;
-            }
+    // true if the expiration date is within the bounds of the filter
+    static boolean isExpirationDateSelected(Date expirationDate, OptionSeriesFilter optionSeriesFilter) {
+        return isExpirationDateSelected(DayNumber.fromDate(expirationDate), optionSeriesFilter);
+    }
 
-            if (lower != null && lower.isInitialized()) {
-                if (strikePrice.compareTo(lower) < 0)
-                    return StatusCode.STATUS_CODE_OUT_OF_RANGE;
-            }
-        }
-        
-        if (optionSeriesFilter.isAtTheMoney() && !optionSeriesFilter.getAtTheMoneyRange().equals(Rational.ZERO) && !lastTrade.equals(Rational.ZERO)) {
-            if (Math.abs(strikePrice.getDouble() - lastTrade.getDouble()) > optionSeriesFilter.getAtTheMoneyRange().getDouble())
-                return StatusCode.STATUS_CODE_OUT_OF_RANGE;
+    // true if the expiration date (DayNumber) is within the bounds of the filter
+    static boolean isExpirationDateSelected(int expirationDate, OptionSeriesFilter optionSeriesFilter) {
+        if (optionSeriesFilter.endDayNumber != DayNumber.UNDEFINED && expirationDate > optionSeriesFilter.endDayNumber)
+            return false;
+
+        if (optionSeriesFilter.startDayNumber != DayNumber.UNDEFINED && expirationDate < optionSeriesFilter.startDayNumber)
+            return false;
+
+        return true;
+    }
+
+    // true if the strike price is within the bounds of the filter and the at the money range
+    static boolean isStrikePriceSelected(Rational strikePrice, OptionSeriesFilter optionSeriesFilter, Rational lastTrade) {
+        return isStrikePriceSelected(FixedPoint.fromRational(strikePrice), optionSeriesFilter, FixedPoint.fromRational(lastTrade));
+    }
+
+    // same as above with the strike price and last trade as FixedPoint
+    static boolean isStrikePriceSelected(long strikePrice, OptionSeriesFilter optionSeriesFilter, long lastTrade) {
+        long upper = optionSeriesFilter.highStrikeFixedPoint;
+        if (upper != FixedPoint.UNDEFINED && strikePrice > upper)
+            return false;
+
+        long lower = optionSeriesFilter.lowStrikeFixedPoint;
+        if (lower != FixedPoint.UNDEFINED && strikePrice < lower)
+            return false;
+
+        // the strike count is per root, it can only be applied to the root's strike list (selectStrikePrices)
+        long range = optionSeriesFilter.atTheMoneyRangeFixedPoint;
+        if (optionSeriesFilter.isAtTheMoney() && optionSeriesFilter.getAtTheMoneyStrikeCount() <= 0 && range != FixedPoint.UNDEFINED && range != 0 &&
+            lastTrade != FixedPoint.UNDEFINED && lastTrade != 0) {
+            if (Math.abs(strikePrice - lastTrade) > range)
+                return false;
         }
 
-        strikePrices.add(strikePrice);
-        
-        return StatusCode.STATUS_CODE_SUCCESS;
+        return true;
+    }
+
+    // true if the option type is selected by the filter
+    static boolean isCallPutSelected(boolean isCall, OptionSeriesFilter optionSeriesFilter) {
+        return optionSeriesFilter.callPut == CallPutEnum.BOTH || (optionSeriesFilter.callPut == CallPutEnum.CALL) == isCall;
+    }
+
+    /**
+     * Apply the expiration, strike and call/put bounds of the filter to a returned option. Used to trim options
+     * fetched by wildcard patterns that cover more than the filter selects.
+     * 
+     * @param fieldListValidator field list validator initialized with the option's field data
+     * @param optionSeriesFilter filter
+     * @param lastTrade last trade
+     * @return true if the option is selected by the filter
+     */
+    static boolean isOptionSelected(FieldListValidator fieldListValidator, OptionSeriesFilter optionSeriesFilter, Rational lastTrade) throws MiddlewareException {
+        return isOptionSelected(fieldListValidator, optionSeriesFilter, FixedPoint.fromRational(lastTrade));
+    }
+
+    // same as above with the last trade as FixedPoint
+    static boolean isOptionSelected(FieldListValidator fieldListValidator, OptionSeriesFilter optionSeriesFilter, long lastTrade) throws MiddlewareException {
+        int expirationDate = FieldValues.getDayNumber(fieldListValidator, FieldIds.FID_EXPIRATION_DATE);
+        if (expirationDate != DayNumber.UNDEFINED && !isExpirationDateSelected(expirationDate, optionSeriesFilter))
+            return false;
+
+        long strikePrice = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_STRIKE_PRICE);
+        if (strikePrice != FixedPoint.UNDEFINED && !isStrikePriceSelected(strikePrice, optionSeriesFilter, lastTrade))
+            return false;
+
+        return isCallPutSelected(FieldValues.isCall(fieldListValidator), optionSeriesFilter);
     }
 }
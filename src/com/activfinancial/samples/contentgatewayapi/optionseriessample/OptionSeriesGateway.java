@@ -0,0 +1,34 @@
+/**
+ * OptionSeriesGateway.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * The two content gateway requests the option series helpers depend on. The live implementation
+ * forwards to a connected ContentGatewayClient, the simulated one answers in process.
+ */
+public interface OptionSeriesGateway {
+
+    /**
+     * Send a GetMatch request (option roots, last trade).
+     * 
+     * @param requestParameters request parameters
+     * @param responseParameters response parameters to populate
+     * @return StatusCode
+     */
+    StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters);
+
+    /**
+     * Send a GetPattern request (option contracts).
+     * 
+     * @param requestParameters request parameters
+     * @param responseParameters response parameters to populate
+     * @return StatusCode
+     */
+    StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters);
+}
@@ -0,0 +1,368 @@
+/**
+ * OptionSeriesMetrics.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Latency histograms of the stages of getOptionSeries calls and counters of what they did, set in
+ * OptionSeriesSettings to turn the instrumentation on. Thread safe, one instance can be shared by the settings
+ * of many threads. Read with getMetrics(), or through JMX once registered with an OptionSeriesMetricsRegistry.
+ *
+ * Allocations are those of the calling thread (HotSpot thread allocation counters), pipelined pattern requests
+ * sent on executor threads are not included. Calls that can't be measured that way (AsyncOptionSeriesClient
+ * calls, whose stages run on different threads) are left out of allocatedBytes and of allocatedBytesPerCall.
+ */
+public class OptionSeriesMetrics implements DynamicMBean {
+
+    /**
+     * Timed stages of a call.
+     */
+    public enum Stage {
+        // the whole call
+        CALL("call"),
+        // GetMatch of the option roots and last trade
+        ROOT_REQUEST("rootRequest"),
+        // last trade from the GetMatch response
+        LAST_TRADE("lastTrade"),
+        // option patterns from the roots and filter
+        PATTERN_CALCULATION("patternCalculation"),
+        // GetPattern round trip, one per chunk
+        PATTERN_REQUEST("patternRequest"),
+        // option response blocks to options, one per response (chunk)
+        DECODE("decode");
+
+        private final String name;
+
+        private Stage(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    // names of the counters (Long) and per call averages (Double)
+    private static final String[] COUNTER_NAMES = { "callCount", "failedCallCount", "patternCount", "responseBlockCount",
+        "invalidResponseCount", "bytesDecoded", "allocatedBytes", "allocationCallCount" };
+    private static final String[] PER_CALL_NAMES = { "patternsPerCall", "responseBlocksPerCall", "bytesDecodedPerCall", "allocatedBytesPerCall" };
+
+    // statistics of each stage's histogram, the count is a Long and the rest Doubles
+    private static final String[] HISTOGRAM_NAMES = { "count", "meanMicros", "p50Micros", "p90Micros", "p99Micros", "p999Micros", "maxMicros" };
+
+    // every metric, sorted by name
+    private static final List<String> METRIC_NAMES = new ArrayList<String>();
+
+    // the metrics are fixed, so is the MBeanInfo
+    private static final MBeanInfo MBEAN_INFO;
+
+    static {
+        Map<String, String> types = new TreeMap<String, String>();
+
+        for (String name : COUNTER_NAMES)
+            types.put(name, Long.class.getName());
+        for (String name : PER_CALL_NAMES)
+            types.put(name, Double.class.getName());
+        for (Stage stage : STAGES) {
+            for (String name : HISTOGRAM_NAMES)
+                types.put(stage.getName() + "." + name, ("count".equals(name) ? Long.class : Double.class).getName());
+        }
+
+        List<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>();
+        for (Map.Entry<String, String> entry : types.entrySet()) {
+            METRIC_NAMES.add(entry.getKey());
+            attributes.add(new MBeanAttributeInfo(entry.getKey(), entry.getValue(), entry.getKey(), true, false, false));
+        }
+
+        MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Reset every metric", new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+
+        MBEAN_INFO = new MBeanInfo(OptionSeriesMetrics.class.getName(), "getOptionSeries stage latencies and counters",
+            attributes.toArray(new MBeanAttributeInfo[attributes.size()]), new MBeanConstructorInfo[0],
+            new MBeanOperationInfo[] { reset }, new MBeanNotificationInfo[0]);
+    }
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder failedCallCount = new LongAdder();
+    private final LongAdder patternCount = new LongAdder();
+    private final LongAdder responseBlockCount = new LongAdder();
+    private final LongAdder invalidResponseCount = new LongAdder();
+    private final LongAdder bytesDecoded = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    // calls whose allocations were measured
+    private final LongAdder allocationCallCount = new LongAdder();
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    public OptionSeriesMetrics() {
+        for (int i = 0; i < histograms.length; i++)
+            histograms[i] = new LatencyHistogram();
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported())
+            threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        else
+            threadMXBean = null;
+    }
+
+    public LatencyHistogram getHistogram(Stage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    /**
+     * Record the time of a stage.
+     * @param stage stage
+     * @param startNanos System.nanoTime() at the start of the stage
+     */
+    public void record(Stage stage, long startNanos) {
+        histograms[stage.ordinal()].recordSince(startNanos);
+    }
+
+    /**
+     * @return bytes allocated by the calling thread so far, -1 if not supported
+     */
+    long getThreadAllocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Record a finished call.
+     * @param startNanos System.nanoTime() at the start of the call
+     * @param startAllocatedBytes getThreadAllocatedBytes() at the start of the call, -1 if not measured
+     * @param succeeded true if the call succeeded
+     */
+    void recordCall(long startNanos, long startAllocatedBytes, boolean succeeded) {
+        record(Stage.CALL, startNanos);
+        callCount.increment();
+        if (!succeeded)
+            failedCallCount.increment();
+
+        if (startAllocatedBytes >= 0) {
+            allocatedBytes.add(Math.max(0, getThreadAllocatedBytes() - startAllocatedBytes));
+            allocationCallCount.increment();
+        }
+    }
+
+    void addPatterns(int count) {
+        patternCount.add(count);
+    }
+
+    void addResponseBlock(boolean valid, int fieldDataLength) {
+        responseBlockCount.increment();
+        if (!valid)
+            invalidResponseCount.increment();
+        bytesDecoded.add(fieldDataLength);
+    }
+
+    public long getCallCount() {
+        return callCount.sum();
+    }
+
+    public long getFailedCallCount() {
+        return failedCallCount.sum();
+    }
+
+    public long getPatternCount() {
+        return patternCount.sum();
+    }
+
+    public long getResponseBlockCount() {
+        return responseBlockCount.sum();
+    }
+
+    public long getInvalidResponseCount() {
+        return invalidResponseCount.sum();
+    }
+
+    public long getBytesDecoded() {
+        return bytesDecoded.sum();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * @return calls whose allocations are in getAllocatedBytes()
+     */
+    public long getAllocationCallCount() {
+        return allocationCallCount.sum();
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms)
+            histogram.reset();
+
+        callCount.reset();
+        failedCallCount.reset();
+        patternCount.reset();
+        responseBlockCount.reset();
+        invalidResponseCount.reset();
+        bytesDecoded.reset();
+        allocatedBytes.reset();
+        allocationCallCount.reset();
+    }
+
+    /**
+     * Get every metric by name, e.g. "callCount", "patternRequest.p99Micros". Histograms give count, meanMicros,
+     * p50Micros, p90Micros, p99Micros, p999Micros and maxMicros; the per call counters give averages as well.
+     *
+     * @return metrics sorted by name
+     */
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new TreeMap<String, Number>();
+
+        for (String name : METRIC_NAMES)
+            metrics.put(name, getMetric(name));
+
+        return metrics;
+    }
+
+    /**
+     * Get one metric, without computing the others.
+     *
+     * @param name name, as in getMetrics()
+     * @return value, or null if there is no such metric
+     */
+    public Number getMetric(String name) {
+        switch (name) {
+            case "callCount":
+                return getCallCount();
+            case "failedCallCount":
+                return getFailedCallCount();
+            case "patternCount":
+                return getPatternCount();
+            case "responseBlockCount":
+                return getResponseBlockCount();
+            case "invalidResponseCount":
+                return getInvalidResponseCount();
+            case "bytesDecoded":
+                return getBytesDecoded();
+            case "allocatedBytes":
+                return getAllocatedBytes();
+            case "allocationCallCount":
+                return getAllocationCallCount();
+            case "patternsPerCall":
+                return perCall(getPatternCount(), getCallCount());
+            case "responseBlocksPerCall":
+                return perCall(getResponseBlockCount(), getCallCount());
+            case "bytesDecodedPerCall":
+                return perCall(getBytesDecoded(), getCallCount());
+            case "allocatedBytesPerCall":
+                return perCall(getAllocatedBytes(), getAllocationCallCount());
+        }
+
+        // <stage>.<statistic>
+        int i = name.indexOf('.');
+        if (-1 == i)
+            return null;
+
+        Stage stage = getStage(name.substring(0, i));
+        if (stage == null)
+            return null;
+
+        LatencyHistogram histogram = getHistogram(stage);
+        switch (name.substring(i + 1)) {
+            case "count":
+                return histogram.getCount();
+            case "meanMicros":
+                return histogram.getMean() / 1000;
+            case "p50Micros":
+                return histogram.getPercentile(50) / 1000.0;
+            case "p90Micros":
+                return histogram.getPercentile(90) / 1000.0;
+            case "p99Micros":
+                return histogram.getPercentile(99) / 1000.0;
+            case "p999Micros":
+                return histogram.getPercentile(99.9) / 1000.0;
+            case "maxMicros":
+                return histogram.getMaximum() / 1000.0;
+            default:
+                return null;
+        }
+    }
+
+    private static Stage getStage(String name) {
+        for (Stage stage : STAGES) {
+            if (stage.getName().equals(name))
+                return stage;
+        }
+        return null;
+    }
+
+    private static double perCall(long value, long calls) {
+        return calls == 0 ? 0 : (double) value / calls;
+    }
+
+    // DynamicMBean, one read only attribute per metric and a reset operation
+
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Number value = getMetric(attribute);
+        if (value == null)
+            throw new AttributeNotFoundException(attribute);
+        return value;
+    }
+
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Read only: " + attribute.getName());
+    }
+
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList attributeList = new AttributeList();
+        for (String attribute : attributes) {
+            Number value = getMetric(attribute);
+            if (value != null)
+                attributeList.add(new Attribute(attribute, value));
+        }
+        return attributeList;
+    }
+
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        if ("reset".equals(actionName) && (params == null || params.length == 0)) {
+            reset();
+            return null;
+        }
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    public MBeanInfo getMBeanInfo() {
+        return MBEAN_INFO;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("OptionSeriesMetrics calls: ").append(getCallCount());
+        for (Stage stage : STAGES)
+            sb.append("\n  ").append(stage.getName()).append(": ").append(getHistogram(stage));
+        return sb.append("\n  patterns: ").append(getPatternCount()).append(", response blocks: ").append(getResponseBlockCount())
+            .append(", invalid: ").append(getInvalidResponseCount()).append(", bytes decoded: ").append(getBytesDecoded())
+            .append(", allocated bytes: ").append(getAllocatedBytes()).toString();
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * OptionSeriesMetricsRegistry.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Named OptionSeriesMetrics, e.g. one per gateway or per kind of request, queryable by name prefix and
+ * optionally registered with the platform MBean server as
+ * com.activfinancial.samples.optionseries:type=OptionSeriesMetrics,name=&lt;name&gt;.
+ */
+public class OptionSeriesMetricsRegistry {
+
+    static public final String JMX_DOMAIN = "com.activfinancial.samples.optionseries";
+
+    private final ConcurrentMap<String, OptionSeriesMetrics> metricsByName = new ConcurrentHashMap<String, OptionSeriesMetrics>();
+
+    private final MBeanServer mBeanServer;
+
+    /**
+     * Registry without JMX.
+     */
+    public OptionSeriesMetricsRegistry() {
+        this(null);
+    }
+
+    /**
+     * @param mBeanServer server the metrics are registered with, e.g. ManagementFactory.getPlatformMBeanServer(), or null
+     */
+    public OptionSeriesMetricsRegistry(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * Registry publishing to the platform MBean server.
+     * @return registry
+     */
+    static public OptionSeriesMetricsRegistry withPlatformMBeanServer() {
+        return new OptionSeriesMetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Get the metrics of a name, created and registered the first time.
+     * @param name name
+     * @return metrics
+     */
+    public OptionSeriesMetrics getOrCreate(String name) {
+        OptionSeriesMetrics metrics = metricsByName.get(name);
+        if (metrics != null)
+            return metrics;
+
+        OptionSeriesMetrics newMetrics = new OptionSeriesMetrics();
+        metrics = metricsByName.putIfAbsent(name, newMetrics);
+        if (metrics != null)
+            return metrics;
+
+        registerMBean(name, newMetrics);
+        return newMetrics;
+    }
+
+    /**
+     * @param name name
+     * @return metrics, null if none
+     */
+    public OptionSeriesMetrics get(String name) {
+        return metricsByName.get(name);
+    }
+
+    public Set<String> getNames() {
+        return new TreeSet<String>(metricsByName.keySet());
+    }
+
+    /**
+     * Remove the metrics of a name, and from JMX.
+     * @param name name
+     */
+    public void remove(String name) {
+        if (metricsByName.remove(name) != null && mBeanServer != null) {
+            try {
+                mBeanServer.unregisterMBean(objectName(name));
+            }
+            catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Query metrics, keys are "&lt;name&gt;.&lt;metric&gt;", e.g. "live.patternRequest.p99Micros".
+     *
+     * @param prefix key prefix, e.g. "live." or "live.patternRequest", "" for everything
+     * @return matching metrics sorted by key
+     */
+    public Map<String, Number> query(String prefix) {
+        Map<String, Number> result = new TreeMap<String, Number>();
+
+        for (Map.Entry<String, OptionSeriesMetrics> entry : metricsByName.entrySet()) {
+            String name = entry.getKey() + ".";
+
+            // skip metrics that can't match without computing their percentiles
+            if (!name.startsWith(prefix) && !prefix.startsWith(name))
+                continue;
+
+            for (Map.Entry<String, Number> metric : entry.getValue().getMetrics().entrySet()) {
+                String key = name + metric.getKey();
+                if (key.startsWith(prefix))
+                    result.put(key, metric.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    private void registerMBean(String name, OptionSeriesMetrics metrics) {
+        if (mBeanServer == null)
+            return;
+
+        try {
+            mBeanServer.registerMBean(metrics, objectName(name));
+        }
+        catch (JMException e) {
+            // still usable through the registry
+            e.printStackTrace();
+        }
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=OptionSeriesMetrics,name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * OptionSeriesResult.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.List;
+
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * StatusCode and options of one option series request completed asynchronously.
+ */
+public class OptionSeriesResult {
+
+    private final String symbol;
+    private final StatusCode statusCode;
+    private final List<OptionInfo> options;
+
+    public OptionSeriesResult(String symbol, StatusCode statusCode, List<OptionInfo> options) {
+        this.symbol = symbol;
+        this.statusCode = statusCode;
+        this.options = options;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public StatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isSuccess() {
+        return statusCode == StatusCode.STATUS_CODE_SUCCESS;
+    }
+
+    /**
+     * @return options, empty if the request failed
+     */
+    public List<OptionInfo> getOptions() {
+        return options;
+    }
+
+    public String toString() {
+        return symbol + ": " + statusCode + ", " + options.size() + " options";
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * OptionSeriesSettings.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Optional behaviour of GetOptionSeriesHelper.getOptionSeries. The defaults give the plain two step fetch.
+ */
+public class OptionSeriesSettings {
+
+    // cache of decoded option roots, null to fetch the roots on every call
+    private RootMetadataCache rootMetadataCache;
+
+    // compacts the patterns of filtered queries, null to send one pattern per contract
+    private OptionPatternPlanner patternPlanner;
+
+    // patterns per GetPattern request, 0 to send all patterns in one request
+    private int patternChunkSize;
+
+    // GetPattern chunks sent concurrently
+    private int maximumPatternRequestsInFlight = 4;
+
+    // executor the chunks are sent on, null to send them one after the other on the calling thread
+    private ExecutorService patternRequestExecutor;
+
+    // underlyings per option root GetMatch request of the bulk fetch, 0 to send all symbols in one request
+    private int maximumSymbolsPerRootRequest;
+
+    // pooled workspaces, makes getOptionSeries thread safe; null to use the caller's field list validator
+    private OptionSeriesWorkspacePool workspacePool;
+
+    // decodes the fields of lazy OptionInfo instances on access, null to clone every field up front
+    private OptionInfoDecoder optionInfoDecoder;
+
+    // stage latencies and counters of the calls, null for no instrumentation
+    private OptionSeriesMetrics metrics;
+
+    public RootMetadataCache getRootMetadataCache() {
+        return rootMetadataCache;
+    }
+
+    public void setRootMetadataCache(RootMetadataCache rootMetadataCache) {
+        this.rootMetadataCache = rootMetadataCache;
+    }
+
+    public OptionPatternPlanner getPatternPlanner() {
+        return patternPlanner;
+    }
+
+    public void setPatternPlanner(OptionPatternPlanner patternPlanner) {
+        this.patternPlanner = patternPlanner;
+    }
+
+    public int getPatternChunkSize() {
+        return patternChunkSize;
+    }
+
+    public void setPatternChunkSize(int patternChunkSize) {
+        this.patternChunkSize = patternChunkSize;
+    }
+
+    public int getMaximumPatternRequestsInFlight() {
+        return maximumPatternRequestsInFlight;
+    }
+
+    public void setMaximumPatternRequestsInFlight(int maximumPatternRequestsInFlight) {
+        this.maximumPatternRequestsInFlight = maximumPatternRequestsInFlight;
+    }
+
+    public ExecutorService getPatternRequestExecutor() {
+        return patternRequestExecutor;
+    }
+
+    public void setPatternRequestExecutor(ExecutorService patternRequestExecutor) {
+        this.patternRequestExecutor = patternRequestExecutor;
+    }
+
+    public int getMaximumSymbolsPerRootRequest() {
+        return maximumSymbolsPerRootRequest;
+    }
+
+    public void setMaximumSymbolsPerRootRequest(int maximumSymbolsPerRootRequest) {
+        this.maximumSymbolsPerRootRequest = maximumSymbolsPerRootRequest;
+    }
+
+    public OptionSeriesWorkspacePool getWorkspacePool() {
+        return workspacePool;
+    }
+
+    public void setWorkspacePool(OptionSeriesWorkspacePool workspacePool) {
+        this.workspacePool = workspacePool;
+    }
+
+    public OptionInfoDecoder getOptionInfoDecoder() {
+        return optionInfoDecoder;
+    }
+
+    public void setOptionInfoDecoder(OptionInfoDecoder optionInfoDecoder) {
+        this.optionInfoDecoder = optionInfoDecoder;
+    }
+
+    public OptionSeriesMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(OptionSeriesMetrics metrics) {
+        this.metrics = metrics;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * OptionSeriesWorkspace.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.List;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+
+/**
+ * The objects one getOptionSeries call works with. Used by one call at a time, either constructed for the call
+ * or borrowed from an OptionSeriesWorkspacePool.
+ */
+final class OptionSeriesWorkspace {
+
+    final FieldListValidator fieldListValidator;
+
+    final GetMatch.RequestParameters optionRootsRequestParameters = new GetMatch.RequestParameters();
+    final GetMatch.ResponseParameters optionRootsResponseParameters = new GetMatch.ResponseParameters();
+
+    final GetPattern.RequestParameters optionsRequestParameters = new GetPattern.RequestParameters();
+    final GetPattern.ResponseParameters optionsResponseParameters = new GetPattern.ResponseParameters();
+
+    // option patterns are built in here
+    final StringBuilder sbPattern = new StringBuilder();
+
+    // decoded option roots of the call, null to build the patterns from the option root response blocks
+    List<OptionRootMetadata> optionRoots;
+
+    OptionSeriesWorkspace(FieldListValidator fieldListValidator) {
+        this.fieldListValidator = fieldListValidator;
+    }
+
+    // drop the previous call's symbols, patterns and response blocks
+    void reset() {
+        optionRootsRequestParameters.symbolIdList.clear();
+        optionRootsRequestParameters.requestBlockList.clear();
+        optionRootsResponseParameters.responseBlockList.clear();
+
+        optionsRequestParameters.symbolPatternList.clear();
+        optionsRequestParameters.requestBlockList.clear();
+        optionsResponseParameters.responseBlockList.clear();
+
+        sbPattern.setLength(0);
+
+        optionRoots = null;
+    }
+}
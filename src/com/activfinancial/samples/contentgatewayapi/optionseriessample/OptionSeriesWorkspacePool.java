@@ -0,0 +1,95 @@
+/**
+ * OptionSeriesWorkspacePool.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+
+/**
+ * Pool of the field list validators, request/response parameters and StringBuilders getOptionSeries works with.
+ * Set it in OptionSeriesSettings to make getOptionSeries safe to call from any number of threads: every call
+ * borrows its own workspace for its duration, and the fieldListValidator argument is not used.
+ *
+ * The pool is a lock free queue rather than thread local storage, so virtual threads (one per request, never
+ * reused) share the workspaces of the calls that have completed instead of each allocating their own, and no
+ * carrier thread is pinned waiting for it. At most maximumIdle workspaces are kept, extra ones are dropped on release.
+ */
+public class OptionSeriesWorkspacePool {
+
+    private final ContentGatewayClient client;
+    private final int maximumIdle;
+
+    private final ConcurrentLinkedQueue<OptionSeriesWorkspace> idleWorkspaces = new ConcurrentLinkedQueue<OptionSeriesWorkspace>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicLong createdCount = new AtomicLong();
+
+    /**
+     * @param client client the field list validators are constructed with
+     */
+    public OptionSeriesWorkspacePool(ContentGatewayClient client) {
+        this(client, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param client client the field list validators are constructed with
+     * @param maximumIdle maximum number of workspaces kept between calls
+     */
+    public OptionSeriesWorkspacePool(ContentGatewayClient client, int maximumIdle) {
+        if (maximumIdle < 0)
+            throw new IllegalArgumentException("maximumIdle should not be negative.");
+
+        this.client = client;
+        this.maximumIdle = maximumIdle;
+    }
+
+    OptionSeriesWorkspace acquire() {
+        OptionSeriesWorkspace workspace = idleWorkspaces.poll();
+        if (workspace != null) {
+            idleCount.decrementAndGet();
+            return workspace;
+        }
+
+        createdCount.incrementAndGet();
+        return new OptionSeriesWorkspace(new FieldListValidator(client));
+    }
+
+    void release(OptionSeriesWorkspace workspace) {
+        workspace.reset();
+
+        if (idleCount.incrementAndGet() <= maximumIdle)
+            idleWorkspaces.offer(workspace);
+        else
+            idleCount.decrementAndGet();
+    }
+
+    public int getMaximumIdle() {
+        return maximumIdle;
+    }
+
+    /**
+     * Get number of workspaces waiting to be reused
+     * @return idle count
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Get number of workspaces constructed since the pool was constructed, a high count relative to the number of concurrent
+     * calls means maximumIdle is too low
+     * @return created count
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public String toString() {
+        return "OptionSeriesWorkspacePool idle: " + idleCount.get() + "/" + maximumIdle + ", created: " + createdCount.get();
+    }
+}
@@ -0,0 +1,406 @@
+/**
+ * OptionUniverseScanner.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * Fetches the option series of every symbol of a universe (e.g. every optionable underlying).
+ *
+ * At most concurrency symbols are fetched at once, and when requestsPerSecond is set every GetMatch and
+ * GetPattern of the scan takes a token from one token bucket first. A symbol failing with a transient StatusCode
+ * (timeout, busy, not connected) is fetched again after an exponential backoff with jitter, up to
+ * maximumAttempts times. Each finished symbol is appended to the checkpoint file, if set, with its StatusCode;
+ * a scan given the same file skips the symbols that succeeded or failed for good, and fetches again the ones
+ * that ran out of attempts on a transient failure, so a scan interrupted by a gateway outage resumes where it
+ * stopped and retries what the outage failed. Delete the file to scan from the start.
+ *
+ * The settings need a workspace pool.
+ */
+public class OptionUniverseScanner {
+
+    /**
+     * Receives the result of each symbol, on the scanning threads. A symbol whose onResult throws counts as
+     * failed and is not checkpointed, the scan goes on with the next one.
+     */
+    public interface Listener {
+        void onResult(OptionSeriesResult result);
+    }
+
+    private final OptionSeriesGateway gateway;
+    private final OptionSeriesSettings settings;
+
+    private int concurrency = 4;
+    private double requestsPerSecond;
+    private int burst = 10;
+    private int maximumAttempts = 3;
+    private long initialBackoffMillis = 100;
+    private long maximumBackoffMillis = 5000;
+    private Path checkpointFile;
+
+    private volatile boolean stopped;
+
+    private final AtomicLong succeededCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    /**
+     * @param gateway gateway the requests are sent to
+     * @param settings settings, with a workspace pool
+     */
+    public OptionUniverseScanner(OptionSeriesGateway gateway, OptionSeriesSettings settings) {
+        if (settings.getWorkspacePool() == null)
+            throw new IllegalArgumentException("Settings should have a workspace pool.");
+
+        this.gateway = gateway;
+        this.settings = settings;
+    }
+
+    /**
+     * Read a universe file, one symbol per line; blank lines and lines starting with # are skipped.
+     *
+     * @param file file
+     * @return symbols
+     * @throws IOException reading the file failed
+     */
+    static public List<String> readUniverse(Path file) throws IOException {
+        List<String> symbols = new ArrayList<String>();
+
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#"))
+                    symbols.add(line);
+            }
+        }
+        finally {
+            reader.close();
+        }
+
+        return symbols;
+    }
+
+    /**
+     * Scan a universe, blocking until every symbol is done or the scan is stopped.
+     *
+     * @param symbols symbols
+     * @param optionSeriesFilter filter, not to be changed during the scan
+     * @param requestBlockOptions request block for options
+     * @param listener listener of the results
+     * @return STATUS_CODE_SUCCESS if the scan got to the end (failed symbols are reported to the listener),
+     * STATUS_CODE_FAILURE if it was stopped, interrupted, the checkpoint file failed or the listener threw
+     */
+    public StatusCode scan(List<String> symbols, final OptionSeriesFilter optionSeriesFilter, final RequestBlock requestBlockOptions, final Listener listener) {
+        if (optionSeriesFilter == null)
+            throw new IllegalArgumentException("Filter should not be null.");
+
+        stopped = false;
+
+        final Checkpoint checkpoint;
+        try {
+            checkpoint = checkpointFile != null ? new Checkpoint(checkpointFile) : null;
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return StatusCode.STATUS_CODE_FAILURE;
+        }
+
+        final List<String> pendingSymbols = new ArrayList<String>(symbols.size());
+        for (String symbol : symbols) {
+            if (checkpoint != null && checkpoint.isDone(symbol))
+                skippedCount.incrementAndGet();
+            else
+                pendingSymbols.add(symbol);
+        }
+
+        final OptionSeriesGateway scanGateway = requestsPerSecond > 0 ? new RateLimitedOptionSeriesGateway(gateway, new TokenBucket(requestsPerSecond, burst)) : gateway;
+        final AtomicInteger nextSymbol = new AtomicInteger();
+        final AtomicInteger failure = new AtomicInteger();
+
+        int threadCount = Math.max(1, Math.min(concurrency, pendingSymbols.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    int index;
+                    while (!stopped && (index = nextSymbol.getAndIncrement()) < pendingSymbols.size()) {
+                        String symbol = pendingSymbols.get(index);
+
+                        OptionSeriesResult result = fetch(scanGateway, symbol, optionSeriesFilter, requestBlockOptions);
+                        if (result == null) {
+                            // interrupted, the symbol is fetched again on resume
+                            failure.incrementAndGet();
+                            break;
+                        }
+
+                        try {
+                            listener.onResult(result);
+                        }
+                        catch (RuntimeException e) {
+                            // the symbol wasn't processed: failed, and fetched again on resume
+                            e.printStackTrace();
+                            failedCount.incrementAndGet();
+                            failure.incrementAndGet();
+                            continue;
+                        }
+
+                        if (result.isSuccess())
+                            succeededCount.incrementAndGet();
+                        else
+                            failedCount.incrementAndGet();
+
+                        if (checkpoint != null && !checkpoint.markDone(symbol, result.getStatusCode())) {
+                            failure.incrementAndGet();
+                            break;
+                        }
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e) {
+            stopped = true;
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            failure.incrementAndGet();
+        }
+        finally {
+            if (checkpoint != null)
+                checkpoint.close();
+        }
+
+        return failure.get() == 0 && !stopped ? StatusCode.STATUS_CODE_SUCCESS : StatusCode.STATUS_CODE_FAILURE;
+    }
+
+    // fetch one symbol, retrying transient failures, null if interrupted
+    private OptionSeriesResult fetch(OptionSeriesGateway scanGateway, String symbol, OptionSeriesFilter optionSeriesFilter, RequestBlock requestBlockOptions) {
+        for (int attempt = 1; ; attempt++) {
+            List<OptionInfo> options = new ArrayList<OptionInfo>();
+            StatusCode statusCode = GetOptionSeriesHelper.getOptionSeries(scanGateway, settings, null, symbol, optionSeriesFilter, requestBlockOptions, options);
+
+            if (Thread.currentThread().isInterrupted())
+                return null;
+
+            if (statusCode == StatusCode.STATUS_CODE_SUCCESS || !isTransient(statusCode) || attempt >= maximumAttempts || stopped)
+                return new OptionSeriesResult(symbol, statusCode, statusCode == StatusCode.STATUS_CODE_SUCCESS ? options : Collections.<OptionInfo>emptyList());
+
+            retryCount.incrementAndGet();
+            try {
+                Thread.sleep(getBackoffMillis(attempt));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    // exponential backoff, half of it random so retries of many symbols don't arrive together
+    private long getBackoffMillis(int attempt) {
+        long backoff = Math.min(maximumBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * @param statusCode StatusCode of a request
+     * @return true if the request may succeed if sent again
+     */
+    static public boolean isTransient(StatusCode statusCode) {
+        return statusCode == StatusCode.STATUS_CODE_TIMEOUT || statusCode == StatusCode.STATUS_CODE_BUSY || statusCode == StatusCode.STATUS_CODE_NOT_CONNECTED;
+    }
+
+    /**
+     * Stop the scan in progress; the symbols being fetched finish, the others are left for a resume.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @param concurrency symbols fetched at once
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency <= 0)
+            throw new IllegalArgumentException("Concurrency should be positive.");
+
+        this.concurrency = concurrency;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    /**
+     * @param requestsPerSecond gateway requests per second of the scan, 0 for no limit
+     */
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * @param burst requests sent at once above the rate after an idle period, at least 1
+     */
+    public void setBurst(int burst) {
+        if (burst < 1)
+            throw new IllegalArgumentException("Burst should be at least 1.");
+
+        this.burst = burst;
+    }
+
+    public int getMaximumAttempts() {
+        return maximumAttempts;
+    }
+
+    public void setMaximumAttempts(int maximumAttempts) {
+        this.maximumAttempts = maximumAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public long getMaximumBackoffMillis() {
+        return maximumBackoffMillis;
+    }
+
+    public void setMaximumBackoffMillis(long maximumBackoffMillis) {
+        this.maximumBackoffMillis = maximumBackoffMillis;
+    }
+
+    public Path getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    /**
+     * @param checkpointFile file the finished symbols are appended to, null for none
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public long getSucceededCount() {
+        return succeededCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * @return symbols skipped because the checkpoint had them
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    public String toString() {
+        return "OptionUniverseScanner succeeded: " + getSucceededCount() + ", failed: " + getFailedCount() + ", retries: " + getRetryCount() + ", skipped: " + getSkippedCount();
+    }
+
+    // finished symbols, one "symbol<tab>StatusCode" line each; the last line of a symbol wins
+    private static class Checkpoint {
+        private final Set<String> doneSymbols = new HashSet<String>();
+        private final BufferedWriter writer;
+
+        Checkpoint(Path file) throws IOException {
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int tab = line.indexOf('\t');
+                    if (tab <= 0)
+                        continue;
+
+                    // symbols that failed on a transient (or unknown) StatusCode are fetched again
+                    String symbol = line.substring(0, tab);
+                    if (isDoneStatus(line.substring(tab + 1)))
+                        doneSymbols.add(symbol);
+                    else
+                        doneSymbols.remove(symbol);
+                }
+            }
+
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        boolean isDone(String symbol) {
+            return doneSymbols.contains(symbol);
+        }
+
+        // is a symbol checkpointed with a StatusCode name done
+        private static boolean isDoneStatus(String statusCodeName) {
+            try {
+                return !isTransient(StatusCode.valueOf(statusCodeName));
+            }
+            catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        // flushed per symbol, so a crash loses at most the symbols in flight
+        synchronized boolean markDone(String symbol, StatusCode statusCode) {
+            try {
+                writer.write(symbol + '\t' + statusCode.name());
+                writer.newLine();
+                writer.flush();
+                return true;
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+                return false;
+            }
+        }
+
+        synchronized void close() {
+            try {
+                writer.close();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * OptionUpdateFeed.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+
+/**
+ * Recorded sequence of updates (symbol and raw field data) that can be replayed into an OptionUpdateHandler
+ * any number of times, e.g. to drive a LiveOptionChain in tests without a subscription.
+ * SimulatedOptionSeriesGateway.generateUpdates fills one with synthetic quote updates. Not thread safe.
+ */
+public class OptionUpdateFeed {
+
+    private final List<String> symbols = new ArrayList<String>();
+    private final List<byte[]> fieldData = new ArrayList<byte[]>();
+
+    /**
+     * Append an update.
+     *
+     * @param symbol symbol the update is for
+     * @param fieldData field data of the update
+     */
+    public void add(String symbol, byte[] fieldData) {
+        this.symbols.add(symbol);
+        this.fieldData.add(fieldData);
+    }
+
+    public int size() {
+        return symbols.size();
+    }
+
+    public void clear() {
+        symbols.clear();
+        fieldData.clear();
+    }
+
+    /**
+     * Replay the updates in the order they were added.
+     *
+     * @param fieldListValidator field list validator the updates are decoded with
+     * @param handler handler of the updates
+     * @return number of updates replayed
+     */
+    public int replay(FieldListValidator fieldListValidator, OptionUpdateHandler handler) throws MiddlewareException {
+        for (int i = 0; i < symbols.size(); i++) {
+            fieldListValidator.initialize(fieldData.get(i));
+            handler.onUpdate(symbols.get(i), fieldListValidator);
+        }
+        return symbols.size();
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * OptionUpdateHandler.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+
+/**
+ * Receives field updates of options and underlyings, from the content gateway update path or an OptionUpdateFeed.
+ */
+public interface OptionUpdateHandler {
+
+    /**
+     * Called once per update.
+     *
+     * @param symbol symbol the update is for
+     * @param fieldListValidator field list validator initialized with the updated fields, only valid during the call
+     */
+    void onUpdate(String symbol, FieldListValidator fieldListValidator) throws MiddlewareException;
+}
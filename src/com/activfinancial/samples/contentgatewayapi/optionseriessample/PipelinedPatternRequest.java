@@ -0,0 +1,225 @@
+/**
+ * PipelinedPatternRequest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * Sends the options GetPattern request, either in one piece or split into chunks of patterns with a bounded
+ * number of chunks in flight. The response blocks of each chunk are handed to the handler on the calling thread
+ * as soon as the chunk completes, so decoding overlaps the remaining round trips and only the in flight chunks'
+ * responses are held in memory. Chunks are handled in completion order, not pattern order.
+ */
+final class PipelinedPatternRequest {
+
+    /**
+     * Receives the response blocks of a (chunk of a) GetPattern request, always on the thread that sent it.
+     */
+    interface ResponseHandler {
+        /**
+         * @param responseBlockList response blocks
+         * @return true to continue, false to stop (chunks in flight are cancelled)
+         */
+        boolean onResponseBlocks(List<ResponseBlock> responseBlockList);
+    }
+
+    private PipelinedPatternRequest() {
+    }
+
+    /**
+     * Send the request.
+     *
+     * @param gateway gateway
+     * @param settings chunk size, in flight limit and executor
+     * @param requestParameters request with every pattern
+     * @param responseParameters response parameters, used when the request is sent in one piece
+     * @param handler handler of the response blocks
+     * @return StatusCode of the request, or of the first chunk that failed
+     */
+    static StatusCode sendRequest(OptionSeriesGateway gateway, OptionSeriesSettings settings, GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters, ResponseHandler handler) {
+        List<SymbolId> symbolPatternList = requestParameters.symbolPatternList;
+        int chunkSize = settings.getPatternChunkSize();
+        OptionSeriesMetrics metrics = settings.getMetrics();
+
+        if (metrics != null) {
+            metrics.addPatterns(symbolPatternList.size());
+            handler = new MeasuringResponseHandler(handler, metrics);
+        }
+
+        if (chunkSize <= 0 || symbolPatternList.size() <= chunkSize) {
+            StatusCode statusCode = getPattern(gateway, metrics, requestParameters, responseParameters);
+            if (statusCode == StatusCode.STATUS_CODE_SUCCESS)
+                handler.onResponseBlocks(responseParameters.responseBlockList);
+            return statusCode;
+        }
+
+        ExecutorService executor = settings.getPatternRequestExecutor();
+        if (executor == null)
+            return sendChunksSequentially(gateway, metrics, requestParameters, chunkSize, handler);
+
+        return sendChunksPipelined(gateway, metrics, executor, Math.max(1, settings.getMaximumPatternRequestsInFlight()), requestParameters, chunkSize, handler);
+    }
+
+    // GetPattern round trip, timed if there are metrics
+    private static StatusCode getPattern(OptionSeriesGateway gateway, OptionSeriesMetrics metrics, GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+        if (metrics == null)
+            return gateway.getPattern(requestParameters, responseParameters);
+
+        long start = System.nanoTime();
+        try {
+            return gateway.getPattern(requestParameters, responseParameters);
+        }
+        finally {
+            metrics.record(OptionSeriesMetrics.Stage.PATTERN_REQUEST, start);
+        }
+    }
+
+    // no executor: still chunked, so responses are decoded and released chunk by chunk
+    private static StatusCode sendChunksSequentially(OptionSeriesGateway gateway, OptionSeriesMetrics metrics, GetPattern.RequestParameters requestParameters, int chunkSize, ResponseHandler handler) {
+        int patternCount = requestParameters.symbolPatternList.size();
+
+        for (int from = 0; from < patternCount; from += chunkSize) {
+            Chunk chunk = new Chunk(gateway, metrics, requestParameters, from, Math.min(patternCount, from + chunkSize));
+            StatusCode statusCode = chunk.call();
+
+            if (statusCode != StatusCode.STATUS_CODE_SUCCESS)
+                return statusCode;
+
+            if (!handler.onResponseBlocks(chunk.responseParameters.responseBlockList))
+                break;
+        }
+
+        return StatusCode.STATUS_CODE_SUCCESS;
+    }
+
+    private static StatusCode sendChunksPipelined(OptionSeriesGateway gateway, OptionSeriesMetrics metrics, ExecutorService executor, int maximumInFlight, GetPattern.RequestParameters requestParameters, int chunkSize, ResponseHandler handler) {
+        CompletionService<StatusCode> completionService = new ExecutorCompletionService<StatusCode>(executor);
+        Future<?>[] futures = new Future<?>[maximumInFlight];
+        Chunk[] chunks = new Chunk[maximumInFlight];
+
+        int patternCount = requestParameters.symbolPatternList.size();
+        int next = 0;
+        int inFlight = 0;
+        StatusCode statusCode = StatusCode.STATUS_CODE_SUCCESS;
+
+        try {
+            // fill the window
+            while (inFlight < maximumInFlight && next < patternCount) {
+                Chunk chunk = new Chunk(gateway, metrics, requestParameters, next, Math.min(patternCount, next + chunkSize));
+                chunks[inFlight] = chunk;
+                futures[inFlight] = completionService.submit(chunk);
+                next += chunkSize;
+                inFlight++;
+            }
+
+            while (inFlight > 0) {
+                Future<StatusCode> future = completionService.take();
+                inFlight--;
+
+                int slot = slotOf(futures, future);
+                Chunk chunk = chunks[slot];
+                futures[slot] = null;
+                chunks[slot] = null;
+
+                StatusCode chunkStatusCode = future.get();
+                if (chunkStatusCode != StatusCode.STATUS_CODE_SUCCESS) {
+                    statusCode = chunkStatusCode;
+                    break;
+                }
+
+                if (!handler.onResponseBlocks(chunk.responseParameters.responseBlockList))
+                    break;
+
+                // keep the window full
+                if (next < patternCount) {
+                    Chunk nextChunk = new Chunk(gateway, metrics, requestParameters, next, Math.min(patternCount, next + chunkSize));
+                    chunks[slot] = nextChunk;
+                    futures[slot] = completionService.submit(nextChunk);
+                    next += chunkSize;
+                    inFlight++;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            statusCode = StatusCode.STATUS_CODE_FAILURE;
+        }
+        catch (ExecutionException e) {
+            e.printStackTrace();
+            statusCode = StatusCode.STATUS_CODE_FAILURE;
+        }
+        finally {
+            // stopped early or failed, don't wait for the rest
+            for (Future<?> future : futures) {
+                if (future != null)
+                    future.cancel(true);
+            }
+        }
+
+        return statusCode;
+    }
+
+    private static int slotOf(Future<?>[] futures, Future<?> future) {
+        for (int i = 0; i < futures.length; i++) {
+            if (futures[i] == future)
+                return i;
+        }
+        throw new IllegalStateException("Unknown chunk");
+    }
+
+    // one GetPattern request for a range of the patterns
+    private static class Chunk implements Callable<StatusCode> {
+        private final OptionSeriesGateway gateway;
+        private final OptionSeriesMetrics metrics;
+        private final GetPattern.RequestParameters requestParameters = new GetPattern.RequestParameters();
+        final GetPattern.ResponseParameters responseParameters = new GetPattern.ResponseParameters();
+
+        Chunk(OptionSeriesGateway gateway, OptionSeriesMetrics metrics, GetPattern.RequestParameters allRequestParameters, int from, int to) {
+            this.gateway = gateway;
+            this.metrics = metrics;
+            this.requestParameters.symbolPatternList.addAll(allRequestParameters.symbolPatternList.subList(from, to));
+            this.requestParameters.requestBlockList.addAll(allRequestParameters.requestBlockList);
+        }
+
+        public StatusCode call() {
+            return getPattern(gateway, metrics, requestParameters, responseParameters);
+        }
+    }
+
+    // counts the response blocks and times their decoding
+    private static class MeasuringResponseHandler implements ResponseHandler {
+        private final ResponseHandler handler;
+        private final OptionSeriesMetrics metrics;
+
+        MeasuringResponseHandler(ResponseHandler handler, OptionSeriesMetrics metrics) {
+            this.handler = handler;
+            this.metrics = metrics;
+        }
+
+        public boolean onResponseBlocks(List<ResponseBlock> responseBlockList) {
+            for (ResponseBlock responseBlock : responseBlockList)
+                metrics.addResponseBlock(responseBlock.isValidResponse(), responseBlock.fieldData != null ? responseBlock.fieldData.length : 0);
+
+            long start = System.nanoTime();
+            try {
+                return handler.onResponseBlocks(responseBlockList);
+            }
+            finally {
+                metrics.record(OptionSeriesMetrics.Stage.DECODE, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * QuotePredicate.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+/**
+ * The quote thresholds of an OptionSeriesFilter (minimum bid, maximum ask, minimum volume and open interest,
+ * maximum spread and minimum size) converted to fixed point once per call, and tested against the fields of
+ * each option's initialized FieldListValidator before an OptionInfo is constructed.
+ *
+ * An option missing a field a threshold is set for is not selected.
+ */
+final class QuotePredicate {
+
+    private final long minimumBid;
+    private final long maximumAsk;
+    private final long minimumVolume;
+    private final long minimumOpenInterest;
+    private final long maximumSpread;
+    private final long minimumSize;
+
+    // fields the options have to be fetched with
+    private final List<Integer> fieldIdList = new ArrayList<Integer>();
+
+    private QuotePredicate(OptionSeriesFilter optionSeriesFilter) {
+        minimumBid = toFixedPoint(optionSeriesFilter.getBid(), FieldIds.FID_BID);
+        maximumAsk = toFixedPoint(optionSeriesFilter.getAsk(), FieldIds.FID_ASK);
+        minimumVolume = toFixedPoint(optionSeriesFilter.getVolume(), FieldIds.FID_CUMULATIVE_VOLUME);
+        minimumOpenInterest = toFixedPoint(optionSeriesFilter.getOpenInterest(), FieldIds.FID_OPEN_INTEREST);
+
+        maximumSpread = toFixedPoint(optionSeriesFilter.getMaximumSpread(), FieldIds.FID_BID);
+        if (maximumSpread != FixedPoint.UNDEFINED)
+            addFieldId(FieldIds.FID_ASK);
+
+        minimumSize = toFixedPoint(optionSeriesFilter.getMinimumSize(), FieldIds.FID_BID_SIZE);
+        if (minimumSize != FixedPoint.UNDEFINED)
+            addFieldId(FieldIds.FID_ASK_SIZE);
+    }
+
+    /**
+     * Compile the quote thresholds of a filter.
+     *
+     * @param optionSeriesFilter filter
+     * @return predicate, or null if the filter has no quote thresholds
+     */
+    static QuotePredicate compile(OptionSeriesFilter optionSeriesFilter) {
+        if (optionSeriesFilter.getBid() == null &&
+            optionSeriesFilter.getAsk() == null &&
+            optionSeriesFilter.getVolume() == null &&
+            optionSeriesFilter.getOpenInterest() == null &&
+            optionSeriesFilter.getMaximumSpread() == null &&
+            optionSeriesFilter.getMinimumSize() == null)
+            return null;
+
+        return new QuotePredicate(optionSeriesFilter);
+    }
+
+    /**
+     * Test the option in an initialized field list validator.
+     *
+     * @param fieldListValidator field list validator initialized with the option's field data
+     * @return true if the option meets every threshold
+     */
+    boolean test(FieldListValidator fieldListValidator) throws MiddlewareException {
+        long bid = FixedPoint.UNDEFINED;
+        long ask = FixedPoint.UNDEFINED;
+
+        if (minimumBid != FixedPoint.UNDEFINED || maximumSpread != FixedPoint.UNDEFINED) {
+            bid = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_BID);
+            if (bid == FixedPoint.UNDEFINED || (minimumBid != FixedPoint.UNDEFINED && bid < minimumBid))
+                return false;
+        }
+
+        if (maximumAsk != FixedPoint.UNDEFINED || maximumSpread != FixedPoint.UNDEFINED) {
+            ask = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_ASK);
+            if (ask == FixedPoint.UNDEFINED || (maximumAsk != FixedPoint.UNDEFINED && ask > maximumAsk))
+                return false;
+        }
+
+        if (maximumSpread != FixedPoint.UNDEFINED && ask - bid > maximumSpread)
+            return false;
+
+        if (!isAtLeast(fieldListValidator, FieldIds.FID_CUMULATIVE_VOLUME, minimumVolume))
+            return false;
+
+        if (!isAtLeast(fieldListValidator, FieldIds.FID_OPEN_INTEREST, minimumOpenInterest))
+            return false;
+
+        return isAtLeast(fieldListValidator, FieldIds.FID_BID_SIZE, minimumSize) && isAtLeast(fieldListValidator, FieldIds.FID_ASK_SIZE, minimumSize);
+    }
+
+    /**
+     * Get the request block with the fields the thresholds look at.
+     *
+     * @param requestBlock request block for options
+     * @return requestBlock if it already has every field, otherwise a copy with the missing fields added
+     */
+    RequestBlock withFieldIds(RequestBlock requestBlock) {
+        if (requestBlock.fieldIdList.containsAll(fieldIdList))
+            return requestBlock;
+
+        RequestBlock requestBlockWithFieldIds = new RequestBlock();
+        requestBlockWithFieldIds.relationshipId = requestBlock.relationshipId;
+        requestBlockWithFieldIds.fieldIdList.addAll(requestBlock.fieldIdList);
+
+        for (Integer fieldId : fieldIdList) {
+            if (!requestBlockWithFieldIds.fieldIdList.contains(fieldId))
+                requestBlockWithFieldIds.fieldIdList.add(fieldId);
+        }
+
+        return requestBlockWithFieldIds;
+    }
+
+    // threshold not set always passes
+    private static boolean isAtLeast(FieldListValidator fieldListValidator, int fieldId, long minimum) throws MiddlewareException {
+        if (minimum == FixedPoint.UNDEFINED)
+            return true;
+
+        long value = FieldValues.getFixedPoint(fieldListValidator, fieldId);
+        return value != FixedPoint.UNDEFINED && value >= minimum;
+    }
+
+    private long toFixedPoint(Rational threshold, int fieldId) {
+        if (threshold == null)
+            return FixedPoint.UNDEFINED;
+
+        addFieldId(fieldId);
+        return FixedPoint.fromRational(threshold);
+    }
+
+    private void addFieldId(int fieldId) {
+        if (!fieldIdList.contains(fieldId))
+            fieldIdList.add(fieldId);
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * RateLimitedOptionSeriesGateway.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.middleware.StatusCode;
+
+/**
+ * OptionSeriesGateway taking a token from a TokenBucket before each request it forwards, so every GetMatch and
+ * GetPattern sent through it, whoever sends it, counts toward one rate.
+ */
+public class RateLimitedOptionSeriesGateway implements OptionSeriesGateway {
+
+    private final OptionSeriesGateway gateway;
+    private final TokenBucket tokenBucket;
+
+    public RateLimitedOptionSeriesGateway(OptionSeriesGateway gateway, TokenBucket tokenBucket) {
+        if (gateway == null || tokenBucket == null)
+            throw new IllegalArgumentException("Gateway and token bucket should not be null.");
+
+        this.gateway = gateway;
+        this.tokenBucket = tokenBucket;
+    }
+
+    public StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+        if (!acquire())
+            return StatusCode.STATUS_CODE_FAILURE;
+
+        return gateway.getMatch(requestParameters, responseParameters);
+    }
+
+    public StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+        if (!acquire())
+            return StatusCode.STATUS_CODE_FAILURE;
+
+        return gateway.getPattern(requestParameters, responseParameters);
+    }
+
+    private boolean acquire() {
+        try {
+            tokenBucket.acquire();
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public TokenBucket getTokenBucket() {
+        return tokenBucket;
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * RootMetadataCache.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, thread safe cache of the decoded option roots of an underlying (strike and expiration lists).
+ *
+ * Entries expire after a time to live and the least recently used entry is evicted once the cache is
+ * full. Root lists change at most once a day, so a cached entry saves the option root GetMatch round
+ * trip and the decoding of FID_STRIKE_PRICE_LIST / FID_EXPIRATION_DATE_LIST on every later call.
+ */
+public class RootMetadataCache {
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+
+    // access ordered, guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+    // statistics, guarded by this
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    /**
+     * @param maximumSize maximum number of underlyings to cache
+     * @param timeToLive time to live of an entry
+     * @param unit unit of timeToLive
+     */
+    public RootMetadataCache(int maximumSize, long timeToLive, TimeUnit unit) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("Maximum size should be positive.");
+        if (timeToLive <= 0)
+            throw new IllegalArgumentException("Time to live should be positive.");
+
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+    }
+
+    /**
+     * Get the option roots of an underlying.
+     * 
+     * @param symbol underlying symbol
+     * @return unmodifiable list of option roots, or null if not cached or expired
+     */
+    public synchronized List<OptionRootMetadata> get(String symbol) {
+        Entry entry = entries.get(symbol);
+
+        if (entry != null && System.nanoTime() - entry.loadedAt > timeToLiveNanos) {
+            entries.remove(symbol);
+            expirationCount++;
+            entry = null;
+        }
+
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        return entry.roots;
+    }
+
+    /**
+     * Cache the option roots of an underlying, evicting the least recently used underlying if the cache is full.
+     * 
+     * @param symbol underlying symbol
+     * @param roots option roots
+     */
+    public synchronized void put(String symbol, List<OptionRootMetadata> roots) {
+        entries.put(symbol, new Entry(Collections.unmodifiableList(roots), System.nanoTime()));
+
+        if (entries.size() > maximumSize) {
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            it.next();
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Remove an underlying, e.g. after a corporate action changed its roots.
+     * 
+     * @param symbol underlying symbol
+     */
+    public synchronized void invalidate(String symbol) {
+        entries.remove(symbol);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * Get the fraction of lookups that were hits
+     * @return hit ratio, 0 if there was no lookup yet
+     */
+    public synchronized double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    public synchronized String toString() {
+        return "RootMetadataCache size: " + entries.size() + "/" + maximumSize + ", hits: " + hitCount + ", misses: " + missCount
+            + ", evictions: " + evictionCount + ", expirations: " + expirationCount;
+    }
+
+    private static class Entry {
+        final List<OptionRootMetadata> roots;
+        final long loadedAt;
+
+        Entry(List<OptionRootMetadata> roots, long loadedAt) {
+            this.roots = roots;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
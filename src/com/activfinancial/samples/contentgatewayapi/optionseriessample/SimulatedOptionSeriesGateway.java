@@ -0,0 +1,618 @@
+/**
+ * SimulatedOptionSeriesGateway.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListBuilder;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.common.UsEquityOptionHelper;
+import com.activfinancial.contentplatform.contentgatewayapi.common.UsEquityOptionHelper.OptionType;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.Enumerations;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.Exchange;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.fieldtypes.BinaryString;
+import com.activfinancial.middleware.fieldtypes.Blob;
+import com.activfinancial.middleware.fieldtypes.Date;
+import com.activfinancial.middleware.fieldtypes.Rational;
+import com.activfinancial.middleware.fieldtypes.TRational;
+import com.activfinancial.middleware.fieldtypes.TextString;
+import com.activfinancial.middleware.fieldtypes.UInt;
+
+/**
+ * In process OptionSeriesGateway serving a synthetic option universe, so the fetch, filter and decode
+ * path can be profiled and regression tested without a content gateway connection.
+ *
+ * Every requested underlying gets a deterministic (seeded) set of option roots carrying FID_STRIKE_PRICE_LIST
+ * and FID_EXPIRATION_DATE_LIST, and expirations x strikes x call/put x exchanges contracts per root. The
+ * expirations are weekly from a fixed base date, not from today, so a seed gives the same chains any day.
+ * GetPattern requests are answered by matching the '*' patterns against the generated alias symbols.
+ *
+ * As on a content gateway, where the roots come from the option root relationship, GetPattern only knows the
+ * roots of underlyings a GetMatch was made for: patterns of other roots match nothing.
+ */
+public class SimulatedOptionSeriesGateway implements OptionSeriesGateway {
+
+    // fixed latency added to every request
+    private long requestLatencyMillis;
+
+    // latency added per returned response block
+    private long responseBlockLatencyNanos;
+
+    // number of option roots per underlying (primary root plus adjusted roots)
+    private int rootCount = 1;
+
+    // number of weekly expirations per root
+    private int expirationCount = 12;
+
+    // number of strikes per expiration, centered around the underlying price
+    private int strikeCount = 200;
+
+    // fields of the generated updates
+    private static final List<Integer> QUOTE_UPDATE_FIELD_IDS = Arrays.asList(FieldIds.FID_BID, FieldIds.FID_ASK, FieldIds.FID_BID_SIZE, FieldIds.FID_ASK_SIZE);
+    private static final List<Integer> TRADE_UPDATE_FIELD_IDS = Arrays.asList(FieldIds.FID_TRADE, FieldIds.FID_CUMULATIVE_VOLUME);
+
+    // exchanges each contract is listed on
+    private List<String> exchangeList = Collections.singletonList(Exchange.EXCHANGE_US_OPTIONS_COMPOSITE);
+
+    // base date of the expirations by default
+    static public final LocalDate DEFAULT_BASE_DATE = LocalDate.of(2026, 1, 2);
+
+    private final long seed;
+
+    // expirations are the Fridays after it
+    private final LocalDate baseDate;
+
+    // underlying symbol -> price override
+    private final ConcurrentMap<String, Double> underlyingPrices = new ConcurrentHashMap<String, Double>();
+
+    // underlying symbol -> generated underlying
+    private final ConcurrentMap<String, SimulatedUnderlying> underlyings = new ConcurrentHashMap<String, SimulatedUnderlying>();
+
+    // root base ("TWTR") -> generated root
+    private final ConcurrentMap<String, SimulatedRoot> roots = new ConcurrentHashMap<String, SimulatedRoot>();
+
+    public SimulatedOptionSeriesGateway() {
+        this(0);
+    }
+
+    public SimulatedOptionSeriesGateway(long seed) {
+        this(seed, DEFAULT_BASE_DATE);
+    }
+
+    /**
+     * @param seed seed of the generated universe
+     * @param baseDate expirations are the expirationCount Fridays after it
+     */
+    public SimulatedOptionSeriesGateway(long seed, LocalDate baseDate) {
+        if (baseDate == null)
+            throw new IllegalArgumentException("Base date should not be null.");
+
+        this.seed = seed;
+        this.baseDate = baseDate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public LocalDate getBaseDate() {
+        return baseDate;
+    }
+
+    public long getRequestLatencyMillis() {
+        return requestLatencyMillis;
+    }
+
+    public void setRequestLatencyMillis(long requestLatencyMillis) {
+        this.requestLatencyMillis = requestLatencyMillis;
+    }
+
+    public long getResponseBlockLatencyNanos() {
+        return responseBlockLatencyNanos;
+    }
+
+    public void setResponseBlockLatencyNanos(long responseBlockLatencyNanos) {
+        this.responseBlockLatencyNanos = responseBlockLatencyNanos;
+    }
+
+    public int getRootCount() {
+        return rootCount;
+    }
+
+    public void setRootCount(int rootCount) {
+        this.rootCount = rootCount;
+    }
+
+    public int getExpirationCount() {
+        return expirationCount;
+    }
+
+    public void setExpirationCount(int expirationCount) {
+        this.expirationCount = expirationCount;
+    }
+
+    public int getStrikeCount() {
+        return strikeCount;
+    }
+
+    public void setStrikeCount(int strikeCount) {
+        this.strikeCount = strikeCount;
+    }
+
+    public List<String> getExchangeList() {
+        return exchangeList;
+    }
+
+    public void setExchangeList(List<String> exchangeList) {
+        this.exchangeList = exchangeList;
+    }
+
+    /**
+     * Set the last trade of an underlying. Must be called before the underlying is first requested.
+     *
+     * @param symbol underlying symbol
+     * @param lastTrade last trade
+     */
+    public void setUnderlyingPrice(String symbol, double lastTrade) {
+        underlyingPrices.put(symbol, lastTrade);
+    }
+
+    /**
+     * Number of contracts generated for an underlying across all its roots.
+     *
+     * @param symbol underlying symbol
+     * @return contract count
+     */
+    public int getContractCount(String symbol) {
+        int count = 0;
+        for (SimulatedRoot root : getUnderlying(symbol).roots)
+            count += root.contracts.size();
+        return count;
+    }
+
+    /**
+     * Generate random quote (bid, ask, sizes) and trade (trade, volume) updates for contracts of an underlying.
+     * The contracts are changed too, so later requests return the updated values. Not to be called while
+     * requests for the underlying are in progress.
+     *
+     * @param symbol underlying symbol
+     * @param updateCount number of updates to generate
+     * @param feed feed the updates are appended to
+     */
+    public void generateUpdates(String symbol, int updateCount, OptionUpdateFeed feed) throws MiddlewareException {
+        List<SimulatedContract> contracts = new ArrayList<SimulatedContract>();
+        for (SimulatedRoot root : getUnderlying(symbol).roots)
+            contracts.addAll(root.contracts);
+
+        if (contracts.isEmpty())
+            return;
+
+        Random random = new Random(seed ^ symbol.hashCode() ^ feed.size());
+
+        for (int i = 0; i < updateCount; i++) {
+            SimulatedContract contract = contracts.get(random.nextInt(contracts.size()));
+
+            if (random.nextInt(10) < 8) {
+                long mid = (contract.bidCents + contract.askCents) / 2 + random.nextInt(11) - 5;
+                long halfSpread = Math.max(1, (contract.askCents - contract.bidCents) / 2);
+                contract.bidCents = Math.max(0, mid - halfSpread);
+                contract.askCents = Math.max(contract.bidCents + 1, mid + halfSpread);
+                contract.bidSize = 1 + random.nextInt(500);
+                contract.askSize = 1 + random.nextInt(500);
+                feed.add(contract.symbol, encodeContract(contract, QUOTE_UPDATE_FIELD_IDS));
+            }
+            else {
+                contract.tradeCents = random.nextBoolean() ? contract.bidCents : contract.askCents;
+                contract.volume += 1 + random.nextInt(20);
+                feed.add(contract.symbol, encodeContract(contract, TRADE_UPDATE_FIELD_IDS));
+            }
+        }
+    }
+
+    public StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+        List<ResponseBlock> responseBlockList = responseParameters.responseBlockList;
+
+        try {
+            for (SymbolId symbolId : requestParameters.symbolIdList) {
+                SimulatedUnderlying underlying = getUnderlying(symbolId.symbol);
+
+                for (RequestBlock requestBlock : requestParameters.requestBlockList) {
+                    if (requestBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT) {
+                        for (SimulatedRoot root : underlying.roots) {
+                            ResponseBlock responseBlock = newResponseBlock(symbolId.symbol, root.rootSymbol, requestBlock.relationshipId);
+                            responseBlock.fieldData = encodeRoot(root, requestBlock.fieldIdList);
+                            responseBlockList.add(responseBlock);
+                        }
+                    }
+                    else if (requestBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_NONE) {
+                        ResponseBlock responseBlock = newResponseBlock(symbolId.symbol, symbolId.symbol, requestBlock.relationshipId);
+                        responseBlock.fieldData = encodeUnderlying(underlying, requestBlock.fieldIdList);
+                        responseBlockList.add(responseBlock);
+                    }
+                    else {
+                        ResponseBlock responseBlock = newResponseBlock(symbolId.symbol, symbolId.symbol, requestBlock.relationshipId);
+                        responseBlock.statusCode = StatusCode.STATUS_CODE_NOT_SUPPORTED;
+                        responseBlockList.add(responseBlock);
+                    }
+                }
+            }
+        }
+        catch (MiddlewareException e) {
+            return e.getStatusCode();
+        }
+
+        simulateLatency(responseBlockList.size());
+
+        return StatusCode.STATUS_CODE_SUCCESS;
+    }
+
+    /**
+     * Answer the patterns with the contracts of the roots generated by earlier getMatch calls.
+     */
+    public StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+        List<ResponseBlock> responseBlockList = responseParameters.responseBlockList;
+
+        try {
+            for (SymbolId symbolPattern : requestParameters.symbolPatternList) {
+                String pattern = symbolPattern.symbol;
+
+                // patterns are <root>/<...>, only the contracts of that root need to be matched
+                int i = pattern.indexOf('/');
+                if (-1 == i)
+                    continue;
+
+                SimulatedRoot root = roots.get(pattern.substring(0, i));
+                if (root == null)
+                    continue;
+
+                for (SimulatedContract contract : root.contracts) {
+                    if (!matches(pattern, contract.symbol))
+                        continue;
+
+                    for (RequestBlock requestBlock : requestParameters.requestBlockList) {
+                        ResponseBlock responseBlock = newResponseBlock(pattern, contract.symbol, requestBlock.relationshipId);
+                        responseBlock.fieldData = encodeContract(contract, requestBlock.fieldIdList);
+                        responseBlockList.add(responseBlock);
+                    }
+                }
+            }
+        }
+        catch (MiddlewareException e) {
+            return e.getStatusCode();
+        }
+
+        simulateLatency(responseBlockList.size());
+
+        return StatusCode.STATUS_CODE_SUCCESS;
+    }
+
+    /**
+     * Match a symbol against a pattern where '*' matches any run of characters.
+     *
+     * @param pattern pattern
+     * @param symbol symbol
+     * @return true if the symbol matches
+     */
+    static boolean matches(String pattern, String symbol) {
+        int p = 0, s = 0, star = -1, mark = 0;
+
+        while (s < symbol.length()) {
+            if (p < pattern.length() && pattern.charAt(p) == symbol.charAt(s)) {
+                p++;
+                s++;
+            }
+            else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = s;
+            }
+            else if (star != -1) {
+                // backtrack: let the last '*' swallow one more character
+                p = star + 1;
+                s = ++mark;
+            }
+            else {
+                return false;
+            }
+        }
+
+        while (p < pattern.length() && pattern.charAt(p) == '*')
+            p++;
+
+        return p == pattern.length();
+    }
+
+    private void simulateLatency(int responseBlockCount) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(requestLatencyMillis) + responseBlockLatencyNanos * responseBlockCount;
+        if (nanos > 0)
+            LockSupport.parkNanos(nanos);
+    }
+
+    private static ResponseBlock newResponseBlock(String requestSymbol, String responseSymbol, int relationshipId) {
+        ResponseBlock responseBlock = new ResponseBlock();
+        responseBlock.requestKey.symbol = requestSymbol;
+        responseBlock.responseKey.symbol = responseSymbol;
+        responseBlock.relationshipId = relationshipId;
+        responseBlock.statusCode = StatusCode.STATUS_CODE_SUCCESS;
+        return responseBlock;
+    }
+
+    // generated once, its roots are registered before the underlying is published so a GetPattern racing the
+    // GetMatch never sees the underlying without its roots
+    private SimulatedUnderlying getUnderlying(String symbol) {
+        SimulatedUnderlying underlying = underlyings.get(symbol);
+        if (underlying != null)
+            return underlying;
+
+        synchronized (underlyings) {
+            underlying = underlyings.get(symbol);
+            if (underlying == null) {
+                try {
+                    underlying = generateUnderlying(symbol);
+                }
+                catch (MiddlewareException e) {
+                    throw new IllegalStateException("Failed to generate options for " + symbol, e);
+                }
+
+                for (SimulatedRoot root : underlying.roots)
+                    roots.put(root.rootBase, root);
+
+                underlyings.put(symbol, underlying);
+            }
+        }
+        return underlying;
+    }
+
+    private SimulatedUnderlying generateUnderlying(String symbol) throws MiddlewareException {
+        Random random = new Random(seed ^ symbol.hashCode());
+
+        Double price = underlyingPrices.get(symbol);
+        long lastTradeCents = price != null ? Math.round(price * 100) : 500 + random.nextInt(400000);
+
+        SimulatedUnderlying underlying = new SimulatedUnderlying(symbol, lastTradeCents);
+
+        long strikeIncrementCents = lastTradeCents < 2500 ? 50 : lastTradeCents < 20000 ? 100 : 500;
+        long firstStrikeCents = (lastTradeCents / strikeIncrementCents - strikeCount / 2) * strikeIncrementCents;
+
+        StringBuilder sb = new StringBuilder();
+
+        for (int r = 0; r < rootCount; r++) {
+            String rootBase = r == 0 ? symbol : symbol + r;
+            SimulatedRoot root = new SimulatedRoot(rootBase + '.', rootBase);
+
+            for (int i = 0; i < strikeCount; i++) {
+                long strikeCents = firstStrikeCents + i * strikeIncrementCents;
+                if (strikeCents > 0) {
+                    root.strikeCents.add(strikeCents);
+                    root.strikePrices.add(toRational(strikeCents));
+                }
+            }
+
+            // weekly expirations, every Friday after the base date
+            LocalDate expiration = baseDate;
+            for (int i = 0; i < expirationCount; i++) {
+                expiration = expiration.with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+                root.expirationDates.add(new Date(expiration.getYear(), expiration.getMonthValue(), expiration.getDayOfMonth()));
+            }
+
+            for (int e = 0; e < root.expirationDates.size(); e++) {
+                Date expirationDate = root.expirationDates.get(e);
+                double years = (e + 1) * 7 / 365.0;
+
+                for (int s = 0; s < root.strikePrices.size(); s++) {
+                    for (String exchangeCode : exchangeList) {
+                        root.contracts.add(generateContract(sb, random, root, expirationDate, years, s, true, exchangeCode, lastTradeCents));
+                        root.contracts.add(generateContract(sb, random, root, expirationDate, years, s, false, exchangeCode, lastTradeCents));
+                    }
+                }
+            }
+
+            underlying.roots.add(root);
+        }
+
+        return underlying;
+    }
+
+    private static SimulatedContract generateContract(StringBuilder sb, Random random, SimulatedRoot root, Date expirationDate, double years, int strikeIndex, boolean isCall, String exchangeCode, long lastTradeCents) throws MiddlewareException {
+        long strikeCents = root.strikeCents.get(strikeIndex);
+        Rational strikePrice = root.strikePrices.get(strikeIndex);
+
+        sb.setLength(0);
+        UsEquityOptionHelper.buildAliasSymbol(sb, root.rootBase, expirationDate, isCall ? OptionType.OPTION_TYPE_CALL : OptionType.OPTION_TYPE_PUT, strikePrice, exchangeCode);
+
+        // intrinsic value plus a bell shaped time value, good enough to give realistic looking quotes
+        double spot = lastTradeCents, strike = strikeCents;
+        double intrinsic = Math.max(0, isCall ? spot - strike : strike - spot);
+        double width = 0.25 * spot * Math.sqrt(years);
+        double distance = (strike - spot) / width;
+        double value = intrinsic + 0.4 * width * Math.exp(-0.5 * distance * distance);
+        double halfSpread = Math.max(2.5, value * 0.03);
+
+        SimulatedContract contract = new SimulatedContract();
+        contract.symbol = sb.toString();
+        contract.expirationDate = expirationDate;
+        contract.strikePrice = strikePrice;
+        contract.isCall = isCall;
+        contract.bidCents = Math.max(0, Math.round(value - halfSpread));
+        contract.askCents = Math.round(value + halfSpread);
+        contract.tradeCents = Math.round(value);
+        // most of a real chain never trades
+        contract.volume = random.nextInt(10) < 6 ? 0 : random.nextInt(5000);
+        contract.openInterest = random.nextInt(10) < 3 ? 0 : random.nextInt(50000);
+        contract.bidSize = 1 + random.nextInt(500);
+        contract.askSize = 1 + random.nextInt(500);
+        return contract;
+    }
+
+    private static Rational toRational(long cents) {
+        return new Rational(cents, Rational.DENOMINATOR_2DP);
+    }
+
+    private static TRational toTRational(long cents) {
+        return new TRational(toRational(cents));
+    }
+
+    // the root lists are encoded with the inverse of the UsEquityOptionHelper calls OptionSeriesFilter decodes them with
+    private static byte[] encodeRoot(SimulatedRoot root, List<Integer> fieldIdList) throws MiddlewareException {
+        FieldListBuilder fieldListBuilder = new FieldListBuilder();
+
+        for (int fieldId : fieldIdList) {
+            switch (fieldId) {
+                case FieldIds.FID_STRIKE_PRICE_LIST:
+                    Blob strikePricesBlob = new Blob();
+                    UsEquityOptionHelper.setStrikePriceList(root.strikePrices, strikePricesBlob);
+                    fieldListBuilder.add(fieldId, strikePricesBlob);
+                    break;
+
+                case FieldIds.FID_EXPIRATION_DATE_LIST:
+                    BinaryString expirationDatesBinaryString = new BinaryString();
+                    UsEquityOptionHelper.setExpirationDateList(root.expirationDates, expirationDatesBinaryString);
+                    fieldListBuilder.add(fieldId, expirationDatesBinaryString);
+                    break;
+
+                case FieldIds.FID_SYMBOL:
+                    fieldListBuilder.add(fieldId, new TextString(root.rootSymbol));
+                    break;
+            }
+        }
+
+        return fieldListBuilder.getFieldData();
+    }
+
+    private static byte[] encodeUnderlying(SimulatedUnderlying underlying, List<Integer> fieldIdList) throws MiddlewareException {
+        FieldListBuilder fieldListBuilder = new FieldListBuilder();
+
+        for (int fieldId : fieldIdList) {
+            switch (fieldId) {
+                case FieldIds.FID_TRADE:
+                    fieldListBuilder.add(fieldId, toTRational(underlying.lastTradeCents));
+                    break;
+
+                case FieldIds.FID_CLOSE:
+                    fieldListBuilder.add(fieldId, toRational(underlying.lastTradeCents));
+                    break;
+
+                case FieldIds.FID_SYMBOL:
+                    fieldListBuilder.add(fieldId, new TextString(underlying.symbol));
+                    break;
+            }
+        }
+
+        return fieldListBuilder.getFieldData();
+    }
+
+    private static byte[] encodeContract(SimulatedContract contract, List<Integer> fieldIdList) throws MiddlewareException {
+        FieldListBuilder fieldListBuilder = new FieldListBuilder();
+
+        for (int fieldId : fieldIdList) {
+            switch (fieldId) {
+                case FieldIds.FID_SYMBOL:
+                    fieldListBuilder.add(fieldId, new TextString(contract.symbol));
+                    break;
+
+                case FieldIds.FID_EXPIRATION_DATE:
+                    fieldListBuilder.add(fieldId, contract.expirationDate);
+                    break;
+
+                case FieldIds.FID_STRIKE_PRICE:
+                    fieldListBuilder.add(fieldId, contract.strikePrice);
+                    break;
+
+                case FieldIds.FID_OPTION_TYPE:
+                    fieldListBuilder.add(fieldId, new UInt(contract.isCall ? Enumerations.OPTION_TYPE_CALL : Enumerations.OPTION_TYPE_PUT));
+                    break;
+
+                case FieldIds.FID_TRADE:
+                    fieldListBuilder.add(fieldId, toTRational(contract.tradeCents));
+                    break;
+
+                case FieldIds.FID_BID:
+                    fieldListBuilder.add(fieldId, toTRational(contract.bidCents));
+                    break;
+
+                case FieldIds.FID_ASK:
+                    fieldListBuilder.add(fieldId, toTRational(contract.askCents));
+                    break;
+
+                case FieldIds.FID_BID_SIZE:
+                    fieldListBuilder.add(fieldId, new UInt(contract.bidSize));
+                    break;
+
+                case FieldIds.FID_ASK_SIZE:
+                    fieldListBuilder.add(fieldId, new UInt(contract.askSize));
+                    break;
+
+                case FieldIds.FID_CUMULATIVE_VOLUME:
+                    fieldListBuilder.add(fieldId, new UInt(contract.volume));
+                    break;
+
+                case FieldIds.FID_OPEN_INTEREST:
+                    fieldListBuilder.add(fieldId, new UInt(contract.openInterest));
+                    break;
+            }
+        }
+
+        return fieldListBuilder.getFieldData();
+    }
+
+    private static class SimulatedUnderlying {
+        final String symbol;
+        final long lastTradeCents;
+        final List<SimulatedRoot> roots = new ArrayList<SimulatedRoot>();
+
+        SimulatedUnderlying(String symbol, long lastTradeCents) {
+            this.symbol = symbol;
+            this.lastTradeCents = lastTradeCents;
+        }
+    }
+
+    private static class SimulatedRoot {
+        // root symbol as returned by the option root relationship ("TWTR.")
+        final String rootSymbol;
+        // root without the exchange ("TWTR")
+        final String rootBase;
+        final List<Long> strikeCents = new ArrayList<Long>();
+        final List<Rational> strikePrices = new ArrayList<Rational>();
+        final List<Date> expirationDates = new ArrayList<Date>();
+        final List<SimulatedContract> contracts = new ArrayList<SimulatedContract>();
+
+        SimulatedRoot(String rootSymbol, String rootBase) {
+            this.rootSymbol = rootSymbol;
+            this.rootBase = rootBase;
+        }
+    }
+
+    private static class SimulatedContract {
+        String symbol;
+        Date expirationDate;
+        Rational strikePrice;
+        boolean isCall;
+        long bidCents;
+        long askCents;
+        long tradeCents;
+        long volume;
+        long openInterest;
+        long bidSize;
+        long askSize;
+    }
+}
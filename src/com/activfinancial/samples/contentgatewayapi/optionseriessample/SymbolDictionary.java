@@ -0,0 +1,214 @@
+/**
+ * SymbolDictionary.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.Arrays;
+
+/**
+ * Interns strings to dense int ids (0, 1, 2, ...), one canonical String per id.
+ *
+ * Storing the id instead of the string lets chains and indexes hold 4 bytes per option root, exchange or
+ * alias symbol, keep one String per distinct value however often it is fetched again, and compare or hash
+ * with int operations. A range of a larger string (e.g. the exchange of an alias symbol) can be interned
+ * without creating a substring once the value is known.
+ *
+ * Lookups are lock free (open addressing over immutable entries), interning a new value takes a lock.
+ * Dictionaries only grow: ids stay valid for the life of the dictionary. Only the small, bounded sets are
+ * shared by the process (ROOTS and EXCHANGES, added to the first time a root is seen); option symbols, which
+ * change every day, go in the dictionary of the OptionChain holding them and are dropped with it.
+ */
+public class SymbolDictionary {
+
+    // id of a value not in the dictionary
+    static public final int NOT_FOUND = -1;
+
+    // option root bases, e.g. "TWTR"
+    static public final SymbolDictionary ROOTS = new SymbolDictionary();
+
+    // exchange codes, e.g. "O"
+    static public final SymbolDictionary EXCHANGES = new SymbolDictionary();
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static final class Entry {
+        final String value;
+        final int hash;
+        final int id;
+
+        Entry(String value, int hash, int id) {
+            this.value = value;
+            this.hash = hash;
+            this.id = id;
+        }
+    }
+
+    // power of 2 sized, at most half full; replaced on resize
+    private volatile Entry[] table;
+
+    // id -> value; replaced on resize
+    private volatile String[] values;
+
+    // guarded by this
+    private int size;
+
+    public SymbolDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize values expected, to size the table
+     */
+    public SymbolDictionary(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        this.table = new Entry[capacity];
+        this.values = new String[Math.max(16, expectedSize)];
+    }
+
+    /**
+     * Get the id of a value, adding it the first time.
+     * @param value value
+     * @return id
+     */
+    public int intern(String value) {
+        return intern(value, 0, value.length());
+    }
+
+    /**
+     * Get the id of a range of a string, adding it (as a substring) the first time.
+     *
+     * @param s string
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @return id
+     */
+    public int intern(String s, int start, int end) {
+        int hash = hash(s, start, end);
+
+        int id = find(table, s, start, end, hash);
+        if (id != NOT_FOUND)
+            return id;
+
+        return add(s, start, end, hash);
+    }
+
+    /**
+     * Get the id of a value without adding it.
+     * @param value value
+     * @return id, NOT_FOUND if the value was never interned
+     */
+    public int find(String value) {
+        return value != null ? find(table, value, 0, value.length(), hash(value, 0, value.length())) : NOT_FOUND;
+    }
+
+    /**
+     * Get the id of a range of a string without adding it.
+     *
+     * @param s string
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @return id, NOT_FOUND if the value was never interned
+     */
+    public int find(String s, int start, int end) {
+        return find(table, s, start, end, hash(s, start, end));
+    }
+
+    /**
+     * Get the canonical instance of a value, adding it the first time, e.g. to share the strings of an object
+     * kept as a String.
+     * @param value value
+     * @return canonical instance, equal to value
+     */
+    public String canonical(String value) {
+        return value != null ? get(intern(value)) : null;
+    }
+
+    /**
+     * Get the value of an id.
+     * @param id id
+     * @return value
+     */
+    public String get(int id) {
+        String[] values = this.values;
+        String value = id >= 0 && id < values.length ? values[id] : null;
+        if (value != null)
+            return value;
+
+        // the id may be newer than the array this thread sees
+        synchronized (this) {
+            if (id < 0 || id >= size)
+                throw new IndexOutOfBoundsException("Id " + id + ", size " + size);
+            return this.values[id];
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static int find(Entry[] table, String s, int start, int end, int hash) {
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Entry entry = table[i];
+            if (entry == null)
+                return NOT_FOUND;
+            if (entry.hash == hash && entry.value.length() == end - start && entry.value.regionMatches(0, s, start, end - start))
+                return entry.id;
+        }
+    }
+
+    private synchronized int add(String s, int start, int end, int hash) {
+        // another thread may have added it
+        int id = find(table, s, start, end, hash);
+        if (id != NOT_FOUND)
+            return id;
+
+        String value = start == 0 && end == s.length() ? s : s.substring(start, end);
+        id = size;
+
+        String[] values = this.values;
+        if (id == values.length)
+            values = Arrays.copyOf(values, values.length * 2);
+        values[id] = value;
+        this.values = values;
+
+        Entry[] table = this.table;
+        if ((size + 1) * 2 > table.length)
+            table = resize(table);
+        insert(table, new Entry(value, hash, id));
+        this.table = table;
+
+        size++;
+        return id;
+    }
+
+    private static Entry[] resize(Entry[] table) {
+        Entry[] resized = new Entry[table.length * 2];
+        for (Entry entry : table) {
+            if (entry != null)
+                insert(resized, entry);
+        }
+        return resized;
+    }
+
+    private static void insert(Entry[] table, Entry entry) {
+        int mask = table.length - 1;
+        int i = entry.hash & mask;
+        while (table[i] != null)
+            i = (i + 1) & mask;
+        table[i] = entry;
+    }
+
+    // String.hashCode of the range, spread so the low bits used by the table depend on every char
+    private static int hash(String s, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++)
+            hash = 31 * hash + s.charAt(i);
+        return hash ^ (hash >>> 16);
+    }
+
+    public String toString() {
+        return "SymbolDictionary " + size() + " values";
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * TokenBucket.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter: tokens are added at a fixed rate up to a capacity, each acquire takes one. An
+ * acquire finding the bucket empty still takes its token (the bucket goes into debt) and sleeps until the token
+ * would have been added, so waiting callers are served in the order they arrived.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    // guarded by this
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param tokensPerSecond rate tokens are added at
+     * @param capacity most tokens held, i.e. the largest burst
+     */
+    public TokenBucket(double tokensPerSecond, double capacity) {
+        if (tokensPerSecond <= 0)
+            throw new IllegalArgumentException("Rate should be positive.");
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity should be at least 1.");
+
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take a token, waiting for it if the bucket is empty.
+     * @throws InterruptedException interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0)
+            TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    /**
+     * Take a token if one is available now.
+     * @return true if a token was taken
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1)
+            return false;
+
+        tokens -= 1;
+        return true;
+    }
+
+    // take a token, return the nanos until it is available
+    private synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+
+    /**
+     * @return tokens available now, negative while callers wait
+     */
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+}
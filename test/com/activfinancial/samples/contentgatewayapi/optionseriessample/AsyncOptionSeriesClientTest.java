@@ -0,0 +1,153 @@
+/**
+ * AsyncOptionSeriesClientTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class AsyncOptionSeriesClientTest {
+
+    private SimulatedOptionSeriesGateway gateway;
+    private OptionSeriesSettings settings;
+    private OptionSeriesWorkspacePool pool;
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+    private RequestBlock requestBlockOptions;
+
+    @Before
+    public void setUp() {
+        // 3 expirations x 10 strikes x call/put
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(3);
+        gateway.setStrikeCount(10);
+
+        // the workspaces' field list validators only need the client for its metadata, it is never connected
+        pool = new OptionSeriesWorkspacePool(new ContentGatewayClient(new Application(new Settings())), 4);
+        settings = new OptionSeriesSettings();
+        settings.setWorkspacePool(pool);
+
+        executor = Executors.newFixedThreadPool(2);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void completesWithTheOptions() throws Exception {
+        AsyncOptionSeriesClient client = new AsyncOptionSeriesClient(gateway, settings, executor, scheduler, 4);
+
+        OptionSeriesResult result = client.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, 10, TimeUnit.SECONDS).get();
+        assertEquals("TWTR", result.getSymbol());
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, result.getStatusCode());
+        assertEquals(3 * 10 * 2, result.getOptions().size());
+
+        awaitFinished(client);
+    }
+
+    @Test
+    public void timesOutAndFreesItsSlot() throws Exception {
+        // each round trip takes far longer than the timeout
+        gateway.setRequestLatencyMillis(5000);
+        AsyncOptionSeriesClient client = new AsyncOptionSeriesClient(gateway, settings, executor, scheduler, 1);
+
+        CompletableFuture<OptionSeriesResult> future = client.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, 50, TimeUnit.MILLISECONDS);
+        try {
+            future.get(2, TimeUnit.SECONDS);
+            fail("the request should time out");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+
+        // the gateway call was interrupted, not waited for
+        awaitFinished(client);
+        assertEquals(pool.getCreatedCount(), pool.getIdleCount());
+    }
+
+    @Test
+    public void cancelInterruptsTheRunningRequest() throws Exception {
+        gateway.setRequestLatencyMillis(5000);
+        AsyncOptionSeriesClient client = new AsyncOptionSeriesClient(gateway, settings, executor, scheduler, 1);
+
+        CompletableFuture<OptionSeriesResult> future = client.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, 0, TimeUnit.MILLISECONDS);
+        assertEquals(1, client.getOutstandingRequestCount());
+
+        assertTrue(future.cancel(true));
+        try {
+            future.get();
+            fail("the request should be cancelled");
+        }
+        catch (CancellationException e) {
+            // expected
+        }
+
+        awaitFinished(client);
+        assertEquals(pool.getCreatedCount(), pool.getIdleCount());
+    }
+
+    @Test
+    public void cancelledQueuedRequestIsNotSent() throws Exception {
+        gateway.setRequestLatencyMillis(200);
+        AsyncOptionSeriesClient client = new AsyncOptionSeriesClient(gateway, settings, executor, scheduler, 1);
+
+        CompletableFuture<OptionSeriesResult> first = client.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, 0, TimeUnit.MILLISECONDS);
+        CompletableFuture<OptionSeriesResult> second = client.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, 0, TimeUnit.MILLISECONDS);
+        assertEquals(1, client.getOutstandingRequestCount());
+        assertEquals(1, client.getPendingRequestCount());
+
+        second.cancel(true);
+
+        // the first still completes, the cancelled one is dropped when its turn comes
+        assertEquals(3 * 10 * 2, first.get(10, TimeUnit.SECONDS).getOptions().size());
+        assertTrue(second.isCancelled());
+
+        awaitFinished(client);
+        assertEquals(0, client.getPendingRequestCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveMaximumOutstandingRequests() {
+        new AsyncOptionSeriesClient(gateway, settings, executor, scheduler, 0);
+    }
+
+    // the request tasks return after the future completes, wait for them to free the slot
+    private static void awaitFinished(AsyncOptionSeriesClient client) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (client.getOutstandingRequestCount() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+
+        assertEquals(0, client.getOutstandingRequestCount());
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * CoalescingOptionSeriesFetcherTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+import com.activfinancial.middleware.fieldtypes.Rational;
+import com.activfinancial.samples.contentgatewayapi.optionseriessample.OptionSeriesFilter.CallPutEnum;
+
+public class CoalescingOptionSeriesFetcherTest {
+
+    private SimulatedOptionSeriesGateway gateway;
+    private OptionSeriesSettings settings;
+    private CoalescingOptionSeriesFetcher fetcher;
+    private RequestBlock requestBlockOptions;
+
+    @Before
+    public void setUp() {
+        // 3 expirations x 10 strikes x call/put
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(3);
+        gateway.setStrikeCount(10);
+
+        // the workspaces' field list validators only need the client for its metadata, it is never connected
+        settings = new OptionSeriesSettings();
+        settings.setWorkspacePool(new OptionSeriesWorkspacePool(new ContentGatewayClient(new Application(new Settings())), 4));
+
+        fetcher = new CoalescingOptionSeriesFetcher(gateway, settings);
+
+        requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSettingsWithoutAWorkspacePool() {
+        new CoalescingOptionSeriesFetcher(gateway, new OptionSeriesSettings());
+    }
+
+    @Test
+    public void overlappingCallsShareOneFetch() throws Exception {
+        // long enough for every caller to arrive while the first fetch is in flight
+        gateway.setRequestLatencyMillis(200);
+
+        final int callCount = 8;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(callCount);
+        try {
+            List<Future<List<OptionInfo>>> futures = new ArrayList<Future<List<OptionInfo>>>();
+            for (int i = 0; i < callCount; i++) {
+                futures.add(executor.submit(new Callable<List<OptionInfo>>() {
+                    public List<OptionInfo> call() throws InterruptedException {
+                        startLatch.await();
+
+                        List<OptionInfo> options = new ArrayList<OptionInfo>();
+                        assertEquals(StatusCode.STATUS_CODE_SUCCESS, fetcher.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, options));
+                        return options;
+                    }
+                }));
+            }
+
+            startLatch.countDown();
+
+            List<OptionInfo> first = futures.get(0).get();
+            assertEquals(3 * 10 * 2, first.size());
+            for (Future<List<OptionInfo>> future : futures)
+                assertEquals(first.size(), future.get().size());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(callCount, fetcher.getFetchCount() + fetcher.getCoalescedCount());
+        assertTrue(fetcher.getFetchCount() < callCount);
+        assertEquals(0, fetcher.getInFlightCount());
+    }
+
+    @Test
+    public void callsThatDoNotOverlapFetchAgain() {
+        List<OptionInfo> first = new ArrayList<OptionInfo>();
+        List<OptionInfo> second = new ArrayList<OptionInfo>();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, fetcher.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, first));
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, fetcher.getOptionSeries("TWTR", new OptionSeriesFilter(), requestBlockOptions, second));
+
+        assertEquals(first.size(), second.size());
+        assertEquals(2, fetcher.getFetchCount());
+        assertEquals(0, fetcher.getCoalescedCount());
+        assertEquals(0, fetcher.getInFlightCount());
+    }
+
+    @Test
+    public void keyIgnoresTheFieldOrder() {
+        RequestBlock reversed = new RequestBlock();
+        reversed.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        reversed.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        CoalescingOptionSeriesFetcher.Key key = new CoalescingOptionSeriesFetcher.Key("TWTR", new OptionSeriesFilter(), requestBlockOptions);
+        CoalescingOptionSeriesFetcher.Key reversedKey = new CoalescingOptionSeriesFetcher.Key("TWTR", new OptionSeriesFilter(), reversed);
+
+        assertEquals(key, reversedKey);
+        assertEquals(key.hashCode(), reversedKey.hashCode());
+        assertNotEquals(key, new CoalescingOptionSeriesFetcher.Key("IBM", new OptionSeriesFilter(), requestBlockOptions));
+    }
+
+    @Test
+    public void keyKeepsACopyOfTheFilter() {
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setCallPut(CallPutEnum.CALL);
+        optionSeriesFilter.setLowStrike(new Rational(3500, Rational.DENOMINATOR_2DP));
+
+        CoalescingOptionSeriesFetcher.Key key = new CoalescingOptionSeriesFetcher.Key("TWTR", optionSeriesFilter, requestBlockOptions);
+        CoalescingOptionSeriesFetcher.Key sameKey = new CoalescingOptionSeriesFetcher.Key("TWTR", optionSeriesFilter, requestBlockOptions);
+
+        // the caller changes its filter afterwards
+        optionSeriesFilter.setCallPut(CallPutEnum.PUT);
+
+        assertEquals(key, sameKey);
+        assertNotEquals(key, new CoalescingOptionSeriesFetcher.Key("TWTR", optionSeriesFilter, requestBlockOptions));
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * ContentGatewayClientPoolTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class ContentGatewayClientPoolTest {
+
+    private SimulatedOptionSeriesGateway gateway;
+    private FailingGateway first;
+    private FailingGateway second;
+    private ContentGatewayClientPool pool;
+    private RequestBlock requestBlockOptions;
+
+    @Before
+    public void setUp() {
+        // 3 expirations x 10 strikes x call/put
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(3);
+        gateway.setStrikeCount(10);
+
+        // two connections to the same simulated gateway
+        first = new FailingGateway(gateway);
+        second = new FailingGateway(gateway);
+
+        // the client is only used to reconnect, it is never connected
+        Application application = new Application(new Settings());
+        pool = new ContentGatewayClientPool(application, 2);
+        pool.connect(Arrays.asList(first, second), new ContentGatewayClient(application));
+
+        requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+    }
+
+    @Test
+    public void spreadsTheRequests() {
+        for (int i = 0; i < 10; i++)
+            assertEquals(3 * 10 * 2, getOptionSeries().size());
+
+        // one at a time, so the ties rotate over the connections
+        assertEquals(first.requestCount, second.requestCount);
+        assertEquals(2, pool.getConnectedCount());
+        assertEquals(0, pool.getFailoverCount());
+    }
+
+    @Test
+    public void notConnectedFailsOver() {
+        first.statusCode = StatusCode.STATUS_CODE_NOT_CONNECTED;
+
+        for (int i = 0; i < 10; i++)
+            assertEquals(3 * 10 * 2, getOptionSeries().size());
+
+        // the first failure marked it down, everything after went to the second
+        assertEquals(1, first.requestCount);
+        assertEquals(1, pool.getFailoverCount());
+        assertEquals(1, pool.getConnectedCount());
+    }
+
+    @Test
+    public void timeoutsInARowMarkTheConnectionDown() {
+        pool.setTimeoutsBeforeDown(2);
+        first.statusCode = StatusCode.STATUS_CODE_TIMEOUT;
+
+        int timeoutCount = 0;
+        for (int i = 0; i < 10; i++) {
+            List<OptionInfo> options = new ArrayList<OptionInfo>();
+            if (GetOptionSeriesHelper.getOptionSeries(pool, new OptionSeriesSettings(), null, "TWTR", new OptionSeriesFilter(), requestBlockOptions, options) == StatusCode.STATUS_CODE_TIMEOUT)
+                timeoutCount++;
+        }
+
+        // timed out requests are not sent again, and the connection took no more after its second timeout
+        assertEquals(2, first.requestCount);
+        assertEquals(2, timeoutCount);
+        assertEquals(0, pool.getFailoverCount());
+        assertEquals(1, pool.getConnectedCount());
+    }
+
+    @Test
+    public void aSuccessResetsTheTimeouts() {
+        pool.setTimeoutsBeforeDown(2);
+
+        for (int i = 0; i < 10; i++) {
+            // every other request of the first connection times out
+            first.statusCode = first.requestCount % 2 == 0 ? StatusCode.STATUS_CODE_TIMEOUT : StatusCode.STATUS_CODE_SUCCESS;
+            pool.getMatch(new GetMatch.RequestParameters(), new GetMatch.ResponseParameters());
+        }
+
+        assertEquals(2, pool.getConnectedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroTimeoutsBeforeDown() {
+        pool.setTimeoutsBeforeDown(0);
+    }
+
+    private List<OptionInfo> getOptionSeries() {
+        List<OptionInfo> options = new ArrayList<OptionInfo>();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(pool, new OptionSeriesSettings(), null, "TWTR", new OptionSeriesFilter(), requestBlockOptions, options));
+        return options;
+    }
+
+    // simulated gateway answering with statusCode and no response blocks unless it is STATUS_CODE_SUCCESS
+    private static class FailingGateway implements OptionSeriesGateway {
+        private final OptionSeriesGateway gateway;
+
+        volatile StatusCode statusCode = StatusCode.STATUS_CODE_SUCCESS;
+        volatile int requestCount;
+
+        FailingGateway(OptionSeriesGateway gateway) {
+            this.gateway = gateway;
+        }
+
+        public StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+            requestCount++;
+            return statusCode != StatusCode.STATUS_CODE_SUCCESS ? statusCode : gateway.getMatch(requestParameters, responseParameters);
+        }
+
+        public StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+            requestCount++;
+            return statusCode != StatusCode.STATUS_CODE_SUCCESS ? statusCode : gateway.getPattern(requestParameters, responseParameters);
+        }
+    }
+}
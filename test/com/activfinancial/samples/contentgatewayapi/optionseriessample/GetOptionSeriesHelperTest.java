@@ -0,0 +1,127 @@
+/**
+ * GetOptionSeriesHelperTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class GetOptionSeriesHelperTest {
+
+    private SimulatedOptionSeriesGateway simulatedGateway;
+    private RootMetadataCache rootMetadataCache;
+    private OptionSeriesSettings settings;
+    private FieldListValidator fieldListValidator;
+
+    @Before
+    public void setUp() {
+        // 2 roots of 3 expirations x 10 strikes x call/put per underlying
+        simulatedGateway = new SimulatedOptionSeriesGateway(7);
+        simulatedGateway.setUnderlyingPrice("TWTR", 40.0);
+        simulatedGateway.setUnderlyingPrice("IBM", 150.0);
+        simulatedGateway.setRootCount(2);
+        simulatedGateway.setExpirationCount(3);
+        simulatedGateway.setStrikeCount(10);
+
+        rootMetadataCache = new RootMetadataCache(16, 1, TimeUnit.HOURS);
+        settings = new OptionSeriesSettings();
+        settings.setRootMetadataCache(rootMetadataCache);
+
+        // the FieldListValidator only needs the client for its metadata, it is never connected
+        fieldListValidator = new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+    }
+
+    @Test
+    public void cachesTheRootsOfAnUnderlying() {
+        List<OptionInfo> options = new ArrayList<OptionInfo>();
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(simulatedGateway, settings, fieldListValidator, "TWTR", new OptionSeriesFilter(), newOptionsRequestBlock(), options));
+        assertEquals(2 * 3 * 10 * 2, options.size());
+        assertEquals(2, rootMetadataCache.get("TWTR").size());
+    }
+
+    @Test
+    public void doesNotCacheRootsWithAnInvalidRootBlock() {
+        List<OptionInfo> options = new ArrayList<OptionInfo>();
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(new InvalidRootGateway("TWTR"), settings, fieldListValidator, "TWTR", new OptionSeriesFilter(), newOptionsRequestBlock(), options));
+        assertNull(rootMetadataCache.get("TWTR"));
+
+        // the next call fetches the roots again, now complete
+        options.clear();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(simulatedGateway, settings, fieldListValidator, "TWTR", new OptionSeriesFilter(), newOptionsRequestBlock(), options));
+        assertEquals(2 * 3 * 10 * 2, options.size());
+        assertEquals(2, rootMetadataCache.get("TWTR").size());
+    }
+
+    @Test
+    public void bulkDoesNotCacheRootsWithAnInvalidRootBlock() {
+        Map<String, List<OptionInfo>> options = new HashMap<String, List<OptionInfo>>();
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(new InvalidRootGateway("TWTR"), settings, fieldListValidator, Arrays.asList("TWTR", "IBM"), new OptionSeriesFilter(), newOptionsRequestBlock(), options));
+        assertNull(rootMetadataCache.get("TWTR"));
+        assertNotNull(rootMetadataCache.get("IBM"));
+        assertFalse(options.get("IBM").isEmpty());
+    }
+
+    // the simulated gateway, with the first option root block of an underlying answered as invalid
+    private class InvalidRootGateway implements OptionSeriesGateway {
+        private final String symbol;
+
+        InvalidRootGateway(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+            StatusCode statusCode = simulatedGateway.getMatch(requestParameters, responseParameters);
+
+            for (ResponseBlock responseBlock : responseParameters.responseBlockList) {
+                if (responseBlock.relationshipId == RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT && symbol.equals(responseBlock.requestKey.symbol)) {
+                    responseBlock.statusCode = StatusCode.STATUS_CODE_FAILURE;
+                    responseBlock.fieldData = null;
+                    break;
+                }
+            }
+
+            return statusCode;
+        }
+
+        public StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+            return simulatedGateway.getPattern(requestParameters, responseParameters);
+        }
+    }
+
+    private static RequestBlock newOptionsRequestBlock() {
+        RequestBlock requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+        return requestBlockOptions;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * LatencyHistogramTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        for (int value = 0; value < 64; value++) {
+            assertEquals(value, LatencyHistogram.indexOf(value));
+            assertEquals(value, LatencyHistogram.highestValueOf(value));
+        }
+    }
+
+    @Test
+    public void bucketsAreContiguous() {
+        // the first value of each bucket is one past the highest value of the previous one
+        for (int index = 1; index < LatencyHistogram.indexOf(Long.MAX_VALUE); index++) {
+            long first = LatencyHistogram.highestValueOf(index - 1) + 1;
+            assertEquals(index, LatencyHistogram.indexOf(first));
+            assertEquals(index, LatencyHistogram.indexOf(LatencyHistogram.highestValueOf(index)));
+        }
+    }
+
+    @Test
+    public void valuesFallInTheirBucket() {
+        long[] values = { 64, 65, 100, 1000, 123456, 1000000007L, Long.MAX_VALUE / 3, Long.MAX_VALUE };
+
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueOf(index);
+            long lowest = LatencyHistogram.highestValueOf(index - 1) + 1;
+
+            assertTrue(value + " above its bucket", value <= highest);
+            assertTrue(value + " below its bucket", value >= lowest);
+            // 32 buckets per power of two
+            assertTrue(value + " bucket too wide", (highest - lowest) / (double) lowest <= 1.0 / 32);
+        }
+
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+
+        for (int value = 1; value <= 1000; value++)
+            histogram.record(value * 1000L);
+        histogram.record(-5);
+
+        assertEquals(1001, histogram.getCount());
+        assertEquals(1000000, histogram.getMaximum());
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(1000000, histogram.getPercentile(100));
+
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 500000 && median <= 500000 * 1.04);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaximum());
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * LiveOptionChainTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class LiveOptionChainTest {
+
+    private SimulatedOptionSeriesGateway gateway;
+    private FieldListValidator fieldListValidator;
+    private LiveOptionChain liveChain;
+
+    // rows changed and last trade changes the listener was told about
+    private int rowChangedCount;
+    private int lastTradeChangedCount;
+
+    @Before
+    public void setUp() {
+        // 3 expirations x 10 strikes x call/put
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(3);
+        gateway.setStrikeCount(10);
+
+        // the FieldListValidator only needs the client for its metadata, it is never connected
+        fieldListValidator = new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+
+        liveChain = new LiveOptionChain("TWTR", getChain());
+        liveChain.addListener(new OptionChainListener() {
+            public void onRowChanged(OptionChain chain, int row) {
+                rowChangedCount++;
+            }
+
+            public void onLastTradeChanged(OptionChain chain) {
+                lastTradeChangedCount++;
+            }
+        });
+    }
+
+    @Test
+    public void updatesBringTheChainUpToDate() throws MiddlewareException {
+        OptionUpdateFeed feed = new OptionUpdateFeed();
+        gateway.generateUpdates("TWTR", 500, feed);
+
+        assertEquals(500, feed.replay(fieldListValidator, liveChain));
+        assertEquals(500, liveChain.getUpdateCount());
+        assertEquals(0, liveChain.getUnknownSymbolCount());
+        assertTrue(liveChain.getChangedRowCount() > 0);
+        assertEquals(liveChain.getChangedRowCount(), rowChangedCount);
+
+        // the gateway answers with the updated values
+        OptionChain fetched = getChain();
+        OptionChain chain = liveChain.getChain();
+        assertEquals(fetched.size(), chain.size());
+
+        for (int row = 0; row < fetched.size(); row++) {
+            int liveRow = liveChain.getRow(fetched.getSymbol(row));
+            assertEquals(fetched.getBid(row), chain.getBid(liveRow));
+            assertEquals(fetched.getAsk(row), chain.getAsk(liveRow));
+            assertEquals(fetched.getTrade(row), chain.getTrade(liveRow));
+            assertEquals(fetched.getVolume(row), chain.getVolume(liveRow));
+        }
+    }
+
+    @Test
+    public void unchangedValuesDoNotNotify() throws MiddlewareException {
+        OptionUpdateFeed feed = new OptionUpdateFeed();
+        gateway.generateUpdates("TWTR", 1, feed);
+
+        feed.replay(fieldListValidator, liveChain);
+        long changedRowCount = liveChain.getChangedRowCount();
+
+        // the same update again
+        feed.replay(fieldListValidator, liveChain);
+        assertEquals(2, liveChain.getUpdateCount());
+        assertEquals(changedRowCount, liveChain.getChangedRowCount());
+        assertEquals(changedRowCount, rowChangedCount);
+    }
+
+    @Test
+    public void unknownSymbolsAreCounted() throws MiddlewareException {
+        // updates of another underlying's options
+        gateway.setUnderlyingPrice("IBM", 150.0);
+
+        OptionUpdateFeed feed = new OptionUpdateFeed();
+        gateway.generateUpdates("IBM", 5, feed);
+        feed.replay(fieldListValidator, liveChain);
+
+        assertEquals(5, liveChain.getUnknownSymbolCount());
+        assertEquals(0, liveChain.getChangedRowCount());
+        assertEquals(0, rowChangedCount);
+    }
+
+    @Test
+    public void underlyingUpdatesSetTheLastTrade() throws MiddlewareException {
+        // the underlying's record at a new price, as an update of the underlying symbol
+        SimulatedOptionSeriesGateway movedGateway = new SimulatedOptionSeriesGateway(7);
+        movedGateway.setUnderlyingPrice("TWTR", 45.5);
+
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.relationshipId = RelationshipIds.RELATIONSHIP_ID_NONE;
+        requestBlock.fieldIdList.add(FieldIds.FID_TRADE);
+
+        GetMatch.RequestParameters requestParameters = new GetMatch.RequestParameters();
+        GetMatch.ResponseParameters responseParameters = new GetMatch.ResponseParameters();
+        requestParameters.symbolIdList.add(new SymbolId("TWTR"));
+        requestParameters.requestBlockList.add(requestBlock);
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, movedGateway.getMatch(requestParameters, responseParameters));
+
+        fieldListValidator.initialize(responseParameters.responseBlockList.get(0).fieldData);
+        liveChain.onUpdate("TWTR", fieldListValidator);
+        liveChain.onUpdate("TWTR", fieldListValidator);
+
+        assertEquals(FixedPoint.fromDouble(45.5), liveChain.getChain().getLastTrade());
+        assertEquals(1, lastTradeChangedCount);
+        assertEquals(0, rowChangedCount);
+    }
+
+    // every option of TWTR
+    private OptionChain getChain() {
+        RequestBlock requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_TRADE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_BID);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_ASK);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_CUMULATIVE_VOLUME);
+
+        OptionChain chain = new OptionChain();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, new OptionSeriesSettings(), fieldListValidator, "TWTR", new OptionSeriesFilter(), requestBlockOptions, chain));
+        return chain;
+    }
+}
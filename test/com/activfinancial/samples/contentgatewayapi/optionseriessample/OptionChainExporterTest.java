@@ -0,0 +1,163 @@
+/**
+ * OptionChainExporterTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class OptionChainExporterTest {
+
+    private static final String[] SYMBOLS = { "TWTR", "IBM" };
+
+    private OptionChain[] chains;
+
+    @Before
+    public void setUp() {
+        // 4 expirations x 15 strikes x call/put, per underlying
+        SimulatedOptionSeriesGateway gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setUnderlyingPrice("IBM", 150.0);
+        gateway.setExpirationCount(4);
+        gateway.setStrikeCount(15);
+
+        // the FieldListValidator only needs the client for its metadata, it is never connected
+        FieldListValidator fieldListValidator = new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+
+        RequestBlock requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_BID);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_ASK);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_TRADE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_CUMULATIVE_VOLUME);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPEN_INTEREST);
+
+        chains = new OptionChain[SYMBOLS.length];
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            chains[i] = new OptionChain();
+            assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, new OptionSeriesSettings(), fieldListValidator, SYMBOLS[i], new OptionSeriesFilter(), requestBlockOptions, chains[i]));
+            assertEquals(4 * 15 * 2, chains[i].size());
+        }
+    }
+
+    @Test
+    public void csvHasARowPerOption() throws IOException {
+        // the smallest buffer, so the rows span several flushes
+        byte[] bytes = export(OptionChainExporter.Format.CSV, 4096);
+
+        String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals("underlying,symbol,expiration_date,strike_price,call_put,bid,ask,trade,volume,open_interest", lines[0]);
+
+        int line = 1;
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            OptionChain chain = chains[i];
+            for (int row = 0; row < chain.size(); row++) {
+                String expected = SYMBOLS[i] + ',' + chain.getSymbol(row) + ',' + LocalDate.ofEpochDay(chain.getExpirationDate(row)) + ',' +
+                    decimal(chain.getStrikePrice(row)) + ',' + (chain.isCall(row) ? 'C' : 'P') + ',' + decimal(chain.getBid(row)) + ',' +
+                    decimal(chain.getAsk(row)) + ',' + decimal(chain.getTrade(row)) + ',' + count(chain.getVolume(row)) + ',' +
+                    count(chain.getOpenInterest(row));
+                assertEquals(expected, lines[line++]);
+            }
+        }
+
+        // the file ends with a newline
+        assertEquals(line + 1, lines.length);
+        assertEquals("", lines[line]);
+    }
+
+    @Test
+    public void binaryReadsBackTheColumns() throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(export(OptionChainExporter.Format.BINARY, 4096)));
+
+        assertEquals(0x4F434558, input.readInt());
+        assertEquals(OptionChainExporter.VERSION, input.readInt());
+
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            OptionChain chain = chains[i];
+
+            assertEquals(1, input.readByte());
+            assertEquals(SYMBOLS[i], input.readUTF());
+            assertEquals(chain.getLastTrade(), input.readLong());
+            assertEquals(chain.size(), input.readInt());
+
+            for (int row = 0; row < chain.size(); row++) {
+                assertEquals(chain.getSymbol(row), input.readUTF());
+                assertEquals(chain.getStrikePrice(row), input.readLong());
+                assertEquals(chain.getExpirationDate(row), input.readInt());
+                assertEquals(chain.isCall(row) ? 1 : 0, input.readByte());
+                assertEquals(chain.getBid(row), input.readLong());
+                assertEquals(chain.getAsk(row), input.readLong());
+                assertEquals(chain.getTrade(row), input.readLong());
+                assertEquals(chain.getVolume(row), input.readLong());
+                assertEquals(chain.getOpenInterest(row), input.readLong());
+            }
+        }
+
+        assertEquals(0, input.readByte());
+        assertEquals(-1, input.read());
+    }
+
+    @Test
+    public void countsRowsAndBytes() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        OptionChainExporter exporter = new OptionChainExporter(Channels.newChannel(output), OptionChainExporter.Format.CSV);
+
+        exporter.write(SYMBOLS[0], chains[0]);
+        assertEquals(chains[0].size(), exporter.getRowCount());
+
+        exporter.close();
+        assertEquals(output.size(), exporter.getBytesWritten());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSmallBuffers() {
+        new OptionChainExporter(Channels.newChannel(new ByteArrayOutputStream()), OptionChainExporter.Format.CSV, 1024);
+    }
+
+    private byte[] export(OptionChainExporter.Format format, int bufferSize) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        OptionChainExporter exporter = new OptionChainExporter(Channels.newChannel(output), format, bufferSize);
+        try {
+            for (int i = 0; i < SYMBOLS.length; i++)
+                exporter.write(SYMBOLS[i], chains[i]);
+        }
+        finally {
+            exporter.close();
+        }
+
+        assertEquals(chains[0].size() + chains[1].size(), exporter.getRowCount());
+        return output.toByteArray();
+    }
+
+    private static String decimal(long value) {
+        return value != FixedPoint.UNDEFINED ? BigDecimal.valueOf(value, 6).stripTrailingZeros().toPlainString() : "";
+    }
+
+    private static String count(long value) {
+        return value >= 0 ? Long.toString(value) : "";
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ * OptionChainIndexTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+import com.activfinancial.samples.contentgatewayapi.optionseriessample.OptionSeriesFilter.CallPutEnum;
+
+public class OptionChainIndexTest {
+
+    private static final List<String> EXCHANGES = Arrays.asList("X", "C", "O");
+
+    private SimulatedOptionSeriesGateway gateway;
+    private OptionSeriesFilter optionSeriesFilter;
+    private RequestBlock requestBlockOptions;
+    private FieldListValidator fieldListValidator;
+
+    private OptionChain chain;
+    private OptionChainIndex index;
+
+    @Before
+    public void setUp() {
+        // 5 expirations x 12 strikes x call/put x 3 exchanges
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(5);
+        gateway.setStrikeCount(12);
+        gateway.setExchangeList(EXCHANGES);
+
+        optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setExchangeList(EXCHANGES);
+
+        requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+
+        // the FieldListValidator only needs the client for its metadata, it is never connected
+        fieldListValidator = new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+
+        chain = new OptionChain();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, new OptionSeriesSettings(), fieldListValidator, "TWTR", optionSeriesFilter, requestBlockOptions, chain));
+        assertEquals(5 * 12 * 2 * 3, chain.size());
+
+        index = OptionChainIndex.of(chain);
+    }
+
+    @Test
+    public void everyOptionInKeyOrder() {
+        int[] rows = index.select(DayNumber.UNDEFINED, DayNumber.UNDEFINED, FixedPoint.UNDEFINED, FixedPoint.UNDEFINED, CallPutEnum.BOTH, null);
+        assertEquals(chain.size(), rows.length);
+
+        boolean[] seen = new boolean[chain.size()];
+        for (int i = 0; i < rows.length; i++) {
+            assertTrue(!seen[rows[i]]);
+            seen[rows[i]] = true;
+
+            if (i > 0)
+                assertTrue(compare(rows[i - 1], rows[i]) < 0);
+        }
+    }
+
+    @Test
+    public void expirationsAndStrikes() {
+        int[] expirationDates = index.getExpirationDates();
+        assertEquals(5, expirationDates.length);
+
+        for (int expirationIndex = 0; expirationIndex < expirationDates.length; expirationIndex++) {
+            assertEquals(expirationIndex, index.getExpirationIndex(expirationDates[expirationIndex]));
+            assertEquals(12, index.getStrikePrices(expirationIndex).length);
+        }
+
+        assertEquals(-1, index.getExpirationIndex(expirationDates[0] - 1));
+    }
+
+    @Test
+    public void selectMatchesAScan() {
+        int[] expirationDates = index.getExpirationDates();
+        long[] strikePrices = index.getStrikePrices(1);
+        long lowStrike = strikePrices[3], highStrike = strikePrices[8];
+
+        for (CallPutEnum callPut : CallPutEnum.values()) {
+            for (String exchange : new String[] { null, "C", "O" }) {
+                assertArrayEquals(scan(expirationDates[1], expirationDates[1], lowStrike, highStrike, callPut, exchange),
+                    sorted(index.select(1, lowStrike, highStrike, callPut, exchange)));
+                assertArrayEquals(scan(expirationDates[1], expirationDates[3], lowStrike, highStrike, callPut, exchange),
+                    sorted(index.select(expirationDates[1], expirationDates[3], lowStrike, highStrike, callPut, exchange)));
+                assertArrayEquals(scan(expirationDates[2], Integer.MAX_VALUE, Long.MIN_VALUE, highStrike, callPut, exchange),
+                    sorted(index.select(expirationDates[2], DayNumber.UNDEFINED, FixedPoint.UNDEFINED, highStrike, callPut, exchange)));
+            }
+        }
+
+        // 6 strikes x call/put x 3 exchanges
+        assertEquals(6 * 2 * 3, index.select(1, lowStrike, highStrike, CallPutEnum.BOTH, null).length);
+        assertEquals(0, index.select(1, lowStrike, highStrike, CallPutEnum.BOTH, "Z").length);
+        assertEquals(0, index.select(5, FixedPoint.UNDEFINED, FixedPoint.UNDEFINED, CallPutEnum.BOTH, null).length);
+    }
+
+    @Test
+    public void findEveryOption() {
+        for (int row = 0; row < chain.size(); row++) {
+            String symbol = chain.getSymbol(row);
+            String exchange = symbol.substring(symbol.lastIndexOf('.') + 1);
+
+            assertEquals(row, index.find(chain.getExpirationDate(row), chain.getStrikePrice(row), chain.isCall(row), exchange));
+
+            int[] pair = index.findPair(chain.getExpirationDate(row), chain.getStrikePrice(row), exchange);
+            assertEquals(row, pair[chain.isCall(row) ? 0 : 1]);
+            assertEquals(chain.isCall(pair[1]), false);
+        }
+
+        assertEquals(-1, index.find(chain.getExpirationDate(0), chain.getStrikePrice(0) + 1, true, "O"));
+        assertEquals(-1, index.find(chain.getExpirationDate(0), chain.getStrikePrice(0), true, "Z"));
+    }
+
+    @Test
+    public void optionListSelectsTheSameOptions() {
+        List<OptionInfo> options = new ArrayList<OptionInfo>();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, new OptionSeriesSettings(), fieldListValidator, "TWTR", optionSeriesFilter, requestBlockOptions, options));
+
+        OptionChainIndex listIndex = OptionChainIndex.of(options);
+        assertArrayEquals(index.getExpirationDates(), listIndex.getExpirationDates());
+
+        long[] strikePrices = index.getStrikePrices(2);
+        int[] rows = index.select(2, strikePrices[2], strikePrices[6], CallPutEnum.PUT, "X");
+        int[] listRows = listIndex.select(2, strikePrices[2], strikePrices[6], CallPutEnum.PUT, "X");
+        assertEquals(5, rows.length);
+        assertEquals(rows.length, listRows.length);
+
+        // same key order, so the same options in the same positions
+        for (int i = 0; i < rows.length; i++)
+            assertEquals(chain.getSymbol(rows[i]), options.get(listRows[i]).getSymbol());
+    }
+
+    // rows of the chain matching, ascending
+    private int[] scan(int fromExpirationDate, int toExpirationDate, long lowStrike, long highStrike, CallPutEnum callPut, String exchange) {
+        List<Integer> rows = new ArrayList<Integer>();
+
+        for (int row = 0; row < chain.size(); row++) {
+            String symbol = chain.getSymbol(row);
+            if (chain.getExpirationDate(row) < fromExpirationDate || chain.getExpirationDate(row) > toExpirationDate)
+                continue;
+            if (chain.getStrikePrice(row) < lowStrike || chain.getStrikePrice(row) > highStrike)
+                continue;
+            if (callPut == CallPutEnum.CALL && !chain.isCall(row) || callPut == CallPutEnum.PUT && chain.isCall(row))
+                continue;
+            if (exchange != null && !symbol.endsWith("." + exchange))
+                continue;
+            rows.add(row);
+        }
+
+        int[] result = new int[rows.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = rows.get(i);
+        return result;
+    }
+
+    private static int[] sorted(int[] rows) {
+        int[] result = rows.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    // the index order: expiration, strike, call before put, exchange id
+    private int compare(int a, int b) {
+        int result = Integer.compare(chain.getExpirationDate(a), chain.getExpirationDate(b));
+        if (result == 0)
+            result = Long.compare(chain.getStrikePrice(a), chain.getStrikePrice(b));
+        if (result == 0)
+            result = Boolean.compare(chain.isCall(b), chain.isCall(a));
+        if (result == 0)
+            result = Integer.compare(chain.getExchangeId(a), chain.getExchangeId(b));
+        return result;
+    }
+}
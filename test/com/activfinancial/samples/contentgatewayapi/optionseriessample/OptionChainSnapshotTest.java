@@ -0,0 +1,185 @@
+/**
+ * OptionChainSnapshotTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class OptionChainSnapshotTest {
+
+    private Path directory;
+    private Path path;
+
+    private OptionChain chain;
+    private List<OptionRootMetadata> optionRoots;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("snapshot");
+        path = directory.resolve("chains.snapshot");
+
+        // 6 expirations x 40 strikes x call/put, at the money so the chain has a last trade
+        SimulatedOptionSeriesGateway gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(6);
+        gateway.setStrikeCount(40);
+
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setAtTheMoney(true);
+        optionSeriesFilter.setAtTheMoneyStrikeCount(40);
+
+        // the decoded roots are taken from the root cache the call fills
+        RootMetadataCache rootMetadataCache = new RootMetadataCache(1, 1, TimeUnit.HOURS);
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setRootMetadataCache(rootMetadataCache);
+
+        RequestBlock requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_TRADE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_BID);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_ASK);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_CUMULATIVE_VOLUME);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPEN_INTEREST);
+
+        // the FieldListValidator only needs the client for its metadata, it is never connected
+        FieldListValidator fieldListValidator = new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+
+        chain = new OptionChain();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, settings, fieldListValidator, "TWTR", optionSeriesFilter, requestBlockOptions, chain));
+        optionRoots = rootMetadataCache.get("TWTR");
+
+        Map<String, OptionChain> chains = new LinkedHashMap<String, OptionChain>();
+        chains.put("TWTR", chain);
+        chains.put("EMPTY", new OptionChain());
+
+        OptionChainSnapshot.write(path, chains, Collections.singletonMap("TWTR", optionRoots));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void writeOpenRoundTrip() throws Exception {
+        assertTrue(chain.size() > 0);
+
+        OptionChainSnapshot snapshot = OptionChainSnapshot.open(path);
+        assertEquals(2, snapshot.getChainCount());
+
+        int index = snapshot.findChain("TWTR");
+        assertEquals("TWTR", snapshot.getUnderlyingSymbol(index));
+        assertEquals(chain.getLastTrade(), snapshot.getLastTrade(index));
+        assertEquals(chain.size(), snapshot.getRowCount(index));
+
+        for (int row = 0; row < chain.size(); row++) {
+            assertEquals(chain.getSymbol(row), snapshot.getSymbol(index, row));
+            assertEquals(chain.getStrikePrice(row), snapshot.getStrikePrice(index, row));
+            assertEquals(chain.getExpirationDate(row), snapshot.getExpirationDate(index, row));
+            assertEquals(chain.isCall(row), snapshot.isCall(index, row));
+            assertEquals(chain.getBid(row), snapshot.getBid(index, row));
+            assertEquals(chain.getAsk(row), snapshot.getAsk(index, row));
+            assertEquals(chain.getTrade(row), snapshot.getTrade(index, row));
+            assertEquals(chain.getVolume(row), snapshot.getVolume(index, row));
+            assertEquals(chain.getOpenInterest(row), snapshot.getOpenInterest(index, row));
+        }
+
+        OptionChain copy = snapshot.toOptionChain(index);
+        assertEquals(chain.size(), copy.size());
+        assertEquals(chain.getSymbol(chain.size() - 1), copy.getSymbol(copy.size() - 1));
+
+        List<OptionRootMetadata> snapshotRoots = snapshot.getOptionRoots(index);
+        assertEquals(optionRoots.size(), snapshotRoots.size());
+        for (int root = 0; root < optionRoots.size(); root++) {
+            OptionRootMetadata expected = optionRoots.get(root);
+            OptionRootMetadata actual = snapshotRoots.get(root);
+
+            assertEquals(expected.getRootSymbol(), actual.getRootSymbol());
+            assertEquals(expected.getStrikePrices().size(), actual.getStrikePrices().size());
+            for (int i = 0; i < expected.getStrikePrices().size(); i++)
+                assertEquals(expected.getStrikePriceFixed(i), actual.getStrikePriceFixed(i));
+            assertEquals(expected.getExpirationDates().size(), actual.getExpirationDates().size());
+            for (int i = 0; i < expected.getExpirationDates().size(); i++)
+                assertEquals(expected.getExpirationDayNumber(i), actual.getExpirationDayNumber(i));
+        }
+
+        int empty = snapshot.findChain("EMPTY");
+        assertEquals(0, snapshot.getRowCount(empty));
+        assertTrue(snapshot.getOptionRoots(empty).isEmpty());
+    }
+
+    @Test
+    public void truncatedSnapshotThrows() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+
+        // cut in the header, the directory, the rows and the string table
+        int[] lengths = { 0, 20, 40, bytes.length / 2, bytes.length - 1 };
+        for (int length : lengths) {
+            Files.write(path, Arrays.copyOf(bytes, length));
+            assertOpenThrows("truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    public void corruptOffsetsThrow() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+
+        // string table offset, then rows offset and root offset of the first chain
+        int[] positions = { 24, 32 + 24, 32 + 32 };
+        for (int position : positions) {
+            byte[] corrupt = bytes.clone();
+            ByteBuffer.wrap(corrupt).putLong(position, bytes.length + 8);
+            Files.write(path, corrupt);
+            assertOpenThrows("offset at " + position + " past the end");
+        }
+    }
+
+    @Test
+    public void wrongMagicThrows() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[0] ^= 0xFF;
+        Files.write(path, bytes);
+
+        assertOpenThrows("wrong magic");
+    }
+
+    private void assertOpenThrows(String message) {
+        try {
+            OptionChainSnapshot.open(path);
+            fail(message + " opened");
+        }
+        catch (IOException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * OptionGreeksEngineTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class OptionGreeksEngineTest {
+
+    private static final double RATE = 0.03;
+    private static final double DIVIDEND_YIELD = 0.01;
+
+    @Test
+    public void impliedVolatilityRoundTrip() {
+        double spot = 100;
+        double[] strikes = { 60, 90, 100, 110, 150 };
+        double[] yearsList = { 7 / 365.0, 0.25, 1, 3 };
+        double[] volatilities = { 0.05, 0.2, 0.6, 1.5 };
+
+        for (boolean call : new boolean[] { true, false }) {
+            for (double strike : strikes) {
+                for (double years : yearsList) {
+                    for (double volatility : volatilities) {
+                        double price = OptionGreeksEngine.price(call, spot, strike, years, RATE, DIVIDEND_YIELD, volatility);
+
+                        // deep in or out of the money the price carries too little time value to recover the volatility
+                        double vega = spot * Math.exp(-DIVIDEND_YIELD * years) * Math.sqrt(years)
+                            * OptionGreeksEngine.normalDensity(Math.log(spot / strike) / (volatility * Math.sqrt(years)));
+                        if (vega < 1e-3)
+                            continue;
+
+                        double impliedVolatility = OptionGreeksEngine.impliedVolatility(call, spot, strike, years, RATE, DIVIDEND_YIELD, price);
+                        String message = (call ? "call " : "put ") + strike + " " + years + "y " + volatility;
+                        assertEquals(message, volatility, impliedVolatility, 1e-4);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void putCallParity() {
+        double spot = 100, strike = 105, years = 0.5, volatility = 0.25;
+
+        double call = OptionGreeksEngine.price(true, spot, strike, years, RATE, DIVIDEND_YIELD, volatility);
+        double put = OptionGreeksEngine.price(false, spot, strike, years, RATE, DIVIDEND_YIELD, volatility);
+
+        assertEquals(spot * Math.exp(-DIVIDEND_YIELD * years) - strike * Math.exp(-RATE * years), call - put, 1e-9);
+    }
+
+    @Test
+    public void pricesOutsideTheBoundsHaveNoVolatility() {
+        double spot = 100, strike = 90, years = 0.5;
+        double intrinsic = spot * Math.exp(-DIVIDEND_YIELD * years) - strike * Math.exp(-RATE * years);
+
+        assertTrue(Double.isNaN(OptionGreeksEngine.impliedVolatility(true, spot, strike, years, RATE, DIVIDEND_YIELD, intrinsic - 0.01)));
+        assertTrue(Double.isNaN(OptionGreeksEngine.impliedVolatility(true, spot, strike, years, RATE, DIVIDEND_YIELD, spot)));
+        assertTrue(Double.isNaN(OptionGreeksEngine.impliedVolatility(false, spot, strike, years, RATE, DIVIDEND_YIELD, 0)));
+    }
+}
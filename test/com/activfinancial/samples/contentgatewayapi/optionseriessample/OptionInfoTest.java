@@ -0,0 +1,165 @@
+/**
+ * OptionInfoTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.TableNumbers;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+import com.activfinancial.middleware.fieldtypes.IFieldType;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+public class OptionInfoTest {
+
+    // the field list validators only need the client for its metadata, it is never connected
+    private final ContentGatewayClient client = new ContentGatewayClient(new Application(new Settings()));
+
+    private FieldListValidator fieldListValidator;
+    private OptionInfoDecoder decoder;
+    private List<ResponseBlock> responseBlockList;
+    private Rational lastTrade;
+
+    @Before
+    public void setUp() {
+        fieldListValidator = new FieldListValidator(client);
+        decoder = new OptionInfoDecoder(client);
+        lastTrade = new Rational(4000, Rational.DENOMINATOR_2DP);
+
+        // 2 expirations x 5 strikes x call/put
+        SimulatedOptionSeriesGateway gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(2);
+        gateway.setStrikeCount(5);
+
+        RequestBlock optionRootRequestBlock = new RequestBlock();
+        optionRootRequestBlock.relationshipId = RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT;
+        optionRootRequestBlock.fieldIdList.add(FieldIds.FID_STRIKE_PRICE_LIST);
+
+        GetMatch.RequestParameters matchRequestParameters = new GetMatch.RequestParameters();
+        matchRequestParameters.symbolIdList.add(new SymbolId("TWTR"));
+        matchRequestParameters.requestBlockList.add(optionRootRequestBlock);
+        gateway.getMatch(matchRequestParameters, new GetMatch.ResponseParameters());
+
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlock.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlock.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlock.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+        requestBlock.fieldIdList.add(FieldIds.FID_BID);
+        requestBlock.fieldIdList.add(FieldIds.FID_ASK);
+
+        GetPattern.RequestParameters patternRequestParameters = new GetPattern.RequestParameters();
+        patternRequestParameters.symbolPatternList.add(new SymbolId(TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS, "TWTR/*"));
+        patternRequestParameters.requestBlockList.add(requestBlock);
+
+        GetPattern.ResponseParameters patternResponseParameters = new GetPattern.ResponseParameters();
+        gateway.getPattern(patternRequestParameters, patternResponseParameters);
+        responseBlockList = patternResponseParameters.responseBlockList;
+
+        assertEquals(2 * 5 * 2, responseBlockList.size());
+    }
+
+    @Test
+    public void lazyOptionMatchesEagerOption() throws MiddlewareException {
+        for (ResponseBlock responseBlock : responseBlockList) {
+            OptionInfo eager = newOptionInfo(responseBlock, false);
+            OptionInfo lazy = newOptionInfo(responseBlock, true);
+
+            assertEquals(eager.isCall(), lazy.isCall());
+            assertEquals(eager.isInTheMoney(), lazy.isInTheMoney());
+            assertEquals(eager.getStrikePrice().toString(), lazy.getStrikePrice().toString());
+            assertEquals(eager.getExpirationDate().toString(), lazy.getExpirationDate().toString());
+
+            for (int fieldId : new int[] { FieldIds.FID_SYMBOL, FieldIds.FID_OPTION_TYPE, FieldIds.FID_BID, FieldIds.FID_ASK })
+                assertEquals(eager.getField(fieldId).toString(), lazy.getField(fieldId).toString());
+
+            assertEquals(eager.toString(), lazy.toString());
+        }
+    }
+
+    @Test
+    public void decodesOnlyTheRequestedField() throws MiddlewareException {
+        OptionInfo option = newOptionInfo(responseBlockList.get(0), true);
+        assertEquals(new HashSet<Integer>(Arrays.asList(FieldIds.FID_STRIKE_PRICE, FieldIds.FID_EXPIRATION_DATE)), option.fields.keySet());
+
+        IFieldType bid = option.getField(FieldIds.FID_BID);
+        assertEquals(new HashSet<Integer>(Arrays.asList(FieldIds.FID_STRIKE_PRICE, FieldIds.FID_EXPIRATION_DATE, FieldIds.FID_BID)), option.fields.keySet());
+
+        // memoized
+        assertSame(bid, option.getField(FieldIds.FID_BID));
+    }
+
+    @Test
+    public void undefinedFieldIsNullAndMemoized() throws MiddlewareException {
+        OptionInfo option = newOptionInfo(responseBlockList.get(0), true);
+
+        assertNull(option.getField(FieldIds.FID_OPEN_INTEREST));
+        assertTrue(option.fields.containsKey(FieldIds.FID_OPEN_INTEREST));
+        assertNull(option.getField(FieldIds.FID_OPEN_INTEREST));
+
+        // not shown by toString
+        assertFalse(option.toString().contains(FieldIds.getUniversalFieldName(FieldIds.FID_OPEN_INTEREST)));
+    }
+
+    @Test
+    public void toStringDecodesTheRest() throws MiddlewareException {
+        OptionInfo option = newOptionInfo(responseBlockList.get(0), true);
+        IFieldType bid = option.getField(FieldIds.FID_BID);
+
+        String string = option.toString();
+        assertTrue(string.contains(FieldIds.getUniversalFieldName(FieldIds.FID_ASK)));
+        assertEquals(6, option.fields.size());
+
+        // the field decoded before is kept
+        assertSame(bid, option.getField(FieldIds.FID_BID));
+        assertEquals(string, option.toString());
+    }
+
+    @Test
+    public void keepsItsOwnCopyOfTheFieldData() throws MiddlewareException {
+        ResponseBlock responseBlock = responseBlockList.get(0);
+        String expected = newOptionInfo(responseBlock, false).toString();
+
+        byte[] fieldData = responseBlock.fieldData.clone();
+        fieldListValidator.initialize(fieldData);
+        OptionInfo option = new OptionInfo(lastTrade, responseBlock.responseKey.symbol, fieldData, fieldListValidator, decoder);
+
+        // the response buffer is reused once the call returns
+        Arrays.fill(fieldData, (byte) 0);
+
+        assertEquals(expected, option.toString());
+    }
+
+    private OptionInfo newOptionInfo(ResponseBlock responseBlock, boolean isLazy) throws MiddlewareException {
+        fieldListValidator.initialize(responseBlock.fieldData);
+
+        if (isLazy)
+            return new OptionInfo(lastTrade, responseBlock.responseKey.symbol, responseBlock.fieldData, fieldListValidator, decoder);
+
+        return new OptionInfo(lastTrade, responseBlock.responseKey.symbol, fieldListValidator);
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * OptionSeriesFilterTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class OptionSeriesFilterTest {
+
+    private SimulatedOptionSeriesGateway gateway;
+    private FieldListValidator fieldListValidator;
+    private OptionRootMetadata optionRoot;
+
+    // every option of the root, the reference the filtered chains are checked against
+    private OptionChain allOptions;
+
+    @Before
+    public void setUp() {
+        // 6 expirations x 40 strikes x call/put on one root and exchange
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(6);
+        gateway.setStrikeCount(40);
+
+        // the FieldListValidator only needs the client for its metadata, it is never connected
+        fieldListValidator = new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+
+        // the decoded root is taken from the root cache the unfiltered call fills
+        RootMetadataCache rootMetadataCache = new RootMetadataCache(1, 1, TimeUnit.HOURS);
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setRootMetadataCache(rootMetadataCache);
+
+        allOptions = getChain(settings, withExchanges(new OptionSeriesFilter()));
+        optionRoot = rootMetadataCache.get("TWTR").get(0);
+    }
+
+    @Test
+    public void unfilteredChainHasEveryContract() {
+        assertEquals(gateway.getContractCount("TWTR"), allOptions.size());
+    }
+
+    @Test
+    public void selectWindows() {
+        OptionSeriesFilter optionSeriesFilter = newWindowFilter();
+
+        // the bounds are inclusive
+        assertArrayEquals(new int[] { 1, 4 }, OptionSeriesFilter.selectExpirationDates(optionRoot, optionSeriesFilter));
+        assertArrayEquals(new int[] { 10, 21 }, OptionSeriesFilter.selectStrikePrices(optionRoot, optionSeriesFilter, optionRoot.getStrikePrices().get(0)));
+
+        // nothing set selects everything
+        OptionSeriesFilter unfiltered = new OptionSeriesFilter();
+        assertArrayEquals(new int[] { 0, optionRoot.getExpirationDates().size() }, OptionSeriesFilter.selectExpirationDates(optionRoot, unfiltered));
+        assertArrayEquals(new int[] { 0, optionRoot.getStrikePrices().size() }, OptionSeriesFilter.selectStrikePrices(optionRoot, unfiltered, optionRoot.getStrikePrices().get(0)));
+    }
+
+    @Test
+    public void selectAtTheMoneyStrikes() {
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setAtTheMoney(true);
+        optionSeriesFilter.setAtTheMoneyStrikeCount(2);
+
+        // 2 strikes below the last trade, 2 at or above it
+        int middle = optionRoot.getStrikePrices().size() / 2;
+        int[] window = OptionSeriesFilter.selectStrikePrices(optionRoot, optionSeriesFilter, optionRoot.getStrikePrices().get(middle));
+        assertArrayEquals(new int[] { middle - 2, middle + 2 }, window);
+    }
+
+    @Test
+    public void enumeratedPatternsFetchTheWindow() {
+        OptionChain chain = getChain(new OptionSeriesSettings(), withExchanges(newWindowFilter()));
+        assertWindow(chain);
+    }
+
+    @Test
+    public void rootWildcardIsTrimmedToTheWindow() {
+        // patterns so expensive the adaptive planner fetches the whole root and trims it
+        AdaptiveOptionPatternPlanner planner = new AdaptiveOptionPatternPlanner(1000, 0);
+
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setPatternPlanner(planner);
+
+        OptionChain chain = getChain(settings, withExchanges(newWindowFilter()));
+
+        assertEquals(1, planner.getDecisionCount(AdaptiveOptionPatternPlanner.Strategy.ROOT_WILDCARD));
+        assertWindow(chain);
+    }
+
+    @Test
+    public void expiryWildcardsAreTrimmedToTheWindow() {
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setPatternPlanner(new OptionPatternPlanner(Double.POSITIVE_INFINITY));
+
+        OptionChain chain = getChain(settings, withExchanges(newWindowFilter()));
+        assertWindow(chain);
+    }
+
+    // expirations 1 to 3 and strikes 10 to 20 of the root, both sides
+    private OptionSeriesFilter newWindowFilter() {
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setStartDate(optionRoot.getExpirationDates().get(1));
+        optionSeriesFilter.setEndDate(optionRoot.getExpirationDates().get(3));
+        optionSeriesFilter.setLowStrike(optionRoot.getStrikePrices().get(10));
+        optionSeriesFilter.setHighStrike(optionRoot.getStrikePrices().get(20));
+        return optionSeriesFilter;
+    }
+
+    // options of TWTR selected by the filter, with every field OptionChain has a column for
+    private OptionChain getChain(OptionSeriesSettings settings, OptionSeriesFilter optionSeriesFilter) {
+        RequestBlock requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPTION_TYPE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_TRADE);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_BID);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_ASK);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_CUMULATIVE_VOLUME);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_OPEN_INTEREST);
+
+        OptionChain chain = new OptionChain();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, settings, fieldListValidator, "TWTR", optionSeriesFilter, requestBlockOptions, chain));
+        return chain;
+    }
+
+    private OptionSeriesFilter withExchanges(OptionSeriesFilter optionSeriesFilter) {
+        optionSeriesFilter.setExchangeList(gateway.getExchangeList());
+        return optionSeriesFilter;
+    }
+
+    // exactly the options of allOptions inside the window of newWindowFilter
+    private void assertWindow(OptionChain chain) {
+        int startDate = optionRoot.getExpirationDayNumber(1), endDate = optionRoot.getExpirationDayNumber(3);
+        long lowStrike = optionRoot.getStrikePriceFixed(10), highStrike = optionRoot.getStrikePriceFixed(20);
+
+        Set<String> expected = new TreeSet<String>();
+        for (int row = 0; row < allOptions.size(); row++) {
+            if (allOptions.getExpirationDate(row) >= startDate && allOptions.getExpirationDate(row) <= endDate
+                && allOptions.getStrikePrice(row) >= lowStrike && allOptions.getStrikePrice(row) <= highStrike)
+                expected.add(allOptions.getSymbol(row));
+        }
+
+        List<String> symbols = new ArrayList<String>();
+        for (int row = 0; row < chain.size(); row++) {
+            assertTrue(chain.getSymbol(row), chain.getExpirationDate(row) >= startDate && chain.getExpirationDate(row) <= endDate);
+            assertTrue(chain.getSymbol(row), chain.getStrikePrice(row) >= lowStrike && chain.getStrikePrice(row) <= highStrike);
+            symbols.add(chain.getSymbol(row));
+        }
+
+        // 3 expirations x 11 strikes x call/put
+        assertEquals(3 * 11 * 2 * gateway.getExchangeList().size(), expected.size());
+        assertEquals(expected.size(), symbols.size());
+        assertEquals(expected, new TreeSet<String>(symbols));
+    }
+}
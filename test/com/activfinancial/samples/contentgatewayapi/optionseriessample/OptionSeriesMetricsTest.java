@@ -0,0 +1,96 @@
+/**
+ * OptionSeriesMetricsTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.ReflectionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class OptionSeriesMetricsTest {
+
+    private OptionSeriesMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new OptionSeriesMetrics();
+
+        long start = System.nanoTime() - 2000000;
+        metrics.record(OptionSeriesMetrics.Stage.PATTERN_REQUEST, start);
+        metrics.addPatterns(12);
+        metrics.addResponseBlock(true, 100);
+        metrics.addResponseBlock(false, 0);
+        metrics.recordCall(start, -1, true);
+        metrics.recordCall(start, -1, false);
+    }
+
+    @Test
+    public void attributesAreTheMetrics() throws Exception {
+        Map<String, Number> values = metrics.getMetrics();
+
+        List<String> names = new ArrayList<String>();
+        for (MBeanAttributeInfo attribute : metrics.getMBeanInfo().getAttributes()) {
+            names.add(attribute.getName());
+            assertEquals(attribute.getName(), attribute.getType(), values.get(attribute.getName()).getClass().getName());
+            assertEquals(attribute.getName(), values.get(attribute.getName()), metrics.getAttribute(attribute.getName()));
+        }
+
+        assertEquals(new ArrayList<String>(values.keySet()), names);
+
+        assertEquals(2L, metrics.getAttribute("callCount"));
+        assertEquals(1L, metrics.getAttribute("failedCallCount"));
+        assertEquals(6.0, metrics.getAttribute("patternsPerCall"));
+        assertEquals(1L, metrics.getAttribute("invalidResponseCount"));
+        assertEquals(1L, metrics.getAttribute("patternRequest.count"));
+        assertTrue(((Double) metrics.getAttribute("patternRequest.maxMicros")) >= 2000);
+    }
+
+    @Test
+    public void unknownAttributeIsNotFound() {
+        for (String name : new String[] { "unknown", "call.unknown", "unknown.count", "callCount.count" }) {
+            assertNull(metrics.getMetric(name));
+            try {
+                metrics.getAttribute(name);
+                fail(name + " found");
+            }
+            catch (AttributeNotFoundException e) {
+                // expected
+            }
+        }
+
+        assertEquals(0, metrics.getAttributes(new String[] { "unknown" }).size());
+        assertEquals(2, metrics.getAttributes(new String[] { "callCount", "unknown", "decode.count" }).size());
+    }
+
+    @Test
+    public void resetOperation() throws Exception {
+        assertNull(metrics.invoke("reset", null, null));
+        assertEquals(0L, metrics.getAttribute("callCount"));
+        assertEquals(0L, metrics.getAttribute("patternRequest.count"));
+    }
+
+    @Test
+    public void unknownOperationIsNoSuchMethod() {
+        try {
+            metrics.invoke("clear", new Object[0], new String[0]);
+            fail("clear invoked");
+        }
+        catch (ReflectionException e) {
+            assertTrue(e.getCause() instanceof NoSuchMethodException);
+            assertEquals("clear", e.getCause().getMessage());
+        }
+    }
+}
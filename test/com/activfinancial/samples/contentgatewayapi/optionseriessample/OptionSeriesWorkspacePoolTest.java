@@ -0,0 +1,107 @@
+/**
+ * OptionSeriesWorkspacePoolTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class OptionSeriesWorkspacePoolTest {
+
+    // the field list validators only need the client for its metadata, it is never connected
+    private final ContentGatewayClient client = new ContentGatewayClient(new Application(new Settings()));
+
+    @Test
+    public void reusesReleasedWorkspaces() {
+        OptionSeriesWorkspacePool pool = new OptionSeriesWorkspacePool(client, 2);
+
+        OptionSeriesWorkspace workspace = pool.acquire();
+        pool.release(workspace);
+
+        assertEquals(1, pool.getIdleCount());
+        assertSame(workspace, pool.acquire());
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    public void keepsAtMostMaximumIdle() {
+        OptionSeriesWorkspacePool pool = new OptionSeriesWorkspacePool(client, 2);
+
+        OptionSeriesWorkspace first = pool.acquire();
+        OptionSeriesWorkspace second = pool.acquire();
+        OptionSeriesWorkspace third = pool.acquire();
+        assertNotSame(first, second);
+        assertEquals(3, pool.getCreatedCount());
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeMaximumIdle() {
+        new OptionSeriesWorkspacePool(client, -1);
+    }
+
+    @Test
+    public void concurrentCallsGetTheWholeChain() throws Exception {
+        // 4 expirations x 10 strikes x call/put
+        final SimulatedOptionSeriesGateway gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(4);
+        gateway.setStrikeCount(10);
+
+        final OptionSeriesWorkspacePool pool = new OptionSeriesWorkspacePool(client, 4);
+        final OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setWorkspacePool(pool);
+
+        final RequestBlock requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_STRIKE_PRICE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() {
+                        List<OptionInfo> options = new ArrayList<OptionInfo>();
+                        // no field list validator, every call works with a pooled one
+                        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, settings, null, "TWTR", new OptionSeriesFilter(), requestBlockOptions, options));
+                        return options.size();
+                    }
+                }));
+            }
+
+            for (Future<Integer> future : futures)
+                assertEquals(4 * 10 * 2, future.get().intValue());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(pool.getCreatedCount() >= 1);
+        assertTrue(pool.getIdleCount() <= pool.getMaximumIdle());
+    }
+}
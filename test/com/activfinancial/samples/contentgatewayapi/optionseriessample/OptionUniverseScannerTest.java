@@ -0,0 +1,174 @@
+/**
+ * OptionUniverseScannerTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+
+public class OptionUniverseScannerTest {
+
+    private static final List<String> UNIVERSE = Arrays.asList("AAPL", "IBM", "MSFT", "TWTR", "XOM");
+
+    private SimulatedOptionSeriesGateway gateway;
+    private OptionSeriesSettings settings;
+    private RequestBlock requestBlockOptions;
+    private Path checkpointFile;
+
+    // results the listener got, by symbol
+    private final Map<String, OptionSeriesResult> results = new ConcurrentHashMap<String, OptionSeriesResult>();
+
+    @Before
+    public void setUp() throws IOException {
+        // 2 expirations x 5 strikes x call/put
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setExpirationCount(2);
+        gateway.setStrikeCount(5);
+
+        // the workspaces' field list validators only need the client for its metadata, it is never connected
+        settings = new OptionSeriesSettings();
+        settings.setWorkspacePool(new OptionSeriesWorkspacePool(new ContentGatewayClient(new Application(new Settings())), 4));
+
+        requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        checkpointFile = Files.createTempFile("OptionUniverseScannerTest", ".checkpoint");
+        Files.delete(checkpointFile);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(checkpointFile);
+    }
+
+    @Test
+    public void scansEverySymbol() {
+        OptionUniverseScanner scanner = new OptionUniverseScanner(gateway, settings);
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, scanner.scan(UNIVERSE, new OptionSeriesFilter(), requestBlockOptions, newListener(null)));
+
+        assertEquals(UNIVERSE.size(), results.size());
+        for (OptionSeriesResult result : results.values())
+            assertEquals(2 * 5 * 2, result.getOptions().size());
+        assertEquals(UNIVERSE.size(), scanner.getSucceededCount());
+        assertEquals(0, scanner.getFailedCount());
+    }
+
+    @Test
+    public void transientFailuresAreRetried() {
+        // the first 3 requests time out
+        TimingOutGateway timingOutGateway = new TimingOutGateway(gateway, 3);
+
+        OptionUniverseScanner scanner = new OptionUniverseScanner(timingOutGateway, settings);
+        scanner.setConcurrency(1);
+        scanner.setInitialBackoffMillis(1);
+        scanner.setMaximumAttempts(4);
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, scanner.scan(UNIVERSE, new OptionSeriesFilter(), requestBlockOptions, newListener(null)));
+        assertEquals(3, scanner.getRetryCount());
+        assertEquals(UNIVERSE.size(), scanner.getSucceededCount());
+    }
+
+    @Test
+    public void listenerExceptionFailsTheSymbolNotTheScan() {
+        OptionUniverseScanner scanner = new OptionUniverseScanner(gateway, settings);
+        scanner.setCheckpointFile(checkpointFile);
+        scanner.setConcurrency(2);
+
+        assertEquals(StatusCode.STATUS_CODE_FAILURE, scanner.scan(UNIVERSE, new OptionSeriesFilter(), requestBlockOptions, newListener("IBM")));
+
+        // the other symbols were still scanned
+        assertEquals(UNIVERSE.size(), results.size());
+        assertEquals(UNIVERSE.size() - 1, scanner.getSucceededCount());
+        assertEquals(1, scanner.getFailedCount());
+
+        // a resume fetches the symbol the listener failed on, and only it
+        results.clear();
+        OptionUniverseScanner resumed = new OptionUniverseScanner(gateway, settings);
+        resumed.setCheckpointFile(checkpointFile);
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, resumed.scan(UNIVERSE, new OptionSeriesFilter(), requestBlockOptions, newListener(null)));
+        assertEquals(Collections.singleton("IBM"), results.keySet());
+        assertEquals(UNIVERSE.size() - 1, resumed.getSkippedCount());
+    }
+
+    @Test
+    public void readsTheUniverseFile() throws IOException {
+        Path universeFile = Files.createTempFile("OptionUniverseScannerTest", ".universe");
+        try {
+            Files.write(universeFile, Arrays.asList("# optionable", "AAPL", "", "  IBM  "));
+            assertEquals(Arrays.asList("AAPL", "IBM"), OptionUniverseScanner.readUniverse(universeFile));
+        }
+        finally {
+            Files.delete(universeFile);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBurstBelowOne() {
+        new OptionUniverseScanner(gateway, settings).setBurst(0);
+    }
+
+    @Test
+    public void transientStatusCodes() {
+        assertTrue(OptionUniverseScanner.isTransient(StatusCode.STATUS_CODE_TIMEOUT));
+        assertTrue(!OptionUniverseScanner.isTransient(StatusCode.STATUS_CODE_FAILURE));
+    }
+
+    // records the results, throws on failingSymbol
+    private OptionUniverseScanner.Listener newListener(final String failingSymbol) {
+        return new OptionUniverseScanner.Listener() {
+            public void onResult(OptionSeriesResult result) {
+                results.put(result.getSymbol(), result);
+                if (result.getSymbol().equals(failingSymbol))
+                    throw new IllegalStateException("listener failed on " + failingSymbol);
+            }
+        };
+    }
+
+    // simulated gateway whose first requests time out
+    private static class TimingOutGateway implements OptionSeriesGateway {
+        private final OptionSeriesGateway gateway;
+        private final AtomicInteger timeouts;
+
+        TimingOutGateway(OptionSeriesGateway gateway, int timeoutCount) {
+            this.gateway = gateway;
+            this.timeouts = new AtomicInteger(timeoutCount);
+        }
+
+        public StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+            if (timeouts.getAndDecrement() > 0)
+                return StatusCode.STATUS_CODE_TIMEOUT;
+            return gateway.getMatch(requestParameters, responseParameters);
+        }
+
+        public StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+            if (timeouts.getAndDecrement() > 0)
+                return StatusCode.STATUS_CODE_TIMEOUT;
+            return gateway.getPattern(requestParameters, responseParameters);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * PipelinedPatternRequestTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.TableNumbers;
+import com.activfinancial.middleware.StatusCode;
+
+public class PipelinedPatternRequestTest {
+
+    private SimulatedOptionSeriesGateway gateway;
+    private ExecutorService executor;
+
+    // one pattern per contract of the chain
+    private GetPattern.RequestParameters requestParameters;
+
+    @Before
+    public void setUp() {
+        // 4 expirations x 10 strikes x call/put
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(4);
+        gateway.setStrikeCount(10);
+
+        executor = Executors.newFixedThreadPool(4);
+
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        requestParameters = new GetPattern.RequestParameters();
+        requestParameters.requestBlockList.add(requestBlock);
+        for (String symbol : getContractSymbols())
+            requestParameters.symbolPatternList.add(new SymbolId(TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS, symbol));
+
+        assertEquals(4 * 10 * 2, requestParameters.symbolPatternList.size());
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void sendsInOnePieceWithoutChunkSize() {
+        RecordingHandler handler = new RecordingHandler(Integer.MAX_VALUE);
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, PipelinedPatternRequest.sendRequest(gateway, new OptionSeriesSettings(), requestParameters, new GetPattern.ResponseParameters(), handler));
+        assertEquals(1, handler.callCount);
+        assertEquals(80, handler.symbols.size());
+    }
+
+    @Test
+    public void sendsChunksSequentiallyWithoutExecutor() {
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setPatternChunkSize(7);
+
+        RecordingHandler handler = new RecordingHandler(Integer.MAX_VALUE);
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, PipelinedPatternRequest.sendRequest(gateway, settings, requestParameters, new GetPattern.ResponseParameters(), handler));
+        assertEquals((80 + 6) / 7, handler.callCount);
+        assertEquals(80, handler.symbols.size());
+        assertEquals(80, handler.blockCount);
+    }
+
+    @Test
+    public void pipelinedChunksAreHandledOnTheCallingThread() {
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setPatternChunkSize(7);
+        settings.setPatternRequestExecutor(executor);
+        settings.setMaximumPatternRequestsInFlight(3);
+
+        RecordingHandler handler = new RecordingHandler(Integer.MAX_VALUE);
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, PipelinedPatternRequest.sendRequest(gateway, settings, requestParameters, new GetPattern.ResponseParameters(), handler));
+        assertEquals((80 + 6) / 7, handler.callCount);
+        assertEquals(80, handler.symbols.size());
+        assertEquals(80, handler.blockCount);
+        assertSame(Thread.currentThread(), handler.thread);
+    }
+
+    @Test
+    public void stopsWhenTheHandlerReturnsFalse() {
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setPatternChunkSize(7);
+        settings.setPatternRequestExecutor(executor);
+
+        RecordingHandler handler = new RecordingHandler(2);
+
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, PipelinedPatternRequest.sendRequest(gateway, settings, requestParameters, new GetPattern.ResponseParameters(), handler));
+        assertEquals(2, handler.callCount);
+        assertEquals(14, handler.symbols.size());
+    }
+
+    @Test
+    public void returnsTheStatusOfAFailedChunk() {
+        OptionSeriesGateway failingGateway = new OptionSeriesGateway() {
+            private int requestCount;
+
+            public StatusCode getMatch(GetMatch.RequestParameters requestParameters, GetMatch.ResponseParameters responseParameters) {
+                return gateway.getMatch(requestParameters, responseParameters);
+            }
+
+            public synchronized StatusCode getPattern(GetPattern.RequestParameters requestParameters, GetPattern.ResponseParameters responseParameters) {
+                // the third chunk fails
+                if (++requestCount == 3)
+                    return StatusCode.STATUS_CODE_TIMEOUT;
+                return gateway.getPattern(requestParameters, responseParameters);
+            }
+        };
+
+        OptionSeriesSettings settings = new OptionSeriesSettings();
+        settings.setPatternChunkSize(7);
+
+        assertEquals(StatusCode.STATUS_CODE_TIMEOUT, PipelinedPatternRequest.sendRequest(failingGateway, settings, requestParameters, new GetPattern.ResponseParameters(), new RecordingHandler(Integer.MAX_VALUE)));
+
+        settings.setPatternRequestExecutor(executor);
+        assertEquals(StatusCode.STATUS_CODE_TIMEOUT, PipelinedPatternRequest.sendRequest(failingGateway, settings, requestParameters, new GetPattern.ResponseParameters(), new RecordingHandler(Integer.MAX_VALUE)));
+    }
+
+    // symbols of every contract of TWTR
+    private List<String> getContractSymbols() {
+        RequestBlock optionRootRequestBlock = new RequestBlock();
+        optionRootRequestBlock.relationshipId = RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT;
+        optionRootRequestBlock.fieldIdList.add(FieldIds.FID_STRIKE_PRICE_LIST);
+
+        GetMatch.RequestParameters matchRequestParameters = new GetMatch.RequestParameters();
+        matchRequestParameters.symbolIdList.add(new SymbolId("TWTR"));
+        matchRequestParameters.requestBlockList.add(optionRootRequestBlock);
+        gateway.getMatch(matchRequestParameters, new GetMatch.ResponseParameters());
+
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        GetPattern.RequestParameters patternRequestParameters = new GetPattern.RequestParameters();
+        patternRequestParameters.symbolPatternList.add(new SymbolId(TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS, "TWTR/*"));
+        patternRequestParameters.requestBlockList.add(requestBlock);
+
+        GetPattern.ResponseParameters patternResponseParameters = new GetPattern.ResponseParameters();
+        gateway.getPattern(patternRequestParameters, patternResponseParameters);
+
+        List<String> symbols = new ArrayList<String>();
+        for (ResponseBlock responseBlock : patternResponseParameters.responseBlockList)
+            symbols.add(responseBlock.responseKey.symbol);
+        return symbols;
+    }
+
+    // records the symbols handed to it, stops after a number of calls
+    private static class RecordingHandler implements PipelinedPatternRequest.ResponseHandler {
+        private final int maximumCallCount;
+        final Set<String> symbols = new HashSet<String>();
+        int callCount;
+        int blockCount;
+        Thread thread;
+
+        RecordingHandler(int maximumCallCount) {
+            this.maximumCallCount = maximumCallCount;
+        }
+
+        public boolean onResponseBlocks(List<ResponseBlock> responseBlockList) {
+            thread = Thread.currentThread();
+            callCount++;
+            blockCount += responseBlockList.size();
+            for (ResponseBlock responseBlock : responseBlockList)
+                symbols.add(responseBlock.responseKey.symbol);
+            return callCount < maximumCallCount;
+        }
+    }
+}
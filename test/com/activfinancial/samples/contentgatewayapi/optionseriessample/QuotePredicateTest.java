@@ -0,0 +1,184 @@
+/**
+ * QuotePredicateTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.ContentGatewayClient;
+import com.activfinancial.contentplatform.contentgatewayapi.FieldListValidator;
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.TableNumbers;
+import com.activfinancial.middleware.StatusCode;
+import com.activfinancial.middleware.activbase.MiddlewareException;
+import com.activfinancial.middleware.application.Application;
+import com.activfinancial.middleware.application.Settings;
+import com.activfinancial.middleware.fieldtypes.Rational;
+
+public class QuotePredicateTest {
+
+    private SimulatedOptionSeriesGateway gateway;
+    private FieldListValidator fieldListValidator;
+
+    // contracts of the chain with their quotes
+    private List<ResponseBlock> responseBlockList;
+
+    @Before
+    public void setUp() {
+        // 4 expirations x 20 strikes x call/put
+        gateway = new SimulatedOptionSeriesGateway(7);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(4);
+        gateway.setStrikeCount(20);
+
+        // the FieldListValidator only needs the client for its metadata, it is never connected
+        fieldListValidator = new FieldListValidator(new ContentGatewayClient(new Application(new Settings())));
+
+        responseBlockList = getContractResponseBlocks();
+        assertEquals(4 * 20 * 2, responseBlockList.size());
+    }
+
+    @Test
+    public void noThresholdsCompileToNull() {
+        assertNull(QuotePredicate.compile(new OptionSeriesFilter()));
+    }
+
+    @Test
+    public void addsTheFieldsOfTheThresholds() {
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setMaximumSpread(new Rational(50, Rational.DENOMINATOR_2DP));
+
+        QuotePredicate quotePredicate = QuotePredicate.compile(optionSeriesFilter);
+
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        RequestBlock requestBlockWithFieldIds = quotePredicate.withFieldIds(requestBlock);
+        assertEquals(Arrays.asList(FieldIds.FID_SYMBOL, FieldIds.FID_BID, FieldIds.FID_ASK), requestBlockWithFieldIds.fieldIdList);
+        assertEquals(1, requestBlock.fieldIdList.size());
+
+        // nothing missing, nothing copied
+        assertSame(requestBlockWithFieldIds, quotePredicate.withFieldIds(requestBlockWithFieldIds));
+    }
+
+    @Test
+    public void selectsTheOptionsMeetingEveryThreshold() throws MiddlewareException {
+        // thresholds at the medians of the chain, so they select some options and not others
+        long minimumBid = getMedian(FieldIds.FID_BID, false);
+        long maximumSpread = getMedian(FieldIds.FID_ASK, true);
+        long minimumVolume = getMedian(FieldIds.FID_CUMULATIVE_VOLUME, false);
+
+        Set<String> expectedSymbols = new HashSet<String>();
+        for (ResponseBlock responseBlock : responseBlockList) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+
+            long bid = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_BID);
+            long ask = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_ASK);
+            long volume = FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_CUMULATIVE_VOLUME);
+
+            if (bid >= minimumBid && ask - bid <= maximumSpread && volume >= minimumVolume)
+                expectedSymbols.add(responseBlock.responseKey.symbol);
+        }
+
+        assertTrue(!expectedSymbols.isEmpty() && expectedSymbols.size() < responseBlockList.size());
+
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setBid(FixedPoint.toRational(minimumBid));
+        optionSeriesFilter.setMaximumSpread(FixedPoint.toRational(maximumSpread));
+        optionSeriesFilter.setVolume(FixedPoint.toRational(minimumVolume));
+
+        // the quote fields are not requested, the predicate adds them
+        RequestBlock requestBlockOptions = new RequestBlock();
+        requestBlockOptions.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        List<OptionInfo> options = new ArrayList<OptionInfo>();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, GetOptionSeriesHelper.getOptionSeries(gateway, new OptionSeriesSettings(), fieldListValidator, "TWTR", optionSeriesFilter, requestBlockOptions, options));
+
+        Set<String> symbols = new HashSet<String>();
+        for (OptionInfo option : options)
+            symbols.add(option.getSymbol());
+
+        assertEquals(options.size(), symbols.size());
+        assertEquals(expectedSymbols, symbols);
+    }
+
+    @Test
+    public void optionsMissingAThresholdFieldAreNotSelected() throws MiddlewareException {
+        OptionSeriesFilter optionSeriesFilter = new OptionSeriesFilter();
+        optionSeriesFilter.setBid(new Rational(0, Rational.DENOMINATOR_WHOLE));
+
+        QuotePredicate quotePredicate = QuotePredicate.compile(optionSeriesFilter);
+
+        // fetched without FID_BID
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        for (ResponseBlock responseBlock : getContractResponseBlocks(requestBlock)) {
+            fieldListValidator.initialize(responseBlock.fieldData);
+            assertTrue(!quotePredicate.test(fieldListValidator));
+        }
+    }
+
+    // median of a field over the chain, or of the ask - bid spread
+    private long getMedian(int fieldId, boolean isSpread) throws MiddlewareException {
+        long[] values = new long[responseBlockList.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            fieldListValidator.initialize(responseBlockList.get(i).fieldData);
+            values[i] = FieldValues.getFixedPoint(fieldListValidator, fieldId);
+            if (isSpread)
+                values[i] -= FieldValues.getFixedPoint(fieldListValidator, FieldIds.FID_BID);
+        }
+
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private List<ResponseBlock> getContractResponseBlocks() {
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.fieldIdList.add(FieldIds.FID_SYMBOL);
+        requestBlock.fieldIdList.add(FieldIds.FID_BID);
+        requestBlock.fieldIdList.add(FieldIds.FID_ASK);
+        requestBlock.fieldIdList.add(FieldIds.FID_CUMULATIVE_VOLUME);
+        return getContractResponseBlocks(requestBlock);
+    }
+
+    // every contract of TWTR
+    private List<ResponseBlock> getContractResponseBlocks(RequestBlock requestBlock) {
+        RequestBlock optionRootRequestBlock = new RequestBlock();
+        optionRootRequestBlock.relationshipId = RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT;
+        optionRootRequestBlock.fieldIdList.add(FieldIds.FID_STRIKE_PRICE_LIST);
+
+        GetMatch.RequestParameters matchRequestParameters = new GetMatch.RequestParameters();
+        matchRequestParameters.symbolIdList.add(new SymbolId("TWTR"));
+        matchRequestParameters.requestBlockList.add(optionRootRequestBlock);
+        gateway.getMatch(matchRequestParameters, new GetMatch.ResponseParameters());
+
+        GetPattern.RequestParameters patternRequestParameters = new GetPattern.RequestParameters();
+        patternRequestParameters.symbolPatternList.add(new SymbolId(TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS, "TWTR/*"));
+        patternRequestParameters.requestBlockList.add(requestBlock);
+
+        GetPattern.ResponseParameters patternResponseParameters = new GetPattern.ResponseParameters();
+        gateway.getPattern(patternRequestParameters, patternResponseParameters);
+        return patternResponseParameters.responseBlockList;
+    }
+}
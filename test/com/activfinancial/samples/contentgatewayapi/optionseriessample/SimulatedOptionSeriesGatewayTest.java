@@ -0,0 +1,151 @@
+/**
+ * SimulatedOptionSeriesGatewayTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.activfinancial.contentplatform.contentgatewayapi.GetMatch;
+import com.activfinancial.contentplatform.contentgatewayapi.GetPattern;
+import com.activfinancial.contentplatform.contentgatewayapi.common.RequestBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.ResponseBlock;
+import com.activfinancial.contentplatform.contentgatewayapi.common.SymbolId;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.FieldIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.RelationshipIds;
+import com.activfinancial.contentplatform.contentgatewayapi.consts.TableNumbers;
+import com.activfinancial.middleware.StatusCode;
+
+public class SimulatedOptionSeriesGatewayTest {
+
+    @Test
+    public void matchesWildcards() {
+        assertTrue(SimulatedOptionSeriesGateway.matches("TWTR/*", "TWTR/20260109C40.0.O"));
+        assertTrue(SimulatedOptionSeriesGateway.matches("TWTR/*C*.O", "TWTR/20260109C40.0.O"));
+        assertTrue(SimulatedOptionSeriesGateway.matches("TWTR/20260109C40.0.O", "TWTR/20260109C40.0.O"));
+        assertFalse(SimulatedOptionSeriesGateway.matches("TWTR/*P*", "TWTR/20260109C40.0.O"));
+        assertFalse(SimulatedOptionSeriesGateway.matches("TWTR/*.X", "TWTR/20260109C40.0.O"));
+        assertFalse(SimulatedOptionSeriesGateway.matches("TWTR/", "TWTR/20260109C40.0.O"));
+    }
+
+    @Test
+    public void sameSeedAndBaseDateGiveTheSameChain() {
+        List<String> first = getContractSymbols(newGateway(LocalDate.of(2026, 3, 2)));
+        List<String> second = getContractSymbols(newGateway(LocalDate.of(2026, 3, 2)));
+        List<String> otherBaseDate = getContractSymbols(newGateway(LocalDate.of(2026, 6, 1)));
+
+        assertEquals(6 * 20 * 2, first.size());
+        assertEquals(first, second);
+        assertFalse(first.equals(otherBaseDate));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNullBaseDate() {
+        new SimulatedOptionSeriesGateway(1, null);
+    }
+
+    @Test
+    public void patternsOfUnknownRootsMatchNothing() {
+        SimulatedOptionSeriesGateway gateway = newGateway(SimulatedOptionSeriesGateway.DEFAULT_BASE_DATE);
+
+        GetPattern.ResponseParameters responseParameters = new GetPattern.ResponseParameters();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, gateway.getPattern(newPatternRequest("TWTR"), responseParameters));
+        assertTrue(responseParameters.responseBlockList.isEmpty());
+    }
+
+    @Test
+    public void concurrentMatchAndPatternSeeEveryContract() throws Exception {
+        final int threadCount = 8;
+
+        for (int round = 0; round < 20; round++) {
+            final SimulatedOptionSeriesGateway gateway = newGateway(SimulatedOptionSeriesGateway.DEFAULT_BASE_DATE);
+            final String symbol = "SYM" + round;
+            gateway.setUnderlyingPrice(symbol, 100.0);
+            final CountDownLatch start = new CountDownLatch(1);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            try {
+                List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+                for (int t = 0; t < threadCount; t++) {
+                    futures.add(executor.submit(new Callable<Integer>() {
+                        public Integer call() throws Exception {
+                            start.await();
+
+                            // every thread gets the roots itself, then their contracts
+                            GetMatch.ResponseParameters matchResponseParameters = new GetMatch.ResponseParameters();
+                            gateway.getMatch(newRootRequest(symbol), matchResponseParameters);
+
+                            GetPattern.ResponseParameters patternResponseParameters = new GetPattern.ResponseParameters();
+                            gateway.getPattern(newPatternRequest(symbol), patternResponseParameters);
+                            return patternResponseParameters.responseBlockList.size();
+                        }
+                    }));
+                }
+
+                start.countDown();
+
+                for (Future<Integer> future : futures)
+                    assertEquals(6 * 20 * 2, future.get().intValue());
+            }
+            finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    // 6 expirations x 20 strikes x call/put on one root and exchange, TWTR at 40
+    private static SimulatedOptionSeriesGateway newGateway(LocalDate baseDate) {
+        SimulatedOptionSeriesGateway gateway = new SimulatedOptionSeriesGateway(7, baseDate);
+        gateway.setUnderlyingPrice("TWTR", 40.0);
+        gateway.setExpirationCount(6);
+        gateway.setStrikeCount(20);
+        return gateway;
+    }
+
+    private static List<String> getContractSymbols(SimulatedOptionSeriesGateway gateway) {
+        gateway.getMatch(newRootRequest("TWTR"), new GetMatch.ResponseParameters());
+
+        GetPattern.ResponseParameters responseParameters = new GetPattern.ResponseParameters();
+        assertEquals(StatusCode.STATUS_CODE_SUCCESS, gateway.getPattern(newPatternRequest("TWTR"), responseParameters));
+
+        List<String> symbols = new ArrayList<String>();
+        for (ResponseBlock responseBlock : responseParameters.responseBlockList)
+            symbols.add(responseBlock.responseKey.symbol);
+        return symbols;
+    }
+
+    private static GetMatch.RequestParameters newRootRequest(String symbol) {
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.relationshipId = RelationshipIds.RELATIONSHIP_ID_OPTION_ROOT;
+        requestBlock.fieldIdList.add(FieldIds.FID_STRIKE_PRICE_LIST);
+        requestBlock.fieldIdList.add(FieldIds.FID_EXPIRATION_DATE_LIST);
+
+        GetMatch.RequestParameters requestParameters = new GetMatch.RequestParameters();
+        requestParameters.symbolIdList.add(new SymbolId(symbol));
+        requestParameters.requestBlockList.add(requestBlock);
+        return requestParameters;
+    }
+
+    private static GetPattern.RequestParameters newPatternRequest(String symbol) {
+        RequestBlock requestBlock = new RequestBlock();
+        requestBlock.fieldIdList.add(FieldIds.FID_SYMBOL);
+
+        GetPattern.RequestParameters requestParameters = new GetPattern.RequestParameters();
+        requestParameters.symbolPatternList.add(new SymbolId(TableNumbers.TABLE_NO_NA_EQUITY_OPTION_ALIAS, symbol + "/*"));
+        requestParameters.requestBlockList.add(requestBlock);
+        return requestParameters;
+    }
+}
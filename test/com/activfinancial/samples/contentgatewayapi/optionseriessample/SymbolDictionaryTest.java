@@ -0,0 +1,130 @@
+/**
+ * SymbolDictionaryTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class SymbolDictionaryTest {
+
+    @Test
+    public void internReturnsDenseIdsAndCanonicalValues() {
+        SymbolDictionary dictionary = new SymbolDictionary();
+
+        assertEquals(0, dictionary.intern("TWTR"));
+        assertEquals(1, dictionary.intern("SPX"));
+        assertEquals(0, dictionary.intern(new String("TWTR")));
+        assertEquals(2, dictionary.size());
+
+        String value = new String("SPX");
+        assertSame(dictionary.get(1), dictionary.canonical(value));
+    }
+
+    @Test
+    public void findDoesNotAdd() {
+        SymbolDictionary dictionary = new SymbolDictionary();
+
+        assertEquals(SymbolDictionary.NOT_FOUND, dictionary.find("TWTR"));
+        assertEquals(SymbolDictionary.NOT_FOUND, dictionary.find(null));
+        assertEquals(0, dictionary.size());
+
+        int id = dictionary.intern("TWTR");
+        assertEquals(id, dictionary.find("TWTR"));
+    }
+
+    @Test
+    public void internRangeMatchesWholeValue() {
+        SymbolDictionary dictionary = new SymbolDictionary();
+
+        String rootSymbol = "TWTR.O";
+        int exchangeId = dictionary.intern(rootSymbol, rootSymbol.indexOf('.') + 1, rootSymbol.length());
+
+        assertEquals("O", dictionary.get(exchangeId));
+        assertEquals(exchangeId, dictionary.find("O"));
+        assertEquals(exchangeId, dictionary.find("XO.O", 3, 4));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getUnknownIdThrows() {
+        new SymbolDictionary().get(0);
+    }
+
+    @Test
+    public void growsPastExpectedSize() {
+        SymbolDictionary dictionary = new SymbolDictionary(4);
+
+        for (int i = 0; i < 10000; i++)
+            assertEquals(i, dictionary.intern("S" + i));
+
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, dictionary.find("S" + i));
+            assertEquals("S" + i, dictionary.get(i));
+        }
+    }
+
+    @Test
+    public void concurrentInternAndFind() throws Exception {
+        final int threadCount = 8;
+        final int valueCount = 20000;
+        final SymbolDictionary dictionary = new SymbolDictionary(16);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<int[]>> futures = new ArrayList<Future<int[]>>();
+            for (int t = 0; t < threadCount; t++) {
+                final int offset = t * 997;
+                futures.add(executor.submit(new Callable<int[]>() {
+                    public int[] call() throws Exception {
+                        start.await();
+
+                        // every thread interns every value, in a different order, and finds it right after
+                        int[] ids = new int[valueCount];
+                        for (int i = 0; i < valueCount; i++) {
+                            int value = (i + offset) % valueCount;
+                            ids[value] = dictionary.intern("S" + value);
+                            if (dictionary.find("S" + value) != ids[value])
+                                throw new AssertionError("S" + value + " not found after intern");
+                        }
+                        return ids;
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            int[] expected = futures.get(0).get();
+            for (Future<int[]> future : futures) {
+                int[] ids = future.get();
+                for (int i = 0; i < valueCount; i++)
+                    assertEquals(expected[i], ids[i]);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        // one id per value, dense, each mapping back to its value
+        assertEquals(valueCount, dictionary.size());
+        boolean[] seen = new boolean[valueCount];
+        for (int i = 0; i < valueCount; i++) {
+            int id = dictionary.find("S" + i);
+            assertTrue(id >= 0 && id < valueCount && !seen[id]);
+            seen[id] = true;
+            assertEquals("S" + i, dictionary.get(id));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * TokenBucketTest.java  Oct 18, 2026
+ */
+
+package com.activfinancial.samples.contentgatewayapi.optionseriessample;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TokenBucketTest {
+
+    @Test
+    public void burstUpToCapacity() {
+        // slow enough that nothing is added during the test
+        TokenBucket tokenBucket = new TokenBucket(0.001, 5);
+
+        for (int i = 0; i < 5; i++)
+            assertTrue(tokenBucket.tryAcquire());
+        assertFalse(tokenBucket.tryAcquire());
+        assertTrue(tokenBucket.getAvailableTokens() < 1);
+    }
+
+    @Test
+    public void refillsAtRate() throws InterruptedException {
+        TokenBucket tokenBucket = new TokenBucket(100, 1);
+
+        assertTrue(tokenBucket.tryAcquire());
+        assertFalse(tokenBucket.tryAcquire());
+
+        // one token every 10ms
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertTrue(tokenBucket.tryAcquire());
+
+        // never more than the capacity
+        assertFalse(tokenBucket.tryAcquire());
+    }
+
+    @Test
+    public void acquireWaitsForTheRate() throws InterruptedException {
+        TokenBucket tokenBucket = new TokenBucket(50, 1);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++)
+            tokenBucket.acquire();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // the first token is available at once, the 5 others take 20ms each
+        assertTrue("took " + elapsedMillis + "ms", elapsedMillis >= 90);
+        assertTrue(tokenBucket.getAvailableTokens() <= 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveRate() {
+        new TokenBucket(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCapacityBelowOne() {
+        new TokenBucket(1, 0.5);
+    }
+}